@@ -0,0 +1,54 @@
+package com.example.dsaassistant.benchmark;
+
+import com.example.dsaassistant.dto.CursorPage;
+import com.example.dsaassistant.dto.ProblemFacetPage;
+import com.example.dsaassistant.dto.ProblemSummary;
+import com.example.dsaassistant.model.Problem;
+import com.example.dsaassistant.search.ProblemFacetFilter;
+import com.example.dsaassistant.service.ProblemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProblemSearchBenchmarks {
+    
+    private ProblemService problemService;
+    private ProblemFacetFilter mediumGraphs;
+    
+    @Setup
+    public void setUp(SeededApplication app) {
+        problemService = app.bean(ProblemService.class);
+        mediumGraphs = new ProblemFacetFilter(Set.of(Problem.Difficulty.MEDIUM), null, Set.of("bfs", "dfs"), false, true);
+    }
+    
+    @Benchmark
+    public CursorPage<ProblemSummary> searchProblems(SeededApplication app) {
+        return problemService.searchProblems(app.randomSearchTerm(), null, 20);
+    }
+    
+    @Benchmark
+    public ProblemFacetPage browseProblems() {
+        return problemService.browseProblems(mediumGraphs, null, 20);
+    }
+    
+    @Benchmark
+    public CursorPage<ProblemSummary> listActiveProblems() {
+        return problemService.getActiveProblems(null, 50);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.dsaassistant.benchmark;
+
+import com.example.dsaassistant.model.Progress;
+import com.example.dsaassistant.model.User;
+import com.example.dsaassistant.service.ProgressService;
+import com.example.dsaassistant.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Progress rows come from a full rebuild over the seeded submissions
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProgressBenchmarks {
+    
+    private ProgressService progressService;
+    private UserService userService;
+    
+    @Setup
+    public void setUp(SeededApplication app) {
+        progressService = app.bean(ProgressService.class);
+        userService = app.bean(UserService.class);
+    }
+    
+    @Benchmark
+    public List<Progress> progressByUser(SeededApplication app) {
+        User user = userService.getUserById(app.randomUserId()).orElseThrow();
+        return progressService.getProgressByUser(user);
+    }
+    
+    @Benchmark
+    public Optional<Progress> overallProgressByUser(SeededApplication app) {
+        User user = userService.getUserById(app.randomUserId()).orElseThrow();
+        return progressService.getOverallProgressByUser(user);
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.dsaassistant.benchmark;
+
+import com.example.dsaassistant.DsaAssistantApplication;
+import com.example.dsaassistant.model.Problem;
+import com.example.dsaassistant.model.ProblemSubmission;
+import com.example.dsaassistant.model.User;
+import com.example.dsaassistant.repository.ProblemRepository;
+import com.example.dsaassistant.repository.ProblemSubmissionRepository;
+import com.example.dsaassistant.repository.UserRepository;
+import com.example.dsaassistant.service.ProblemService;
+import com.example.dsaassistant.service.ProgressRebuildService;
+import com.example.dsaassistant.service.SubmissionCodeService;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// One application context per fork, backed by its own in-memory H2 and seeded before measurement.
+// Sizes are JMH parameters, so they are recorded with every result (override with -p submissions=...).
+@State(Scope.Benchmark)
+public class SeededApplication {
+    
+    private static final String[] WORDS = {
+            "array", "sum", "pair", "window", "binary", "search", "tree", "path", "graph", "cycle", "shortest",
+            "string", "palindrome", "substring", "matrix", "island", "interval", "merge", "stack", "queue",
+            "heap", "median", "stream", "cache", "linked", "list", "reverse", "partition", "subset", "coin"
+    };
+    private static final String[] TAGS = {
+            "two-pointers", "sliding-window", "hash-table", "binary-search", "dfs", "bfs", "union-find", "trie",
+            "heap", "monotonic-stack", "prefix-sum", "bit-manipulation", "memoization", "greedy", "sorting",
+            "recursion", "backtracking", "topological-sort", "segment-tree", "math"
+    };
+    private static final ProblemSubmission.SubmissionStatus[] VERDICTS = {
+            ProblemSubmission.SubmissionStatus.ACCEPTED, ProblemSubmission.SubmissionStatus.ACCEPTED,
+            ProblemSubmission.SubmissionStatus.WRONG_ANSWER, ProblemSubmission.SubmissionStatus.WRONG_ANSWER,
+            ProblemSubmission.SubmissionStatus.TIME_LIMIT_EXCEEDED, ProblemSubmission.SubmissionStatus.RUNTIME_ERROR,
+            ProblemSubmission.SubmissionStatus.COMPILATION_ERROR
+    };
+    private static final int SEED_BATCH = 1000;
+    
+    @Param("1000")
+    public int users;
+    
+    @Param("500")
+    public int problems;
+    
+    @Param("50000")
+    public int submissions;
+    
+    private ConfigurableApplicationContext context;
+    private List<Long> userIds;
+    private List<Long> problemIds;
+    
+    @Setup
+    public void start() throws InterruptedException {
+        // Command-line arguments, so these win over application.properties
+        context = new SpringApplicationBuilder(DsaAssistantApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--app.judge.enabled=false",
+                        "--app.storage.test-case-dir=${java.io.tmpdir}/dsa-bench-blobs",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.org.springframework.web=WARN");
+        Random random = new Random(42);
+        userIds = seedUsers();
+        problemIds = seedProblems(random);
+        seedSubmissions(random);
+        rebuildProgress();
+    }
+    
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+    
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+    
+    public Long randomUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+    
+    public Long randomProblemId() {
+        return problemIds.get(ThreadLocalRandom.current().nextInt(problemIds.size()));
+    }
+    
+    public String randomSearchTerm() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+    }
+    
+    public static String sampleCode(Random random) {
+        StringBuilder code = new StringBuilder("import java.util.*;\n\npublic class Main {\n"
+                + "    public static void main(String[] args) {\n        Scanner in = new Scanner(System.in);\n");
+        int lines = 10 + random.nextInt(40);
+        for (int i = 0; i < lines; i++) {
+            code.append("        long v").append(i).append(" = in.nextLong() * ").append(random.nextInt(1000)).append(";\n");
+        }
+        return code.append("    }\n}\n").toString();
+    }
+    
+    private List<Long> seedUsers() {
+        List<User> batch = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.setUsername("bench-user-" + i);
+            user.setEmail("bench-user-" + i + "@example.com");
+            user.setPassword("password-" + i);
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            batch.add(user);
+        }
+        return bean(UserRepository.class).saveAll(batch).stream().map(User::getId).toList();
+    }
+    
+    // Through the service, so the search and facet indexes see every problem
+    private List<Long> seedProblems(Random random) {
+        ProblemService problemService = bean(ProblemService.class);
+        List<Long> ids = new ArrayList<>(problems);
+        for (int i = 0; i < problems; i++) {
+            Problem problem = new Problem();
+            problem.setTitle(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i);
+            problem.setDescription(sentence(random, 30));
+            problem.setProblemStatement(sentence(random, 200));
+            problem.setConstraints("1 <= n <= 10^5");
+            problem.setDifficulty(Problem.Difficulty.values()[random.nextInt(Problem.Difficulty.values().length)]);
+            problem.setCategory(Problem.Category.values()[random.nextInt(Problem.Category.values().length)]);
+            List<String> tags = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                String tag = TAGS[random.nextInt(TAGS.length)];
+                if (!tags.contains(tag)) {
+                    tags.add(tag);
+                }
+            }
+            problem.setTags(tags);
+            ids.add(problemService.createProblem(problem).getId());
+        }
+        return ids;
+    }
+    
+    private void seedSubmissions(Random random) {
+        ProblemSubmissionRepository repository = bean(ProblemSubmissionRepository.class);
+        UserRepository userRepository = bean(UserRepository.class);
+        ProblemRepository problemRepository = bean(ProblemRepository.class);
+        SubmissionCodeService codeService = bean(SubmissionCodeService.class);
+        TransactionTemplate transaction = bean(TransactionTemplate.class);
+        for (int start = 0; start < submissions; start += SEED_BATCH) {
+            int size = Math.min(SEED_BATCH, submissions - start);
+            transaction.executeWithoutResult(status -> {
+                List<ProblemSubmission> batch = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    ProblemSubmission submission = new ProblemSubmission();
+                    submission.setUser(userRepository.getReferenceById(userIds.get(random.nextInt(userIds.size()))));
+                    submission.setProblem(problemRepository.getReferenceById(problemIds.get(random.nextInt(problemIds.size()))));
+                    submission.setCode(sampleCode(random));
+                    submission.setLanguage(ProblemSubmission.Language.values()[random.nextInt(ProblemSubmission.Language.values().length)]);
+                    ProblemSubmission.SubmissionStatus verdict = VERDICTS[random.nextInt(VERDICTS.length)];
+                    submission.setStatus(verdict);
+                    submission.setTestCasesPassed(verdict == ProblemSubmission.SubmissionStatus.ACCEPTED ? 20 : random.nextInt(20));
+                    submission.setTotalTestCases(20);
+                    submission.setExecutionTimeMs((long) random.nextInt(2000));
+                    submission.setMemoryUsedMB(16 + random.nextDouble() * 240);
+                    batch.add(submission);
+                }
+                repository.saveAll(batch);
+                for (ProblemSubmission submission : batch) {
+                    codeService.storeCode(submission.getId(), submission.getCode());
+                }
+            });
+        }
+    }
+    
+    private void rebuildProgress() throws InterruptedException {
+        ProgressRebuildService rebuildService = bean(ProgressRebuildService.class);
+        rebuildService.start(false);
+        while (rebuildService.getStatus().map(ProgressRebuildService.Status::isRunning).orElse(false)) {
+            Thread.sleep(50);
+        }
+    }
+    
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            text.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.dsaassistant.benchmark;
+
+import com.example.dsaassistant.dto.CursorPage;
+import com.example.dsaassistant.dto.ProblemSummary;
+import com.example.dsaassistant.dto.SubmissionSummary;
+import com.example.dsaassistant.model.Problem;
+import com.example.dsaassistant.model.User;
+import com.example.dsaassistant.service.ProblemService;
+import com.example.dsaassistant.service.ProblemSubmissionService;
+import com.example.dsaassistant.service.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Serialization alone, with the application's ObjectMapper, on payloads loaded once during setup
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmarks {
+    
+    private ObjectMapper objectMapper;
+    private Problem problem;
+    private User user;
+    private CursorPage<ProblemSummary> problemPage;
+    private CursorPage<SubmissionSummary> submissionPage;
+    
+    @Setup
+    public void setUp(SeededApplication app) {
+        objectMapper = app.bean(ObjectMapper.class);
+        problem = app.bean(ProblemService.class).getProblemById(app.randomProblemId()).orElseThrow();
+        user = app.bean(UserService.class).getUserById(app.randomUserId()).orElseThrow();
+        problemPage = app.bean(ProblemService.class).getActiveProblems(null, 50);
+        submissionPage = app.bean(ProblemSubmissionService.class).getAllSubmissions(null, 50);
+    }
+    
+    @Benchmark
+    public byte[] serializeProblem() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(problem);
+    }
+    
+    @Benchmark
+    public byte[] serializeUser() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+    
+    @Benchmark
+    public byte[] serializeProblemPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(problemPage);
+    }
+    
+    @Benchmark
+    public byte[] serializeSubmissionPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(submissionPage);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.dsaassistant.benchmark;
+
+import com.example.dsaassistant.dto.CursorPage;
+import com.example.dsaassistant.dto.SubmissionSummary;
+import com.example.dsaassistant.model.Problem;
+import com.example.dsaassistant.model.ProblemSubmission;
+import com.example.dsaassistant.model.User;
+import com.example.dsaassistant.service.ProblemService;
+import com.example.dsaassistant.service.ProblemSubmissionService;
+import com.example.dsaassistant.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubmissionBenchmarks {
+    
+    private ProblemSubmissionService submissionService;
+    private UserService userService;
+    private ProblemService problemService;
+    private String code;
+    
+    @Setup
+    public void setUp(SeededApplication app) {
+        submissionService = app.bean(ProblemSubmissionService.class);
+        userService = app.bean(UserService.class);
+        problemService = app.bean(ProblemService.class);
+        code = SeededApplication.sampleCode(new Random(7));
+    }
+    
+    // The controller path: cached user and problem lookups, then the insert and its status event.
+    // Submissions stay PENDING because the judge is off, so the table grows by one row per call.
+    @Benchmark
+    public ProblemSubmission createSubmission(SeededApplication app) {
+        User user = userService.getUserById(app.randomUserId()).orElseThrow();
+        Problem problem = problemService.getProblemById(app.randomProblemId()).orElseThrow();
+        ProblemSubmission submission = new ProblemSubmission();
+        submission.setUser(user);
+        submission.setProblem(problem);
+        submission.setCode(code);
+        submission.setLanguage(ProblemSubmission.Language.JAVA);
+        return submissionService.createSubmission(submission);
+    }
+    
+    @Benchmark
+    public CursorPage<SubmissionSummary> listSubmissionsByUser(SeededApplication app) {
+        User user = userService.getUserById(app.randomUserId()).orElseThrow();
+        return submissionService.getSubmissionsByUser(user, null, 50);
+    }
+}
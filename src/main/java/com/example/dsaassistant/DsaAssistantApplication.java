@@ -2,10 +2,12 @@ package com.example.dsaassistant;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class DsaAssistantApplication {
-
+    
     public static void main(String[] args) {
         SpringApplication.run(DsaAssistantApplication.class, args);
     }
@@ -0,0 +1,48 @@
+package com.example.dsaassistant.cache;
+
+import com.example.dsaassistant.model.Problem;
+import com.example.dsaassistant.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+
+// Local entity caches for the hot by-id reads. Cached copies are detached and carry no lazy
+// collections, so only the scalar fields (and a problem's tags) can be read from them.
+@Configuration
+public class EntityCacheConfig {
+    
+    @Bean
+    public LocalCache<Long, Problem> problemCache(@Value("${app.cache.problems.max-entries:10000}") int maxEntries,
+                                                  @Value("${app.cache.problems.eviction:LRU}") EvictionPolicy.Type eviction,
+                                                  MeterRegistry registry) {
+        LocalCache<Long, Problem> cache = new LocalCache<>("problems", maxEntries, eviction, EntityCacheConfig::copyProblem);
+        cache.registerMetrics(registry);
+        return cache;
+    }
+    
+    @Bean
+    public LocalCache<Long, User> userCache(@Value("${app.cache.users.max-entries:10000}") int maxEntries,
+                                            @Value("${app.cache.users.eviction:LRU}") EvictionPolicy.Type eviction,
+                                            MeterRegistry registry) {
+        LocalCache<Long, User> cache = new LocalCache<>("users", maxEntries, eviction, EntityCacheConfig::copyUser);
+        cache.registerMetrics(registry);
+        return cache;
+    }
+    
+    static Problem copyProblem(Problem problem) {
+        Problem copy = new Problem();
+        BeanUtils.copyProperties(problem, copy, "tags", "submissions", "testCases");
+        copy.setTags(problem.getTags() == null ? null : new ArrayList<>(problem.getTags()));
+        return copy;
+    }
+    
+    static User copyUser(User user) {
+        User copy = new User();
+        BeanUtils.copyProperties(user, copy, "submissions", "progressRecords");
+        return copy;
+    }
+}
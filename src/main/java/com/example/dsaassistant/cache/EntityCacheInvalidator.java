@@ -0,0 +1,34 @@
+package com.example.dsaassistant.cache;
+
+import com.example.dsaassistant.event.ProblemChangedEvent;
+import com.example.dsaassistant.event.UserChangedEvent;
+import com.example.dsaassistant.model.Problem;
+import com.example.dsaassistant.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Drops cached entities once a change commits. A read that loaded the old row before the commit is
+// kept out of the cache by LocalCache's generation check.
+@Component
+@RequiredArgsConstructor
+public class EntityCacheInvalidator {
+    
+    private final LocalCache<Long, Problem> problemCache;
+    private final LocalCache<Long, User> userCache;
+    
+    // Test case changes bump the problem's test case version, so they evict it too. Runs before the
+    // test case bundle cache drops its entry, so a bundle reloaded after that sees the new problem.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProblemChanged(ProblemChangedEvent event) {
+        problemCache.invalidate(event.getProblemId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        userCache.invalidate(event.getUserId());
+    }
+}
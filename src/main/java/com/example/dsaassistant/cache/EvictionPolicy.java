@@ -0,0 +1,30 @@
+package com.example.dsaassistant.cache;
+
+// Decides which key a full LocalCache drops. The cache calls these under its own lock, so
+// implementations need no synchronization.
+public interface EvictionPolicy<K> {
+    
+    void recordInsert(K key);
+    
+    void recordAccess(K key);
+    
+    void recordRemoval(K key);
+    
+    // The next key to evict, or null when empty
+    K victim();
+    
+    enum Type {
+        LRU, LFU, FIFO;
+        
+        public <K> EvictionPolicy<K> create() {
+            switch (this) {
+                case LFU:
+                    return new LfuEvictionPolicy<>();
+                case FIFO:
+                    return new FifoEvictionPolicy<>();
+                default:
+                    return new LruEvictionPolicy<>();
+            }
+        }
+    }
+}
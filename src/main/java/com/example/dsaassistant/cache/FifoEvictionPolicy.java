@@ -0,0 +1,30 @@
+package com.example.dsaassistant.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+// First in, first out: accesses do not change the order, so hits cost nothing
+class FifoEvictionPolicy<K> implements EvictionPolicy<K> {
+    
+    private final LinkedHashSet<K> order = new LinkedHashSet<>();
+    
+    @Override
+    public void recordInsert(K key) {
+        order.add(key);
+    }
+    
+    @Override
+    public void recordAccess(K key) {
+    }
+    
+    @Override
+    public void recordRemoval(K key) {
+        order.remove(key);
+    }
+    
+    @Override
+    public K victim() {
+        Iterator<K> eldest = order.iterator();
+        return eldest.hasNext() ? eldest.next() : null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.dsaassistant.cache;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+// Least frequently used in O(1): keys sit in per-count buckets, and ties within a bucket go to the
+// least recently promoted key
+class LfuEvictionPolicy<K> implements EvictionPolicy<K> {
+    
+    private final Map<K, Integer> counts = new HashMap<>();
+    private final Map<Integer, LinkedHashSet<K>> buckets = new HashMap<>();
+    private int minCount;
+    
+    @Override
+    public void recordInsert(K key) {
+        recordRemoval(key);
+        counts.put(key, 1);
+        buckets.computeIfAbsent(1, count -> new LinkedHashSet<>()).add(key);
+        minCount = 1;
+    }
+    
+    @Override
+    public void recordAccess(K key) {
+        Integer count = counts.get(key);
+        if (count == null) {
+            return;
+        }
+        LinkedHashSet<K> bucket = buckets.get(count);
+        bucket.remove(key);
+        if (bucket.isEmpty()) {
+            buckets.remove(count);
+            if (minCount == count) {
+                minCount = count + 1;
+            }
+        }
+        counts.put(key, count + 1);
+        buckets.computeIfAbsent(count + 1, next -> new LinkedHashSet<>()).add(key);
+    }
+    
+    @Override
+    public void recordRemoval(K key) {
+        Integer count = counts.remove(key);
+        if (count == null) {
+            return;
+        }
+        LinkedHashSet<K> bucket = buckets.get(count);
+        bucket.remove(key);
+        if (bucket.isEmpty()) {
+            buckets.remove(count);
+        }
+    }
+    
+    @Override
+    public K victim() {
+        if (counts.isEmpty()) {
+            return null;
+        }
+        LinkedHashSet<K> bucket = buckets.get(minCount);
+        if (bucket == null) {
+            // A removal emptied the lowest bucket; find the new minimum
+            minCount = buckets.keySet().stream().min(Integer::compare).orElse(1);
+            bucket = buckets.get(minCount);
+        }
+        Iterator<K> eldest = bucket.iterator();
+        return eldest.next();
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.dsaassistant.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process read-through cache bounded by entry count, with a pluggable eviction policy. Values are
+// copied on the way in and out, so callers never share an instance with the cache or with each other.
+// An invalidation during a load keeps that load's result out of the cache, like TestCaseBundleCache;
+// invalidateAll bumps a generation of its own, as the keys loading at the time are not in the map yet.
+// Absent results are not cached.
+public class LocalCache<K, V> {
+    
+    private final String name;
+    private final int maxEntries;
+    private final EvictionPolicy<K> policy;
+    private final UnaryOperator<V> copier;
+    
+    private final Map<K, V> entries = new HashMap<>();
+    private final Map<K, Long> generations = new HashMap<>();
+    private long globalGeneration;
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    
+    public LocalCache(String name, int maxEntries, EvictionPolicy.Type policy, UnaryOperator<V> copier) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.policy = policy.create();
+        this.copier = copier;
+    }
+    
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        long generation;
+        long global;
+        synchronized (this) {
+            V cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                policy.recordAccess(key);
+                return Optional.of(copier.apply(cached));
+            }
+            misses.incrementAndGet();
+            generation = generations.getOrDefault(key, 0L);
+            global = globalGeneration;
+        }
+        
+        Optional<V> loaded = loader.apply(key);
+        loaded.ifPresent(value -> put(key, copier.apply(value), generation, global));
+        return loaded;
+    }
+    
+    public synchronized void invalidate(K key) {
+        invalidations.incrementAndGet();
+        generations.merge(key, 1L, Long::sum);
+        if (entries.remove(key) != null) {
+            policy.recordRemoval(key);
+        }
+    }
+    
+    // Loads started before this see a different global generation, so the per-key ones can start over
+    public synchronized void invalidateAll() {
+        invalidations.incrementAndGet();
+        globalGeneration++;
+        generations.clear();
+        for (K key : entries.keySet()) {
+            policy.recordRemoval(key);
+        }
+        entries.clear();
+    }
+    
+    public void registerMetrics(MeterRegistry registry) {
+        Tags tags = Tags.of("cache", name);
+        FunctionCounter.builder("app.cache.gets", hits, AtomicLong::get).tags(tags).tag("result", "hit").register(registry);
+        FunctionCounter.builder("app.cache.gets", misses, AtomicLong::get).tags(tags).tag("result", "miss").register(registry);
+        FunctionCounter.builder("app.cache.evictions", evictions, AtomicLong::get).tags(tags).register(registry);
+        FunctionCounter.builder("app.cache.invalidations", invalidations, AtomicLong::get).tags(tags).register(registry);
+        Gauge.builder("app.cache.size", this, LocalCache::size).tags(tags).register(registry);
+    }
+    
+    public synchronized Stats getStats() {
+        return new Stats(name, entries.size(), maxEntries, hits.get(), misses.get(), evictions.get(), invalidations.get());
+    }
+    
+    private synchronized int size() {
+        return entries.size();
+    }
+    
+    private synchronized void put(K key, V value, long generation, long global) {
+        // Skip the insert if the key, or the whole cache, was invalidated while it was loading
+        if (globalGeneration != global || generations.getOrDefault(key, 0L) != generation || maxEntries <= 0) {
+            return;
+        }
+        if (entries.put(key, value) == null) {
+            policy.recordInsert(key);
+        }
+        while (entries.size() > maxEntries) {
+            K victim = policy.victim();
+            entries.remove(victim);
+            policy.recordRemoval(victim);
+            evictions.incrementAndGet();
+        }
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final String name;
+        private final int entries;
+        private final int maxEntries;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+    }
+}
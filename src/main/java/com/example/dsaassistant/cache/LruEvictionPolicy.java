@@ -0,0 +1,34 @@
+package com.example.dsaassistant.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+// Least recently used: an access moves the key to the back of the insertion-ordered set
+class LruEvictionPolicy<K> implements EvictionPolicy<K> {
+    
+    private final LinkedHashSet<K> order = new LinkedHashSet<>();
+    
+    @Override
+    public void recordInsert(K key) {
+        order.remove(key);
+        order.add(key);
+    }
+    
+    @Override
+    public void recordAccess(K key) {
+        if (order.remove(key)) {
+            order.add(key);
+        }
+    }
+    
+    @Override
+    public void recordRemoval(K key) {
+        order.remove(key);
+    }
+    
+    @Override
+    public K victim() {
+        Iterator<K> eldest = order.iterator();
+        return eldest.hasNext() ? eldest.next() : null;
+    }
+}
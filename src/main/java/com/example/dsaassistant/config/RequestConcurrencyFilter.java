@@ -0,0 +1,95 @@
+package com.example.dsaassistant.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// With platform threads Tomcat's pool bounds how many API calls compete for database connections.
+// Virtual threads remove that bound, so this gate puts it back: at most max-concurrent-requests API
+// calls run at once, the rest wait briefly and are then turned away with 503 instead of piling up
+// on Hikari until its connection timeout. Async requests (the SSE stream) release their permit as
+// soon as the handler returns.
+@Component
+@Slf4j
+public class RequestConcurrencyFilter extends OncePerRequestFilter {
+    
+    private static final String API_PREFIX = "/api/";
+    
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final AtomicLong rejected = new AtomicLong();
+    
+    @Value("${app.threads.request-queue-timeout-ms:1000}")
+    private long queueTimeoutMs;
+    
+    // 0 sizes the gate from the connection pool when virtual threads are on, and disables it otherwise
+    public RequestConcurrencyFilter(WorkerThreads workerThreads, DataSource dataSource,
+                                    @Value("${app.threads.max-concurrent-requests:0}") int configured,
+                                    @Value("${app.threads.requests-per-connection:4}") int requestsPerConnection) {
+        int poolSize = dataSource instanceof HikariDataSource ? ((HikariDataSource) dataSource).getMaximumPoolSize() : 10;
+        this.maxConcurrent = configured > 0 ? configured
+                : workerThreads.isVirtual() ? poolSize * requestsPerConnection : 0;
+        this.permits = maxConcurrent > 0 ? new Semaphore(maxConcurrent) : null;
+        if (permits != null) {
+            log.info("Limiting concurrent API requests to {}", maxConcurrent);
+        }
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return permits == null || !request.getRequestURI().startsWith(API_PREFIX);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.incrementAndGet();
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+    
+    public Stats getStats() {
+        int inFlight = permits == null ? 0 : maxConcurrent - permits.availablePermits();
+        int waiting = permits == null ? 0 : permits.getQueueLength();
+        return new Stats(maxConcurrent, inFlight, waiting, rejected.get());
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final int maxConcurrent;
+        private final int inFlight;
+        private final int waiting;
+        private final long rejected;
+    }
+}
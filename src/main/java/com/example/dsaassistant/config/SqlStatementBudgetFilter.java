@@ -0,0 +1,97 @@
+package com.example.dsaassistant.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Holds every read endpoint to a constant number of SQL statements, however many rows it returns.
+// Counts are kept per route so a list endpoint that grew a per-row query shows up in its maximum.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+    
+    private static final String API_PREFIX = "/api/";
+    
+    private final SqlStatementCounter counter;
+    private final ConcurrentMap<String, Route> routes = new ConcurrentHashMap<>();
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || !request.getRequestURI().startsWith(API_PREFIX);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (SqlStatementCounter.Scope scope = counter.open()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                record(request, scope.getCount());
+            }
+        }
+    }
+    
+    public List<RouteStats> getStats() {
+        return routes.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingInt(RouteStats::getMaxStatements).reversed())
+                .toList();
+    }
+    
+    private void record(HttpServletRequest request, int statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern == null ? request.getRequestURI() : pattern.toString();
+        routes.computeIfAbsent(route, key -> new Route()).record(statements, counter.getBudget());
+        if (statements > counter.getBudget()) {
+            log.warn("GET {} issued {} SQL statements (budget {})", request.getRequestURI(), statements, counter.getBudget());
+        }
+    }
+    
+    private static class Route {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong statements = new AtomicLong();
+        private final AtomicLong overBudget = new AtomicLong();
+        private final AtomicInteger maxStatements = new AtomicInteger();
+        
+        void record(int count, int budget) {
+            requests.incrementAndGet();
+            statements.addAndGet(count);
+            maxStatements.accumulateAndGet(count, Math::max);
+            if (count > budget) {
+                overBudget.incrementAndGet();
+            }
+        }
+        
+        RouteStats snapshot(String route) {
+            return new RouteStats(route, requests.get(), statements.get(), maxStatements.get(), overBudget.get());
+        }
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class RouteStats {
+        private final String route;
+        private final long requests;
+        private final long totalStatements;
+        private final int maxStatements;
+        private final long overBudget;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.dsaassistant.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Counts the SQL statements Hibernate prepares on the current thread while a scope is open. With
+// fail-on-exceed the statement past the budget throws, so an N+1 regression fails the request
+// instead of quietly adding a select per row.
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+    
+    @Value("${app.sql.max-statements-per-request:8}")
+    private int budget;
+    
+    @Value("${app.sql.fail-on-exceed:false}")
+    private boolean failOnExceed;
+    
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+    
+    // A statement counts toward every open scope, so a scope still sees what nested ones issued
+    @Override
+    public String inspect(String sql) {
+        Scope scope = current.get();
+        if (scope == null) {
+            return sql;
+        }
+        for (Scope open = scope; open != null; open = open.parent) {
+            open.count++;
+        }
+        if (scope.count > budget && failOnExceed) {
+            throw new IllegalStateException("Request exceeded its budget of " + budget + " SQL statements: " + sql);
+        }
+        return sql;
+    }
+    
+    public Scope open() {
+        Scope scope = new Scope(current.get());
+        current.set(scope);
+        return scope;
+    }
+    
+    public int getBudget() {
+        return budget;
+    }
+    
+    public class Scope implements AutoCloseable {
+        private final Scope parent;
+        private int count;
+        
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+        
+        public int getCount() {
+            return count;
+        }
+        
+        @Override
+        public void close() {
+            if (parent == null) {
+                current.remove();
+            } else {
+                current.set(parent);
+            }
+        }
+    }
+}
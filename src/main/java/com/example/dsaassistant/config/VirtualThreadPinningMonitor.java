@@ -0,0 +1,109 @@
+package com.example.dsaassistant.config;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Counts JFR jdk.VirtualThreadPinned events: a virtual thread that blocks while pinned to its carrier
+// (inside synchronized or a native frame) holds that carrier, and enough of them stall every request.
+// Only runs when virtual threads are on.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VirtualThreadPinningMonitor {
+    
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+    
+    private final WorkerThreads workerThreads;
+    
+    @Value("${app.threads.pinning-diagnostics:true}")
+    private boolean enabled;
+    
+    @Value("${app.threads.pinning-threshold-ms:20}")
+    private long thresholdMs;
+    
+    @Value("${app.threads.pinning-log-interval-ms:60000}")
+    private long logIntervalMs;
+    
+    private final AtomicLong pinnedEvents = new AtomicLong();
+    private final AtomicLong pinnedNanos = new AtomicLong();
+    private final AtomicLong lastLoggedAt = new AtomicLong();
+    private final AtomicReference<String> lastStack = new AtomicReference<>();
+    private RecordingStream recording;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || !workerThreads.isVirtual()) {
+            return;
+        }
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        log.info("Watching for virtual threads pinned longer than {} ms", thresholdMs);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+    
+    public Stats getStats() {
+        return new Stats(recording != null, pinnedEvents.get(), pinnedNanos.get() / 1_000_000, lastStack.get());
+    }
+    
+    // Logs at most one stack per interval; the counters still see every event
+    private void onPinned(RecordedEvent event) {
+        pinnedEvents.incrementAndGet();
+        pinnedNanos.addAndGet(event.getDuration().toNanos());
+        String stack = describe(event);
+        lastStack.set(stack);
+        
+        long now = System.currentTimeMillis();
+        long last = lastLoggedAt.get();
+        if (now - last >= logIntervalMs && lastLoggedAt.compareAndSet(last, now)) {
+            log.warn("Virtual thread pinned for {} ms ({} pinned so far) at\n{}",
+                    event.getDuration().toMillis(), pinnedEvents.get(), stack);
+        }
+    }
+    
+    private String describe(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "(no stack trace)";
+        }
+        StringBuilder stack = new StringBuilder();
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        for (int i = 0; i < frames.size() && i < LOGGED_FRAMES; i++) {
+            RecordedFrame frame = frames.get(i);
+            stack.append("    at ").append(frame.getMethod().getType().getName()).append('.')
+                    .append(frame.getMethod().getName()).append(':').append(frame.getLineNumber()).append('\n');
+        }
+        return stack.toString();
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final boolean monitoring;
+        private final long pinnedEvents;
+        private final long pinnedMs;
+        private final String lastPinnedStack;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.dsaassistant.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Thread factories for the app's own blocking workers. With spring.threads.virtual.enabled=true on
+// Java 21 they create virtual threads, like Tomcat's request threads; otherwise daemon platform threads.
+@Component
+@RequiredArgsConstructor
+public class WorkerThreads {
+    
+    private final Environment environment;
+    
+    public boolean isVirtual() {
+        return Threading.VIRTUAL.isActive(environment);
+    }
+    
+    public ThreadFactory factory(String namePrefix) {
+        if (isVirtual()) {
+            return new VirtualThreadTaskExecutor(namePrefix + "-").getVirtualThreadFactory();
+        }
+        AtomicInteger threadCounter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
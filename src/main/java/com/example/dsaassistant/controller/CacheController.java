@@ -0,0 +1,32 @@
+package com.example.dsaassistant.controller;
+
+import com.example.dsaassistant.cache.LocalCache;
+import com.example.dsaassistant.model.Problem;
+import com.example.dsaassistant.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/caches")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CacheController {
+    
+    private final LocalCache<Long, Problem> problemCache;
+    private final LocalCache<Long, User> userCache;
+    
+    @GetMapping
+    public ResponseEntity<List<LocalCache.Stats>> getCacheStats() {
+        return ResponseEntity.ok(List.of(problemCache.getStats(), userCache.getStats()));
+    }
+    
+    @DeleteMapping
+    public ResponseEntity<Void> clearCaches() {
+        problemCache.invalidateAll();
+        userCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.dsaassistant.controller;
+
+import com.example.dsaassistant.dto.LeaderboardEntry;
+import com.example.dsaassistant.leaderboard.LeaderboardService;
+import com.example.dsaassistant.model.Contest;
+import com.example.dsaassistant.service.ContestService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/contests")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ContestController {
+    
+    private static final int MAX_LEADERBOARD_LIMIT = 500;
+    
+    private final ContestService contestService;
+    private final LeaderboardService leaderboardService;
+    
+    @PostMapping
+    public ResponseEntity<Contest> createContest(@Valid @RequestBody Contest contest) {
+        try {
+            Contest createdContest = contestService.createContest(contest);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdContest);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping
+    public ResponseEntity<List<Contest>> getAllContests() {
+        List<Contest> contests = contestService.getAllContests();
+        return ResponseEntity.ok(contests);
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<Contest> getContestById(@PathVariable Long id) {
+        return contestService.getContestById(id)
+                .map(contest -> ResponseEntity.ok(contest))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @PutMapping("/{id}")
+    public ResponseEntity<Contest> updateContest(@PathVariable Long id, @Valid @RequestBody Contest contestDetails) {
+        try {
+            Contest updatedContest = contestService.updateContest(id, contestDetails);
+            return ResponseEntity.ok(updatedContest);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteContest(@PathVariable Long id) {
+        try {
+            contestService.deleteContest(id);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    // Served from the in-memory board; offset is the zero-based position to start from
+    @GetMapping("/{id}/leaderboard")
+    public ResponseEntity<List<LeaderboardEntry>> getLeaderboard(
+            @PathVariable Long id, 
+            @RequestParam(defaultValue = "0") int offset, 
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            List<LeaderboardEntry> entries = leaderboardService.getTop(id, offset, Math.min(limit, MAX_LEADERBOARD_LIMIT));
+            return ResponseEntity.ok(entries);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/{id}/leaderboard/users/{userId}")
+    public ResponseEntity<LeaderboardEntry> getLeaderboardEntry(@PathVariable Long id, @PathVariable Long userId) {
+        try {
+            return leaderboardService.getEntry(id, userId)
+                    .map(entry -> ResponseEntity.ok(entry))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.dsaassistant.controller;
+
+import com.example.dsaassistant.judge.JudgeService;
+import com.example.dsaassistant.judge.JudgeStats;
+import com.example.dsaassistant.judge.SubmissionScheduler;
+import com.example.dsaassistant.judge.TestCaseBundleCache;
+import com.example.dsaassistant.judge.VerdictWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/judge")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class JudgeController {
+    
+    private final JudgeService judgeService;
+    
+    @GetMapping("/stats")
+    public ResponseEntity<JudgeStats.Snapshot> getStats() {
+        return ResponseEntity.ok(judgeService.getStats());
+    }
+    
+    @GetMapping("/cache")
+    public ResponseEntity<TestCaseBundleCache.Stats> getCacheStats() {
+        return ResponseEntity.ok(judgeService.getCacheStats());
+    }
+    
+    @GetMapping("/scheduler")
+    public ResponseEntity<Map<SubmissionScheduler.PriorityClass, SubmissionScheduler.ClassStats>> getSchedulerStats() {
+        return ResponseEntity.ok(judgeService.getSchedulerStats());
+    }
+    
+    @GetMapping("/write-back")
+    public ResponseEntity<VerdictWriter.Stats> getWriteBackStats() {
+        return ResponseEntity.ok(judgeService.getWriteBackStats());
+    }
+}
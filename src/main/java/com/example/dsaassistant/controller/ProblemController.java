@@ -1,6 +1,10 @@
 package com.example.dsaassistant.controller;
 
+import com.example.dsaassistant.dto.CursorPage;
+import com.example.dsaassistant.dto.ProblemFacetPage;
+import com.example.dsaassistant.dto.ProblemSummary;
 import com.example.dsaassistant.model.Problem;
+import com.example.dsaassistant.search.ProblemFacetFilter;
 import com.example.dsaassistant.service.ProblemService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -8,7 +12,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.Set;
+
 
 @RestController
 @RequestMapping("/api/problems")
@@ -29,8 +34,10 @@ public class ProblemController {
     }
     
     @GetMapping
-    public ResponseEntity<List<Problem>> getAllProblems() {
-        List<Problem> problems = problemService.getAllProblems();
+    public ResponseEntity<CursorPage<ProblemSummary>> getAllProblems(
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<ProblemSummary> problems = problemService.getAllProblems(after, limit);
         return ResponseEntity.ok(problems);
     }
     
@@ -42,52 +49,91 @@ public class ProblemController {
     }
     
     @GetMapping("/difficulty/{difficulty}")
-    public ResponseEntity<List<Problem>> getProblemsByDifficulty(@PathVariable Problem.Difficulty difficulty) {
-        List<Problem> problems = problemService.getProblemsByDifficulty(difficulty);
+    public ResponseEntity<CursorPage<ProblemSummary>> getProblemsByDifficulty(
+            @PathVariable Problem.Difficulty difficulty, 
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<ProblemSummary> problems = problemService.getProblemsByDifficulty(difficulty, after, limit);
         return ResponseEntity.ok(problems);
     }
     
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Problem>> getProblemsByCategory(@PathVariable Problem.Category category) {
-        List<Problem> problems = problemService.getProblemsByCategory(category);
+    public ResponseEntity<CursorPage<ProblemSummary>> getProblemsByCategory(
+            @PathVariable Problem.Category category, 
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<ProblemSummary> problems = problemService.getProblemsByCategory(category, after, limit);
         return ResponseEntity.ok(problems);
     }
     
     @GetMapping("/active")
-    public ResponseEntity<List<Problem>> getActiveProblems() {
-        List<Problem> problems = problemService.getActiveProblems();
+    public ResponseEntity<CursorPage<ProblemSummary>> getActiveProblems(
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<ProblemSummary> problems = problemService.getActiveProblems(after, limit);
         return ResponseEntity.ok(problems);
     }
     
     @GetMapping("/active/difficulty/{difficulty}")
-    public ResponseEntity<List<Problem>> getActiveProblemsByDifficulty(@PathVariable Problem.Difficulty difficulty) {
-        List<Problem> problems = problemService.getActiveProblemsByDifficulty(difficulty);
+    public ResponseEntity<CursorPage<ProblemSummary>> getActiveProblemsByDifficulty(
+            @PathVariable Problem.Difficulty difficulty, 
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<ProblemSummary> problems = problemService.getActiveProblemsByDifficulty(difficulty, after, limit);
         return ResponseEntity.ok(problems);
     }
     
     @GetMapping("/active/category/{category}")
-    public ResponseEntity<List<Problem>> getActiveProblemsByCategory(@PathVariable Problem.Category category) {
-        List<Problem> problems = problemService.getActiveProblemsByCategory(category);
+    public ResponseEntity<CursorPage<ProblemSummary>> getActiveProblemsByCategory(
+            @PathVariable Problem.Category category, 
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<ProblemSummary> problems = problemService.getActiveProblemsByCategory(category, after, limit);
         return ResponseEntity.ok(problems);
     }
     
     @GetMapping("/active/difficulty/{difficulty}/category/{category}")
-    public ResponseEntity<List<Problem>> getActiveProblemsByDifficultyAndCategory(
+    public ResponseEntity<CursorPage<ProblemSummary>> getActiveProblemsByDifficultyAndCategory(
             @PathVariable Problem.Difficulty difficulty, 
-            @PathVariable Problem.Category category) {
-        List<Problem> problems = problemService.getActiveProblemsByDifficultyAndCategory(difficulty, category);
+            @PathVariable Problem.Category category, 
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<ProblemSummary> problems = problemService.getActiveProblemsByDifficultyAndCategory(difficulty, category, after, limit);
         return ResponseEntity.ok(problems);
     }
     
     @GetMapping("/active/tag/{tag}")
-    public ResponseEntity<List<Problem>> getActiveProblemsByTag(@PathVariable String tag) {
-        List<Problem> problems = problemService.getActiveProblemsByTag(tag);
+    public ResponseEntity<CursorPage<ProblemSummary>> getActiveProblemsByTag(
+            @PathVariable String tag, 
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<ProblemSummary> problems = problemService.getActiveProblemsByTag(tag, after, limit);
+        return ResponseEntity.ok(problems);
+    }
+    
+    // Any combination of facets: values of one facet are OR-ed (tags AND-ed with tagMode=all), facets are
+    // AND-ed, and facet counts come back with the page
+    @GetMapping("/browse")
+    public ResponseEntity<ProblemFacetPage> browseProblems(
+            @RequestParam(required = false) Set<Problem.Difficulty> difficulty, 
+            @RequestParam(required = false) Set<Problem.Category> category, 
+            @RequestParam(required = false) Set<String> tag, 
+            @RequestParam(defaultValue = "any") String tagMode, 
+            @RequestParam(required = false) Boolean active, 
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
+        ProblemFacetFilter filter = new ProblemFacetFilter(difficulty, category, tag, "all".equalsIgnoreCase(tagMode), active);
+        ProblemFacetPage problems = problemService.browseProblems(filter, after, limit);
         return ResponseEntity.ok(problems);
     }
     
+    // Relevance-ranked full-text search; the last word also matches as a prefix
     @GetMapping("/search")
-    public ResponseEntity<List<Problem>> searchProblems(@RequestParam String q) {
-        List<Problem> problems = problemService.searchProblems(q);
+    public ResponseEntity<CursorPage<ProblemSummary>> searchProblems(
+            @RequestParam String q, 
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<ProblemSummary> problems = problemService.searchProblems(q, after, limit);
         return ResponseEntity.ok(problems);
     }
     
@@ -1,18 +1,33 @@
 package com.example.dsaassistant.controller;
 
+import com.example.dsaassistant.dto.CursorPage;
+import com.example.dsaassistant.dto.SubmissionSummary;
+import com.example.dsaassistant.dto.SubmissionTimelineView;
+import com.example.dsaassistant.dto.TimelinePercentiles;
 import com.example.dsaassistant.model.Problem;
 import com.example.dsaassistant.model.ProblemSubmission;
 import com.example.dsaassistant.model.User;
 import com.example.dsaassistant.service.ProblemSubmissionService;
 import com.example.dsaassistant.service.ProblemService;
+import com.example.dsaassistant.service.SubmissionExportService;
+import com.example.dsaassistant.service.SubmissionTimelineService;
 import com.example.dsaassistant.service.UserService;
+import com.example.dsaassistant.stream.SubmissionStreamHub;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/submissions")
@@ -23,6 +38,12 @@ public class ProblemSubmissionController {
     private final ProblemSubmissionService submissionService;
     private final UserService userService;
     private final ProblemService problemService;
+    private final SubmissionExportService exportService;
+    private final SubmissionStreamHub streamHub;
+    private final SubmissionTimelineService timelineService;
+    
+    @Value("${app.export.timeout-ms:3600000}")
+    private long exportTimeoutMs;
     
     @PostMapping
     public ResponseEntity<ProblemSubmission> createSubmission(@RequestBody SubmissionRequest request) {
@@ -47,11 +68,55 @@ public class ProblemSubmissionController {
     }
     
     @GetMapping
-    public ResponseEntity<List<ProblemSubmission>> getAllSubmissions() {
-        List<ProblemSubmission> submissions = submissionService.getAllSubmissions();
+    public ResponseEntity<CursorPage<SubmissionSummary>> getAllSubmissions(
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<SubmissionSummary> submissions = submissionService.getAllSubmissions(after, limit);
         return ResponseEntity.ok(submissions);
     }
     
+    // Live status changes of a user's submissions as server-sent "status" events, replacing polling of
+    // GET /{id}; the stream opens with the user's PENDING and RUNNING submissions
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSubmissionStatus(@RequestParam Long userId) {
+        try {
+            return ResponseEntity.ok(streamHub.subscribe(userId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
+    @GetMapping("/stream/stats")
+    public ResponseEntity<SubmissionStreamHub.Stats> getStreamStats() {
+        return ResponseEntity.ok(streamHub.getStats());
+    }
+    
+    // Streams every matching submission as NDJSON (default) or CSV. A large export reads for far longer
+    // than other async requests may run, so it carries its own timeout instead of the global one.
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportSubmissions(
+            @RequestParam(required = false) Long problemId, 
+            @RequestParam(required = false) Long userId, 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate, 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate, 
+            @RequestParam(defaultValue = "ndjson") String format, 
+            HttpServletResponse response) {
+        SubmissionExportService.Format exportFormat;
+        try {
+            exportFormat = SubmissionExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown export format: " + format);
+        }
+        
+        boolean csv = exportFormat == SubmissionExportService.Format.CSV;
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"submissions." + (csv ? "csv" : "ndjson") + "\"");
+        return new WebAsyncTask<>(exportTimeoutMs, () -> {
+            exportService.export(problemId, userId, startDate, endDate, exportFormat, response.getOutputStream());
+            return null;
+        });
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ProblemSubmission> getSubmissionById(@PathVariable Long id) {
         return submissionService.getSubmissionById(id)
@@ -59,61 +124,96 @@ public class ProblemSubmissionController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    @GetMapping("/{id}/timeline")
+    public ResponseEntity<SubmissionTimelineView> getSubmissionTimeline(@PathVariable Long id) {
+        return timelineService.getTimeline(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/timeline/percentiles/language")
+    public ResponseEntity<Map<ProblemSubmission.Language, TimelinePercentiles>> getTimelinePercentilesByLanguage() {
+        return ResponseEntity.ok(timelineService.getPercentilesByLanguage());
+    }
+    
+    @GetMapping("/timeline/percentiles/problem/{problemId}")
+    public ResponseEntity<TimelinePercentiles> getTimelinePercentilesByProblem(@PathVariable Long problemId) {
+        return ResponseEntity.ok(timelineService.getPercentilesByProblem(problemId));
+    }
+    
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<ProblemSubmission>> getSubmissionsByUser(@PathVariable Long userId) {
+    public ResponseEntity<CursorPage<SubmissionSummary>> getSubmissionsByUser(
+            @PathVariable Long userId, 
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
         User user = userService.getUserById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        List<ProblemSubmission> submissions = submissionService.getSubmissionsByUser(user);
+        CursorPage<SubmissionSummary> submissions = submissionService.getSubmissionsByUser(user, after, limit);
         return ResponseEntity.ok(submissions);
     }
     
     @GetMapping("/problem/{problemId}")
-    public ResponseEntity<List<ProblemSubmission>> getSubmissionsByProblem(@PathVariable Long problemId) {
+    public ResponseEntity<CursorPage<SubmissionSummary>> getSubmissionsByProblem(
+            @PathVariable Long problemId, 
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
         Problem problem = problemService.getProblemById(problemId)
                 .orElseThrow(() -> new RuntimeException("Problem not found"));
-        List<ProblemSubmission> submissions = submissionService.getSubmissionsByProblem(problem);
+        CursorPage<SubmissionSummary> submissions = submissionService.getSubmissionsByProblem(problem, after, limit);
         return ResponseEntity.ok(submissions);
     }
     
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<ProblemSubmission>> getSubmissionsByStatus(@PathVariable ProblemSubmission.SubmissionStatus status) {
-        List<ProblemSubmission> submissions = submissionService.getSubmissionsByStatus(status);
+    public ResponseEntity<CursorPage<SubmissionSummary>> getSubmissionsByStatus(
+            @PathVariable ProblemSubmission.SubmissionStatus status, 
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<SubmissionSummary> submissions = submissionService.getSubmissionsByStatus(status, after, limit);
         return ResponseEntity.ok(submissions);
     }
     
     @GetMapping("/language/{language}")
-    public ResponseEntity<List<ProblemSubmission>> getSubmissionsByLanguage(@PathVariable ProblemSubmission.Language language) {
-        List<ProblemSubmission> submissions = submissionService.getSubmissionsByLanguage(language);
+    public ResponseEntity<CursorPage<SubmissionSummary>> getSubmissionsByLanguage(
+            @PathVariable ProblemSubmission.Language language, 
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<SubmissionSummary> submissions = submissionService.getSubmissionsByLanguage(language, after, limit);
         return ResponseEntity.ok(submissions);
     }
     
     @GetMapping("/user/{userId}/status/{status}")
-    public ResponseEntity<List<ProblemSubmission>> getSubmissionsByUserAndStatus(
+    public ResponseEntity<CursorPage<SubmissionSummary>> getSubmissionsByUserAndStatus(
             @PathVariable Long userId, 
-            @PathVariable ProblemSubmission.SubmissionStatus status) {
+            @PathVariable ProblemSubmission.SubmissionStatus status, 
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
         User user = userService.getUserById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        List<ProblemSubmission> submissions = submissionService.getSubmissionsByUserAndStatus(user, status);
+        CursorPage<SubmissionSummary> submissions = submissionService.getSubmissionsByUserAndStatus(user, status, after, limit);
         return ResponseEntity.ok(submissions);
     }
     
     @GetMapping("/user/{userId}/difficulty/{difficulty}")
-    public ResponseEntity<List<ProblemSubmission>> getSubmissionsByUserAndDifficulty(
+    public ResponseEntity<CursorPage<SubmissionSummary>> getSubmissionsByUserAndDifficulty(
             @PathVariable Long userId, 
-            @PathVariable Problem.Difficulty difficulty) {
+            @PathVariable Problem.Difficulty difficulty, 
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
         User user = userService.getUserById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        List<ProblemSubmission> submissions = submissionService.getSubmissionsByUserAndProblemDifficulty(user, difficulty);
+        CursorPage<SubmissionSummary> submissions = submissionService.getSubmissionsByUserAndProblemDifficulty(user, difficulty, after, limit);
         return ResponseEntity.ok(submissions);
     }
     
     @GetMapping("/user/{userId}/category/{category}")
-    public ResponseEntity<List<ProblemSubmission>> getSubmissionsByUserAndCategory(
+    public ResponseEntity<CursorPage<SubmissionSummary>> getSubmissionsByUserAndCategory(
             @PathVariable Long userId, 
-            @PathVariable Problem.Category category) {
+            @PathVariable Problem.Category category, 
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
         User user = userService.getUserById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        List<ProblemSubmission> submissions = submissionService.getSubmissionsByUserAndProblemCategory(user, category);
+        CursorPage<SubmissionSummary> submissions = submissionService.getSubmissionsByUserAndProblemCategory(user, category, after, limit);
         return ResponseEntity.ok(submissions);
     }
     
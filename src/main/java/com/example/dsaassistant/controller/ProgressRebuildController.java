@@ -0,0 +1,34 @@
+package com.example.dsaassistant.controller;
+
+import com.example.dsaassistant.service.ProgressRebuildService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/progress")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ProgressRebuildController {
+    
+    private final ProgressRebuildService rebuildService;
+    
+    // Starts a full rebuild, or with resume=true reruns the unfinished partitions of the last one
+    @PostMapping("/rebuild")
+    public ResponseEntity<ProgressRebuildService.Status> startRebuild(@RequestParam(defaultValue = "false") boolean resume) {
+        try {
+            ProgressRebuildService.Status status = rebuildService.start(resume);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    @GetMapping("/rebuild")
+    public ResponseEntity<ProgressRebuildService.Status> getRebuildStatus() {
+        return rebuildService.getStatus()
+                .map(status -> ResponseEntity.ok(status))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
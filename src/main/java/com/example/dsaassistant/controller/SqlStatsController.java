@@ -0,0 +1,22 @@
+package com.example.dsaassistant.controller;
+
+import com.example.dsaassistant.config.SqlStatementBudgetFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/sql")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class SqlStatsController {
+    
+    private final SqlStatementBudgetFilter budgetFilter;
+    
+    @GetMapping
+    public ResponseEntity<List<SqlStatementBudgetFilter.RouteStats>> getStatementStats() {
+        return ResponseEntity.ok(budgetFilter.getStats());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.dsaassistant.controller;
+
+import com.example.dsaassistant.model.Problem;
+import com.example.dsaassistant.model.TestCase;
+import com.example.dsaassistant.service.ProblemService;
+import com.example.dsaassistant.service.TestCaseService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/problems/{problemId}/test-cases")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class TestCaseController {
+    
+    private final TestCaseService testCaseService;
+    private final ProblemService problemService;
+    
+    @PostMapping
+    public ResponseEntity<TestCase> createTestCase(@PathVariable Long problemId, @RequestBody TestCaseRequest request) {
+        try {
+            Problem problem = problemService.getProblemById(problemId)
+                    .orElseThrow(() -> new RuntimeException("Problem not found"));
+            
+            TestCase testCase = new TestCase();
+            testCase.setProblem(problem);
+            testCase.setInput(request.getInput());
+            testCase.setExpectedOutput(request.getExpectedOutput());
+            testCase.setIsSample(Boolean.TRUE.equals(request.getIsSample()));
+            testCase.setIsHidden(Boolean.TRUE.equals(request.getIsHidden()));
+            
+            TestCase createdTestCase = testCaseService.createTestCase(testCase);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdTestCase);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping
+    public ResponseEntity<List<TestCase>> getTestCasesByProblem(@PathVariable Long problemId) {
+        Problem problem = problemService.getProblemById(problemId)
+                .orElseThrow(() -> new RuntimeException("Problem not found"));
+        List<TestCase> testCases = testCaseService.getTestCasesByProblem(problem);
+        return ResponseEntity.ok(testCases);
+    }
+    
+    @PutMapping("/{id}")
+    public ResponseEntity<TestCase> updateTestCase(@PathVariable Long problemId, @PathVariable Long id,
+                                                   @RequestBody TestCaseRequest request) {
+        try {
+            TestCase testCaseDetails = new TestCase();
+            testCaseDetails.setInput(request.getInput());
+            testCaseDetails.setExpectedOutput(request.getExpectedOutput());
+            testCaseDetails.setIsSample(Boolean.TRUE.equals(request.getIsSample()));
+            testCaseDetails.setIsHidden(Boolean.TRUE.equals(request.getIsHidden()));
+            
+            TestCase updatedTestCase = testCaseService.updateTestCase(id, testCaseDetails);
+            return ResponseEntity.ok(updatedTestCase);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteTestCase(@PathVariable Long problemId, @PathVariable Long id) {
+        try {
+            testCaseService.deleteTestCase(id);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    // Inner class for test case request
+    public static class TestCaseRequest {
+        private String input;
+        private String expectedOutput;
+        private Boolean isSample;
+        private Boolean isHidden;
+        
+        // Getters and setters
+        public String getInput() { return input; }
+        public void setInput(String input) { this.input = input; }
+        
+        public String getExpectedOutput() { return expectedOutput; }
+        public void setExpectedOutput(String expectedOutput) { this.expectedOutput = expectedOutput; }
+        
+        public Boolean getIsSample() { return isSample; }
+        public void setIsSample(Boolean isSample) { this.isSample = isSample; }
+        
+        public Boolean getIsHidden() { return isHidden; }
+        public void setIsHidden(Boolean isHidden) { this.isHidden = isHidden; }
+    }
+}
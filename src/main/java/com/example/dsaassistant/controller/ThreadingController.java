@@ -0,0 +1,45 @@
+package com.example.dsaassistant.controller;
+
+import com.example.dsaassistant.config.RequestConcurrencyFilter;
+import com.example.dsaassistant.config.VirtualThreadPinningMonitor;
+import com.example.dsaassistant.config.WorkerThreads;
+import com.example.dsaassistant.dto.ThreadingStatus;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.sql.DataSource;
+
+@RestController
+@RequestMapping("/api/admin/threads")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ThreadingController {
+    
+    private final WorkerThreads workerThreads;
+    private final DataSource dataSource;
+    private final RequestConcurrencyFilter requestFilter;
+    private final VirtualThreadPinningMonitor pinningMonitor;
+    
+    @GetMapping
+    public ResponseEntity<ThreadingStatus> getThreadingStatus() {
+        int poolSize = 0;
+        int active = 0;
+        int idle = 0;
+        int awaiting = 0;
+        if (dataSource instanceof HikariDataSource) {
+            HikariDataSource hikari = (HikariDataSource) dataSource;
+            poolSize = hikari.getMaximumPoolSize();
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            if (pool != null) {
+                active = pool.getActiveConnections();
+                idle = pool.getIdleConnections();
+                awaiting = pool.getThreadsAwaitingConnection();
+            }
+        }
+        return ResponseEntity.ok(new ThreadingStatus(workerThreads.isVirtual(), poolSize, active, idle, awaiting,
+                requestFilter.getStats(), pinningMonitor.getStats()));
+    }
+}
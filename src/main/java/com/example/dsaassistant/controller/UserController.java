@@ -1,5 +1,7 @@
 package com.example.dsaassistant.controller;
 
+import com.example.dsaassistant.dto.CursorPage;
+import com.example.dsaassistant.dto.UserSummary;
 import com.example.dsaassistant.model.User;
 import com.example.dsaassistant.service.UserService;
 import jakarta.validation.Valid;
@@ -8,7 +10,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/users")
@@ -29,8 +30,10 @@ public class UserController {
     }
     
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
+    public ResponseEntity<CursorPage<UserSummary>> getAllUsers(
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<UserSummary> users = userService.getAllUsers(after, limit);
         return ResponseEntity.ok(users);
     }
     
@@ -56,20 +59,28 @@ public class UserController {
     }
     
     @GetMapping("/role/{role}")
-    public ResponseEntity<List<User>> getUsersByRole(@PathVariable User.Role role) {
-        List<User> users = userService.getUsersByRole(role);
+    public ResponseEntity<CursorPage<UserSummary>> getUsersByRole(
+            @PathVariable User.Role role, 
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<UserSummary> users = userService.getUsersByRole(role, after, limit);
         return ResponseEntity.ok(users);
     }
     
     @GetMapping("/active")
-    public ResponseEntity<List<User>> getActiveUsers() {
-        List<User> users = userService.getActiveUsers();
+    public ResponseEntity<CursorPage<UserSummary>> getActiveUsers(
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<UserSummary> users = userService.getActiveUsers(after, limit);
         return ResponseEntity.ok(users);
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<User>> searchUsersByName(@RequestParam String name) {
-        List<User> users = userService.searchUsersByName(name);
+    public ResponseEntity<CursorPage<UserSummary>> searchUsersByName(
+            @RequestParam String name, 
+            @RequestParam(required = false) Long after, 
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<UserSummary> users = userService.searchUsersByName(name, after, limit);
         return ResponseEntity.ok(users);
     }
     
@@ -0,0 +1,53 @@
+package com.example.dsaassistant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+// One page of a keyset-paginated list ordered by id. Pass nextCursor back as "after" to get the
+// following page; it is null on the last page.
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+    
+    private final List<T> items;
+    private final Long nextCursor;
+    
+    public static long after(Long after) {
+        return after == null ? 0L : after;
+    }
+    
+    // Fetches one row past the limit, so whether there is a next page is known without a count query
+    public static Pageable request(int limit) {
+        return PageRequest.of(0, clamp(limit) + 1);
+    }
+    
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Long> idOf) {
+        int size = clamp(limit);
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = List.copyOf(rows.subList(0, size));
+        return new CursorPage<>(items, idOf.apply(items.get(size - 1)));
+    }
+    
+    // For lists ranked by something other than id: the cursor is the number of items already returned
+    public static <T> CursorPage<T> atOffset(List<T> rows, long offset, int limit) {
+        int size = clamp(limit);
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        return new CursorPage<>(List.copyOf(rows.subList(0, size)), offset + size);
+    }
+    
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
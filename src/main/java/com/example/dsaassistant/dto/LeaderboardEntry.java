@@ -0,0 +1,9 @@
+package com.example.dsaassistant.dto;
+
+// Contestants with the same solved count and penalty share a rank
+public record LeaderboardEntry(
+        int rank,
+        Long userId,
+        int solved,
+        long penaltyMinutes) {
+}
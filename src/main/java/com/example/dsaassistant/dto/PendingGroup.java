@@ -0,0 +1,15 @@
+package com.example.dsaassistant.dto;
+
+import com.example.dsaassistant.model.User;
+
+import java.time.LocalDateTime;
+
+// Pending submissions of one user for one problem, headed by the oldest, which is the next to judge
+public record PendingGroup(
+        Long userId,
+        User.Role role,
+        Long problemId,
+        Long pending,
+        Long oldestId,
+        LocalDateTime oldestSubmittedAt) {
+}
@@ -0,0 +1,19 @@
+package com.example.dsaassistant.dto;
+
+import com.example.dsaassistant.model.Problem;
+
+import java.util.List;
+import java.util.Map;
+
+// One keyset page of a faceted browse plus the counts for refining it. Difficulty, category and
+// active counts ignore that facet's own selection, so the other values stay selectable; tag counts
+// are over the full result.
+public record ProblemFacetPage(
+        List<ProblemSummary> items,
+        Long nextCursor,
+        int total,
+        Map<Problem.Difficulty, Integer> difficulties,
+        Map<Problem.Category, Integer> categories,
+        Map<String, Integer> tags,
+        Map<Boolean, Integer> active) {
+}
@@ -0,0 +1,24 @@
+package com.example.dsaassistant.dto;
+
+import com.example.dsaassistant.model.Problem;
+
+import java.util.List;
+
+// List view of a problem; statement, examples and constraints are only on the detail endpoint
+public record ProblemSummary(
+        Long id,
+        String title,
+        Problem.Difficulty difficulty,
+        Problem.Category category,
+        Boolean isActive,
+        List<String> tags) {
+    
+    // Used by the JPQL constructor expressions, which cannot select a collection; tags are added after
+    public ProblemSummary(Long id, String title, Problem.Difficulty difficulty, Problem.Category category, Boolean isActive) {
+        this(id, title, difficulty, category, isActive, List.of());
+    }
+    
+    public ProblemSummary withTags(List<String> tags) {
+        return new ProblemSummary(id, title, difficulty, category, isActive, tags);
+    }
+}
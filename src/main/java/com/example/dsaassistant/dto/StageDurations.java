@@ -0,0 +1,12 @@
+package com.example.dsaassistant.dto;
+
+// Per-stage milliseconds of one judged submission, as stored on its timeline
+public record StageDurations(
+        long queueMs,
+        long loadMs,
+        long compileMs,
+        long runMs,
+        long compareMs,
+        long persistMs,
+        long totalMs) {
+}
@@ -0,0 +1,31 @@
+package com.example.dsaassistant.dto;
+
+import com.example.dsaassistant.event.SubmissionJudgedEvent;
+import com.example.dsaassistant.event.SubmissionStatusChangedEvent;
+import com.example.dsaassistant.model.ProblemSubmission;
+
+// Payload of a live submission status event; verdict fields are null until the status is final
+public record SubmissionStatusUpdate(
+        Long submissionId,
+        Long problemId,
+        ProblemSubmission.SubmissionStatus status,
+        Integer testCasesPassed,
+        Integer totalTestCases,
+        Long executionTimeMs,
+        Double memoryUsedMB) {
+    
+    public static SubmissionStatusUpdate of(SubmissionSummary summary) {
+        return new SubmissionStatusUpdate(summary.id(), summary.problemId(), summary.status(),
+                summary.testCasesPassed(), summary.totalTestCases(), summary.executionTimeMs(), summary.memoryUsedMB());
+    }
+    
+    public static SubmissionStatusUpdate of(SubmissionStatusChangedEvent event) {
+        return new SubmissionStatusUpdate(event.getSubmissionId(), event.getProblemId(), event.getStatus(),
+                null, null, null, null);
+    }
+    
+    public static SubmissionStatusUpdate of(SubmissionJudgedEvent event) {
+        return new SubmissionStatusUpdate(event.getSubmissionId(), event.getProblemId(), event.getStatus(),
+                event.getTestCasesPassed(), event.getTotalTestCases(), event.getExecutionTimeMs(), event.getMemoryUsedMB());
+    }
+}
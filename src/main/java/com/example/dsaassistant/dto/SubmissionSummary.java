@@ -0,0 +1,19 @@
+package com.example.dsaassistant.dto;
+
+import com.example.dsaassistant.model.ProblemSubmission;
+
+import java.time.LocalDateTime;
+
+// List view of a submission; the code and error message are only on the detail endpoint
+public record SubmissionSummary(
+        Long id,
+        Long userId,
+        Long problemId,
+        ProblemSubmission.Language language,
+        ProblemSubmission.SubmissionStatus status,
+        Integer testCasesPassed,
+        Integer totalTestCases,
+        Long executionTimeMs,
+        Double memoryUsedMB,
+        LocalDateTime submittedAt) {
+}
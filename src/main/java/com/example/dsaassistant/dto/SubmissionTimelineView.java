@@ -0,0 +1,20 @@
+package com.example.dsaassistant.dto;
+
+import com.example.dsaassistant.model.ProblemSubmission;
+import com.example.dsaassistant.model.SubmissionTimeline;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Decoded timeline of one submission; stage offsets are milliseconds since it was submitted
+public record SubmissionTimelineView(
+        Long submissionId,
+        Long problemId,
+        ProblemSubmission.Language language,
+        LocalDateTime submittedAt,
+        StageDurations durations,
+        List<Entry> stages) {
+    
+    public record Entry(SubmissionTimeline.Stage stage, Integer testCase, double startMs, double durationMs) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.dsaassistant.dto;
+
+import com.example.dsaassistant.config.RequestConcurrencyFilter;
+import com.example.dsaassistant.config.VirtualThreadPinningMonitor;
+
+// Request threading mode and what it is waiting on: database connections, the request gate, pinning
+public record ThreadingStatus(
+        boolean virtualThreads,
+        int connectionPoolSize,
+        int activeConnections,
+        int idleConnections,
+        int threadsAwaitingConnection,
+        RequestConcurrencyFilter.Stats requests,
+        VirtualThreadPinningMonitor.Stats pinning) {
+}
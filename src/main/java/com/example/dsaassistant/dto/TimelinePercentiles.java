@@ -0,0 +1,10 @@
+package com.example.dsaassistant.dto;
+
+import java.util.Map;
+
+// Per-stage latency percentiles over the most recent judged submissions of one language or problem
+public record TimelinePercentiles(int samples, Map<String, Percentiles> stages) {
+    
+    public record Percentiles(long p50, long p90, long p99, long max) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.dsaassistant.dto;
+
+import com.example.dsaassistant.model.User;
+
+import java.time.LocalDateTime;
+
+// List view of a user
+public record UserSummary(
+        Long id,
+        String username,
+        String firstName,
+        String lastName,
+        User.Role role,
+        Boolean isActive,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,14 @@
+package com.example.dsaassistant.dto;
+
+import com.example.dsaassistant.model.Problem;
+
+// Final-verdict counters of one user for one (category, difficulty) slice of problems
+public record VerdictAggregate(
+        Long userId,
+        Problem.Category category,
+        Problem.Difficulty difficulty,
+        Long attempts,
+        Long acceptedSubmissions,
+        Long acceptedTimeMs,
+        Long problemsSolved) {
+}
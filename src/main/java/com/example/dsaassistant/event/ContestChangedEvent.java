@@ -0,0 +1,17 @@
+package com.example.dsaassistant.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ContestChangedEvent {
+    
+    private final Long contestId;
+    
+    private final Change change;
+    
+    public enum Change {
+        CREATED, UPDATED, DELETED
+    }
+}
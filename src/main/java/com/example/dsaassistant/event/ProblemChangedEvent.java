@@ -0,0 +1,17 @@
+package com.example.dsaassistant.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProblemChangedEvent {
+    
+    private final Long problemId;
+    
+    private final Change change;
+    
+    public enum Change {
+        CREATED, UPDATED, DEACTIVATED, DELETED, TEST_CASES_CHANGED
+    }
+}
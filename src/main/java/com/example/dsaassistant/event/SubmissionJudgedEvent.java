@@ -0,0 +1,53 @@
+package com.example.dsaassistant.event;
+
+import com.example.dsaassistant.model.Problem;
+import com.example.dsaassistant.model.ProblemSubmission;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Published inside the transaction that records a judge verdict
+@Getter
+@AllArgsConstructor
+public class SubmissionJudgedEvent {
+    
+    private final Long submissionId;
+    
+    private final Long userId;
+    
+    private final Long problemId;
+    
+    private final Problem.Category category;
+    
+    private final Problem.Difficulty difficulty;
+    
+    private final ProblemSubmission.Language language;
+    
+    private final ProblemSubmission.SubmissionStatus previousStatus;
+    
+    private final ProblemSubmission.SubmissionStatus status;
+    
+    private final Integer testCasesPassed;
+    
+    private final Integer totalTestCases;
+    
+    private final Long executionTimeMs;
+    
+    private final Double memoryUsedMB;
+    
+    private final LocalDateTime submittedAt;
+    
+    // True only for the transition into a final verdict, not for a later re-record of one
+    public boolean isFirstFinalVerdict() {
+        return status.isFinal() && (previousStatus == null || !previousStatus.isFinal());
+    }
+    
+    public static SubmissionJudgedEvent of(ProblemSubmission submission, ProblemSubmission.SubmissionStatus previousStatus) {
+        Problem problem = submission.getProblem();
+        return new SubmissionJudgedEvent(submission.getId(), submission.getUser().getId(), problem.getId(),
+                problem.getCategory(), problem.getDifficulty(), submission.getLanguage(), previousStatus,
+                submission.getStatus(), submission.getTestCasesPassed(), submission.getTotalTestCases(),
+                submission.getExecutionTimeMs(), submission.getMemoryUsedMB(), submission.getSubmittedAt());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.dsaassistant.event;
+
+import com.example.dsaassistant.model.ProblemSubmission;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published for status changes other than a recorded verdict, which has its own SubmissionJudgedEvent
+@Getter
+@AllArgsConstructor
+public class SubmissionStatusChangedEvent {
+    
+    private final Long submissionId;
+    
+    private final Long userId;
+    
+    private final Long problemId;
+    
+    private final ProblemSubmission.SubmissionStatus previousStatus;
+    
+    private final ProblemSubmission.SubmissionStatus status;
+    
+    public static SubmissionStatusChangedEvent of(ProblemSubmission submission, ProblemSubmission.SubmissionStatus previousStatus) {
+        return new SubmissionStatusChangedEvent(submission.getId(), submission.getUser().getId(),
+                submission.getProblem().getId(), previousStatus, submission.getStatus());
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.dsaassistant.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UserChangedEvent {
+    
+    private final Long userId;
+    
+    private final Change change;
+    
+    public enum Change {
+        UPDATED, DEACTIVATED, DELETED
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.dsaassistant.judge;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// SHA-256 of submitted code after normalizing what none of the supported compilers or interpreters
+// look at: a byte order mark, CRLF or CR line endings and trailing whitespace at the end of the file.
+// Indentation and whitespace inside lines are kept, since they can change what a program does.
+public final class CodeFingerprint {
+    
+    private CodeFingerprint() {
+    }
+    
+    public static String of(String code) {
+        String normalized = code.startsWith("\uFEFF") ? code.substring(1) : code;
+        normalized = normalized.replace("\r\n", "\n").replace('\r', '\n').stripTrailing();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
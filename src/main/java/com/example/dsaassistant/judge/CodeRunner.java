@@ -0,0 +1,13 @@
+package com.example.dsaassistant.judge;
+
+import com.example.dsaassistant.model.ProblemSubmission;
+
+public interface CodeRunner {
+    
+    boolean supports(ProblemSubmission.Language language);
+    
+    PreparedProgram prepare(ProblemSubmission.Language language, String code) throws CompilationException;
+    
+    // Runner and toolchain verdicts for the language are judged with; null when it cannot be determined
+    String version(ProblemSubmission.Language language);
+}
@@ -0,0 +1,10 @@
+package com.example.dsaassistant.judge;
+
+public class CompilationException extends Exception {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public CompilationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.dsaassistant.judge;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Main class of the child JVM that runs every test case of one Java submission; the judge itself never
+// calls it. Only this class file is on the child's class path, and it must stay free of nested classes
+// and of anything outside the JDK. Each command line on stdin names a case's input, output and error
+// files. Main is loaded afresh for every case, so no static state carries over. The reply line on stdout
+// is OK, ERROR or MEMORY, followed by LAST when this JVM exits after the case. Time and memory limits are
+// enforced by the judge, which kills this JVM when one is exceeded.
+public final class JavaCaseHarness {
+    
+    private static final long MAIN_STACK_BYTES = 64L * 1024 * 1024;
+    
+    private static volatile PrintStream caseOut;
+    private static volatile PrintStream caseErr;
+    
+    private JavaCaseHarness() {
+    }
+    
+    public static void main(String[] args) throws IOException, InterruptedException {
+        URL classes = Paths.get(args[0]).toUri().toURL();
+        PrintStream control = new PrintStream(new FileOutputStream(FileDescriptor.out), true, StandardCharsets.UTF_8);
+        BufferedReader commands = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        // A submission that calls System.exit still gets its buffered output written
+        Runtime.getRuntime().addShutdownHook(new Thread(JavaCaseHarness::flushCase));
+        control.println("READY");
+        
+        String command;
+        while ((command = commands.readLine()) != null) {
+            String[] files = command.split("\t", 3);
+            ThreadGroup group = new ThreadGroup("submission");
+            String outcome = runCase(classes, group, Paths.get(files[0]), Paths.get(files[1]), Paths.get(files[2]));
+            // Threads the submission left behind would run on into the next case
+            boolean last = outcome.equals("MEMORY") || group.activeCount() > 0;
+            System.gc();
+            control.println(last ? outcome + " LAST" : outcome);
+            if (last) {
+                Runtime.getRuntime().halt(0);
+            }
+        }
+    }
+    
+    private static String runCase(URL classes, ThreadGroup group, Path input, Path output, Path error)
+            throws IOException, InterruptedException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(input));
+             PrintStream out = new PrintStream(new BufferedOutputStream(Files.newOutputStream(output), 65536),
+                     false, StandardCharsets.UTF_8);
+             PrintStream err = new PrintStream(new BufferedOutputStream(Files.newOutputStream(error)),
+                     true, StandardCharsets.UTF_8);
+             URLClassLoader loader = new URLClassLoader(new URL[]{classes}, ClassLoader.getPlatformClassLoader())) {
+            System.setIn(in);
+            System.setOut(out);
+            System.setErr(err);
+            caseOut = out;
+            caseErr = err;
+            
+            Throwable[] failure = new Throwable[1];
+            Thread main = new Thread(group, () -> failure[0] = invokeMain(loader), "main", MAIN_STACK_BYTES);
+            main.setContextClassLoader(loader);
+            main.start();
+            main.join();
+            awaitNonDaemonThreads(group);
+            
+            if (failure[0] != null) {
+                err.print("Exception in thread \"main\" ");
+                failure[0].printStackTrace(err);
+            }
+            flushCase();
+            caseOut = null;
+            caseErr = null;
+            if (failure[0] instanceof OutOfMemoryError) {
+                return "MEMORY";
+            }
+            return failure[0] == null ? "OK" : "ERROR";
+        }
+    }
+    
+    private static Throwable invokeMain(ClassLoader loader) {
+        try {
+            Method main = loader.loadClass("Main").getMethod("main", String[].class);
+            main.invoke(null, (Object) new String[0]);
+            return null;
+        } catch (InvocationTargetException e) {
+            return e.getCause();
+        } catch (Throwable e) {
+            return e;
+        }
+    }
+    
+    // The JVM would wait for these before exiting, so the case is not over until they finish
+    private static void awaitNonDaemonThreads(ThreadGroup group) throws InterruptedException {
+        boolean waited;
+        do {
+            waited = false;
+            Thread[] threads = new Thread[group.activeCount() + 16];
+            int count = group.enumerate(threads);
+            for (int i = 0; i < count; i++) {
+                if (!threads[i].isDaemon() && threads[i].isAlive()) {
+                    threads[i].join();
+                    waited = true;
+                }
+            }
+        } while (waited);
+    }
+    
+    private static void flushCase() {
+        PrintStream out = caseOut;
+        PrintStream err = caseErr;
+        if (out != null) {
+            out.flush();
+        }
+        if (err != null) {
+            err.flush();
+        }
+    }
+}
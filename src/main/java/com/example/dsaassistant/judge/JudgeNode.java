@@ -0,0 +1,34 @@
+package com.example.dsaassistant.judge;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+// Identity this node writes into the submissions it claims. It has to survive a restart, so it
+// defaults to the host name; nodes sharing a host need an explicit app.judge.node-id each.
+@Component
+public class JudgeNode {
+    
+    @Value("${app.judge.node-id:}")
+    private String configuredId;
+    
+    @Getter
+    private String id;
+    
+    @PostConstruct
+    public void init() {
+        if (configuredId != null && !configuredId.isBlank()) {
+            id = configuredId.trim();
+            return;
+        }
+        try {
+            id = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            id = "judge-" + ProcessHandle.current().pid();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.dsaassistant.judge;
+
+import com.example.dsaassistant.model.ProblemSubmission;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class JudgeResult {
+    
+    private final ProblemSubmission.SubmissionStatus status;
+    
+    private final int testCasesPassed;
+    
+    private final int totalTestCases;
+    
+    private final Long executionTimeMs;
+    
+    private final Double memoryUsedMB;
+    
+    private final String errorMessage;
+    
+    // Test case version the verdict was judged against; null when judging did not get that far
+    private final Long testCaseVersion;
+    
+    // Runner and toolchain the verdict was judged with; null when judging did not get that far
+    private final String judgeVersion;
+    
+    public JudgeResult withJudgeVersion(String version) {
+        return new JudgeResult(status, testCasesPassed, totalTestCases, executionTimeMs, memoryUsedMB, errorMessage,
+                testCaseVersion, version);
+    }
+    
+    public static JudgeResult failed(ProblemSubmission.SubmissionStatus status, int totalTestCases, String errorMessage) {
+        return failed(status, totalTestCases, errorMessage, null);
+    }
+    
+    public static JudgeResult failed(ProblemSubmission.SubmissionStatus status, int totalTestCases, String errorMessage,
+                                     Long testCaseVersion) {
+        return new JudgeResult(status, 0, totalTestCases, null, null, errorMessage, testCaseVersion, null);
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.dsaassistant.judge;
+
+import com.example.dsaassistant.config.WorkerThreads;
+import com.example.dsaassistant.dto.PendingGroup;
+import com.example.dsaassistant.model.ProblemSubmission;
+import com.example.dsaassistant.model.SubmissionTimeline;
+import com.example.dsaassistant.service.ProblemSubmissionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JudgeService {
+    
+    private final ProblemSubmissionService submissionService;
+    private final TestCaseBundleCache bundleCache;
+    private final List<CodeRunner> runners;
+    private final TestCaseEvaluator evaluator;
+    private final JudgeStats stats;
+    private final VerdictWriter verdictWriter;
+    private final SubmissionScheduler scheduler;
+    private final WorkerThreads workerThreads;
+    
+    @Value("${app.judge.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.judge.workers:0}")
+    private int workers;
+    
+    @Value("${app.judge.queue-capacity:64}")
+    private int queueCapacity;
+    
+    @Value("${app.judge.batch-size:16}")
+    private int batchSize;
+    
+    @Value("${app.judge.scheduler.max-pending-groups:1000}")
+    private int maxPendingGroups;
+    
+    @Value("${app.judge.scheduler.max-pending-groups-per-user:1}")
+    private int maxPendingGroupsPerUser;
+    
+    @Value("${app.judge.requeue-running-on-startup:true}")
+    private boolean requeueRunningOnStartup;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private ThreadPoolExecutor executor;
+    private int maxInFlight;
+    
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        // Workers mostly wait on the runner; on virtual threads the pool size still caps concurrent judging
+        int poolSize = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        // The extra slots cover workers that have released their in-flight slot but not yet returned to
+        // the pool, so execute never rejects a claimed submission (and never strands its scheduler slot)
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity + poolSize), workerThreads.factory("judge-worker"));
+        maxInFlight = poolSize + queueCapacity;
+        
+        if (requeueRunningOnStartup) {
+            int requeued = submissionService.requeueRunningSubmissions();
+            if (requeued > 0) {
+                log.info("Requeued {} submissions left RUNNING by a previous run of this node or an expired claim", requeued);
+            }
+        }
+    }
+    
+    // Keeps this node's claims alive while they are judged and requeues those of nodes that went away
+    @Scheduled(fixedDelayString = "${app.judge.claim-renew-interval-ms:60000}")
+    public void maintainClaims() {
+        if (!enabled) {
+            return;
+        }
+        submissionService.renewClaims();
+        int requeued = submissionService.requeueExpiredClaims();
+        if (requeued > 0) {
+            log.info("Requeued {} submissions whose judge claim expired", requeued);
+        }
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+    
+    // Claims only as many submissions as the pool can absorb, so a contest spike stays queued in the database;
+    // the scheduler decides whose submissions those are
+    @Scheduled(fixedDelayString = "${app.judge.poll-interval-ms:200}")
+    public void drainPendingSubmissions() {
+        if (!enabled) {
+            return;
+        }
+        int capacity = maxInFlight - inFlight.get();
+        while (capacity > 0) {
+            long claimStart = System.nanoTime();
+            List<PendingGroup> groups = submissionService.getPendingGroups(maxPendingGroups, maxPendingGroupsPerUser,
+                    scheduler.getActiveContestProblemIds());
+            List<SubmissionScheduler.Pick> picks = scheduler.select(groups, Math.min(batchSize, capacity));
+            if (picks.isEmpty()) {
+                return;
+            }
+            Map<Long, SubmissionScheduler.Pick> unclaimed = new HashMap<>();
+            picks.forEach(pick -> unclaimed.put(pick.getSubmissionId(), pick));
+            List<ProblemSubmission> claimed = submissionService.claimPendingSubmissions(unclaimed.keySet());
+            long claimEnd = System.nanoTime();
+            for (ProblemSubmission submission : claimed) {
+                SubmissionScheduler.Pick pick = unclaimed.remove(submission.getId());
+                JudgeTimeline timeline = JudgeTimeline.claimed(submission, claimStart, claimEnd);
+                scheduler.started(pick);
+                inFlight.incrementAndGet();
+                executor.execute(() -> judgeAndRecord(submission, timeline, claimEnd, pick));
+            }
+            // Taken by another judge node between the select and the claim
+            unclaimed.values().forEach(scheduler::finished);
+            capacity = maxInFlight - inFlight.get();
+        }
+    }
+    
+    public TestCaseBundleCache.Stats getCacheStats() {
+        return bundleCache.getStats();
+    }
+    
+    public VerdictWriter.Stats getWriteBackStats() {
+        return verdictWriter.getStats();
+    }
+    
+    public Map<SubmissionScheduler.PriorityClass, SubmissionScheduler.ClassStats> getSchedulerStats() {
+        return scheduler.getStats();
+    }
+    
+    public JudgeStats.Snapshot getStats() {
+        int poolSize = executor == null ? 0 : executor.getCorePoolSize();
+        int queued = executor == null ? 0 : executor.getQueue().size();
+        return stats.snapshot(inFlight.get(), queued, poolSize);
+    }
+    
+    private void judgeAndRecord(ProblemSubmission submission, JudgeTimeline timeline, long claimEnd,
+                                SubmissionScheduler.Pick pick) {
+        timeline.record(SubmissionTimeline.Stage.DISPATCH, claimEnd, System.nanoTime());
+        try {
+            JudgeResult result;
+            try {
+                result = judge(submission, timeline);
+            } catch (RuntimeException e) {
+                log.error("Judge failure for submission {}", submission.getId(), e);
+                result = JudgeResult.failed(ProblemSubmission.SubmissionStatus.RUNTIME_ERROR, 0,
+                        "Internal judge error: " + e.getMessage());
+            }
+            verdictWriter.submit(submission.getId(), result, timeline);
+            stats.recordVerdict(result.getStatus(), latencyMs(submission));
+        } catch (RuntimeException e) {
+            log.error("Could not queue verdict for submission {}", submission.getId(), e);
+        } finally {
+            inFlight.decrementAndGet();
+            scheduler.finished(pick);
+        }
+    }
+    
+    JudgeResult judge(ProblemSubmission submission, JudgeTimeline timeline) {
+        long loadStart = System.nanoTime();
+        TestCaseBundle bundle = bundleCache.get(submission.getProblem().getId());
+        timeline.record(SubmissionTimeline.Stage.LOAD_TEST_CASES, loadStart, System.nanoTime());
+        // Nothing to judge against; without a version the verdict is never reused once cases are added
+        if (bundle.size() == 0) {
+            return JudgeResult.failed(ProblemSubmission.SubmissionStatus.RUNTIME_ERROR, 0,
+                    "Internal judge error: problem has no test cases");
+        }
+        CodeRunner runner = runners.stream()
+                .filter(candidate -> candidate.supports(submission.getLanguage()))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("No runner for language: " + submission.getLanguage()));
+        
+        long compileStart = System.nanoTime();
+        try (PreparedProgram program = runner.prepare(submission.getLanguage(), submission.getCode())) {
+            timeline.record(SubmissionTimeline.Stage.COMPILE, compileStart, System.nanoTime());
+            return evaluator.evaluate(program, bundle, timeline).withJudgeVersion(runner.version(submission.getLanguage()));
+        } catch (CompilationException e) {
+            timeline.record(SubmissionTimeline.Stage.COMPILE, compileStart, System.nanoTime());
+            return JudgeResult.failed(ProblemSubmission.SubmissionStatus.COMPILATION_ERROR, bundle.size(), e.getMessage(),
+                    bundle.getTestCaseVersion()).withJudgeVersion(runner.version(submission.getLanguage()));
+        }
+    }
+    
+    private long latencyMs(ProblemSubmission submission) {
+        LocalDateTime submittedAt = submission.getSubmittedAt();
+        return submittedAt == null ? 0 : Math.max(0, Duration.between(submittedAt, LocalDateTime.now()).toMillis());
+    }
+}
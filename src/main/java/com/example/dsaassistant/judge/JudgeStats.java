@@ -0,0 +1,81 @@
+package com.example.dsaassistant.judge;
+
+import com.example.dsaassistant.model.ProblemSubmission;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class JudgeStats {
+    
+    private static final int WINDOW_SECONDS = 60;
+    
+    private final LongAdder judged = new LongAdder();
+    private final LongAdder verdictLatencyMs = new LongAdder();
+    private final Map<ProblemSubmission.SubmissionStatus, LongAdder> verdicts = new EnumMap<>(ProblemSubmission.SubmissionStatus.class);
+    
+    // Per-second ring of completed verdicts, used for the sliding-window throughput
+    private final long[] buckets = new long[WINDOW_SECONDS];
+    private final long[] bucketSeconds = new long[WINDOW_SECONDS];
+    
+    public JudgeStats() {
+        for (ProblemSubmission.SubmissionStatus status : ProblemSubmission.SubmissionStatus.values()) {
+            verdicts.put(status, new LongAdder());
+        }
+    }
+    
+    public void recordVerdict(ProblemSubmission.SubmissionStatus status, long latencyMs) {
+        judged.increment();
+        verdictLatencyMs.add(latencyMs);
+        verdicts.get(status).increment();
+        
+        long second = System.currentTimeMillis() / 1000;
+        int slot = (int) (second % WINDOW_SECONDS);
+        synchronized (buckets) {
+            if (bucketSeconds[slot] != second) {
+                bucketSeconds[slot] = second;
+                buckets[slot] = 0;
+            }
+            buckets[slot]++;
+        }
+    }
+    
+    public double submissionsPerSecond() {
+        long now = System.currentTimeMillis() / 1000;
+        long total = 0;
+        synchronized (buckets) {
+            for (int i = 0; i < WINDOW_SECONDS; i++) {
+                // Skip the current, still-filling second so the rate is not under-reported
+                if (bucketSeconds[i] < now && now - bucketSeconds[i] <= WINDOW_SECONDS) {
+                    total += buckets[i];
+                }
+            }
+        }
+        return (double) total / WINDOW_SECONDS;
+    }
+    
+    public Snapshot snapshot(int inFlight, int queued, int workers) {
+        long count = judged.sum();
+        Map<ProblemSubmission.SubmissionStatus, Long> verdictCounts = new EnumMap<>(ProblemSubmission.SubmissionStatus.class);
+        verdicts.forEach((status, adder) -> verdictCounts.put(status, adder.sum()));
+        return new Snapshot(submissionsPerSecond(), count,
+                count == 0 ? 0 : verdictLatencyMs.sum() / count,
+                inFlight, queued, workers, verdictCounts);
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final double submissionsPerSecond;
+        private final long totalJudged;
+        private final long averageVerdictLatencyMs;
+        private final int inFlight;
+        private final int queued;
+        private final int workers;
+        private final Map<ProblemSubmission.SubmissionStatus, Long> verdicts;
+    }
+}
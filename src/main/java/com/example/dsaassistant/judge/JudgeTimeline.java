@@ -0,0 +1,165 @@
+package com.example.dsaassistant.judge;
+
+import com.example.dsaassistant.dto.SubmissionTimelineView;
+import com.example.dsaassistant.model.ProblemSubmission;
+import com.example.dsaassistant.model.SubmissionTimeline;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Stage timings of one submission on its way through the judge. Stages are timed with nanoTime and
+// anchored to the submission time through the wall clock once, when the submission is claimed.
+// Parallel test cases record concurrently, so recording is synchronized.
+//
+// Packed format: per stage a varint stage ordinal, a varint test case index for per-case stages,
+// then varint start offset and duration in microseconds. Only the first MAX_CASE_ENTRIES test cases
+// get entries of their own, which keeps the encoding well inside the stages column; the rest are
+// packed as one entry per stage with case index MAX_CASE_ENTRIES, from their first start and with
+// their durations summed.
+public class JudgeTimeline {
+    
+    private static final int FIELDS = 4;
+    private static final int NO_CASE = -1;
+    static final int MAX_CASE_ENTRIES = 1000;
+    
+    private final Long submissionId;
+    private final Long problemId;
+    private final ProblemSubmission.Language language;
+    private final LocalDateTime submittedAt;
+    private final long originNanos;
+    
+    private long[] events = new long[16 * FIELDS];
+    private int size;
+    
+    private JudgeTimeline(ProblemSubmission submission, long originNanos) {
+        this.submissionId = submission.getId();
+        this.problemId = submission.getProblem().getId();
+        this.language = submission.getLanguage();
+        this.submittedAt = submission.getSubmittedAt();
+        this.originNanos = originNanos;
+    }
+    
+    // Starts the timeline of a submission claimed between claimStartNanos and claimEndNanos
+    public static JudgeTimeline claimed(ProblemSubmission submission, long claimStartNanos, long claimEndNanos) {
+        long queuedNanos = 0;
+        if (submission.getSubmittedAt() != null) {
+            long submittedAtMillis = submission.getSubmittedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            queuedNanos = Math.max(0, TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - submittedAtMillis)
+                    - (System.nanoTime() - claimStartNanos));
+        }
+        JudgeTimeline timeline = new JudgeTimeline(submission, claimStartNanos - queuedNanos);
+        timeline.record(SubmissionTimeline.Stage.QUEUED, timeline.originNanos, claimStartNanos);
+        timeline.record(SubmissionTimeline.Stage.DEQUEUE, claimStartNanos, claimEndNanos);
+        return timeline;
+    }
+    
+    public void record(SubmissionTimeline.Stage stage, long startNanos, long endNanos) {
+        record(stage, NO_CASE, startNanos, endNanos);
+    }
+    
+    public synchronized void record(SubmissionTimeline.Stage stage, int testCase, long startNanos, long endNanos) {
+        if (size + FIELDS > events.length) {
+            events = Arrays.copyOf(events, events.length * 2);
+        }
+        events[size++] = stage.ordinal();
+        events[size++] = testCase;
+        events[size++] = Math.max(0, TimeUnit.NANOSECONDS.toMicros(startNanos - originNanos));
+        events[size++] = Math.max(0, TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos));
+    }
+    
+    public synchronized SubmissionTimeline toEntity() {
+        long[] totals = new long[SubmissionTimeline.Stage.values().length];
+        long endMicros = 0;
+        long[] restStart = new long[totals.length];
+        long[] restDuration = new long[totals.length];
+        Arrays.fill(restStart, -1);
+        ByteArrayOutputStream packed = new ByteArrayOutputStream(size * 3);
+        for (int i = 0; i < size; i += FIELDS) {
+            SubmissionTimeline.Stage stage = SubmissionTimeline.Stage.values()[(int) events[i]];
+            totals[stage.ordinal()] += events[i + 3];
+            endMicros = Math.max(endMicros, events[i + 2] + events[i + 3]);
+            if (stage.isPerTestCase() && events[i + 1] >= MAX_CASE_ENTRIES) {
+                int ordinal = stage.ordinal();
+                restStart[ordinal] = restStart[ordinal] < 0 ? events[i + 2] : Math.min(restStart[ordinal], events[i + 2]);
+                restDuration[ordinal] += events[i + 3];
+                continue;
+            }
+            writeVarint(packed, stage.ordinal());
+            if (stage.isPerTestCase()) {
+                writeVarint(packed, events[i + 1]);
+            }
+            writeVarint(packed, events[i + 2]);
+            writeVarint(packed, events[i + 3]);
+        }
+        for (int ordinal = 0; ordinal < restStart.length; ordinal++) {
+            if (restStart[ordinal] >= 0) {
+                writeVarint(packed, ordinal);
+                writeVarint(packed, MAX_CASE_ENTRIES);
+                writeVarint(packed, restStart[ordinal]);
+                writeVarint(packed, restDuration[ordinal]);
+            }
+        }
+        return new SubmissionTimeline(submissionId, problemId, language, submittedAt,
+                millis(totals, SubmissionTimeline.Stage.QUEUED, SubmissionTimeline.Stage.DEQUEUE, SubmissionTimeline.Stage.DISPATCH),
+                millis(totals, SubmissionTimeline.Stage.LOAD_TEST_CASES),
+                millis(totals, SubmissionTimeline.Stage.COMPILE),
+                millis(totals, SubmissionTimeline.Stage.RUN),
+                millis(totals, SubmissionTimeline.Stage.COMPARE),
+                millis(totals, SubmissionTimeline.Stage.WRITE_QUEUE, SubmissionTimeline.Stage.PERSIST),
+                TimeUnit.MICROSECONDS.toMillis(endMicros),
+                packed.toByteArray());
+    }
+    
+    // Test cases are numbered from 1, as in verdict messages; the entry for the cases past
+    // MAX_CASE_ENTRIES has no number
+    public static List<SubmissionTimelineView.Entry> decode(byte[] packed) {
+        List<SubmissionTimelineView.Entry> entries = new ArrayList<>();
+        int[] position = {0};
+        while (position[0] < packed.length) {
+            SubmissionTimeline.Stage stage = SubmissionTimeline.Stage.values()[(int) readVarint(packed, position)];
+            Integer testCase = null;
+            if (stage.isPerTestCase()) {
+                long index = readVarint(packed, position);
+                testCase = index < MAX_CASE_ENTRIES ? (int) index + 1 : null;
+            }
+            long startMicros = readVarint(packed, position);
+            long durationMicros = readVarint(packed, position);
+            entries.add(new SubmissionTimelineView.Entry(stage, testCase, startMicros / 1000.0, durationMicros / 1000.0));
+        }
+        return entries;
+    }
+    
+    private static long millis(long[] totals, SubmissionTimeline.Stage... stages) {
+        long micros = 0;
+        for (SubmissionTimeline.Stage stage : stages) {
+            micros += totals[stage.ordinal()];
+        }
+        return TimeUnit.MICROSECONDS.toMillis(micros);
+    }
+    
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+    
+    private static long readVarint(byte[] in, int[] position) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = in[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.dsaassistant.judge;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// A compiled Java submission whose test cases run in child JVMs hosting JavaCaseHarness, so the submission
+// pays for one JVM start instead of one per case. Overlapping runs (PARALLEL problems) each get a JVM of
+// their own, and a JVM serves the next case only after finishing the last one cleanly. Time, memory and
+// output limits are enforced from here as for a single run, by killing the JVM.
+@Slf4j
+class JvmWorkerProgram implements PreparedProgram {
+    
+    private static final int MAX_REPLY_LENGTH = 64;
+    
+    private final Path dir;
+    private final Path harnessClassPath;
+    private final int memoryAllowanceMB;
+    private final long maxOutputBytes;
+    private final long startTimeoutMs;
+    private final AtomicInteger runCounter = new AtomicInteger();
+    private final AtomicInteger workerCounter = new AtomicInteger();
+    private final Deque<Worker> idle = new ArrayDeque<>();
+    private boolean closed;
+    
+    JvmWorkerProgram(Path dir, Path harnessClassPath, int memoryAllowanceMB, long maxOutputBytes, long startTimeoutMs) {
+        this.dir = dir;
+        this.harnessClassPath = harnessClassPath;
+        this.memoryAllowanceMB = memoryAllowanceMB;
+        this.maxOutputBytes = maxOutputBytes;
+        this.startTimeoutMs = startTimeoutMs;
+    }
+    
+    @Override
+    public RunResult run(Path input, long timeLimitMs, int memoryLimitMB) {
+        int run = runCounter.incrementAndGet();
+        Path out = dir.resolve("out-" + run + ".txt");
+        Path err = dir.resolve("err-" + run + ".txt");
+        Worker worker = null;
+        boolean reusable = false;
+        try {
+            worker = acquire(memoryLimitMB);
+            Files.write(out, new byte[0]);
+            Files.write(err, new byte[0]);
+            resetPeakMemory(worker.process.pid());
+            long start = System.nanoTime();
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeLimitMs);
+            worker.send(input.toAbsolutePath() + "\t" + out.toAbsolutePath() + "\t" + err.toAbsolutePath());
+            
+            Double peakMemory = null;
+            String reply = null;
+            boolean outputExceeded = false;
+            boolean memoryExceeded = false;
+            while (reply == null && worker.process.isAlive() && System.nanoTime() < deadline) {
+                Double sample = ProcessCodeRunner.peakMemoryMB(worker.process.pid());
+                if (sample != null) {
+                    peakMemory = peakMemory == null ? sample : Math.max(peakMemory, sample);
+                    if (sample > memoryLimitMB + memoryAllowanceMB) {
+                        memoryExceeded = true;
+                        break;
+                    }
+                }
+                if (outputExceeded(out, err)) {
+                    outputExceeded = true;
+                    break;
+                }
+                reply = worker.pollReply();
+                if (reply == null) {
+                    worker.process.waitFor(5, TimeUnit.MILLISECONDS);
+                }
+            }
+            if (reply == null) {
+                // The reply may have arrived together with the JVM's exit
+                reply = worker.pollReply();
+            }
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            
+            if (outputExceeded || outputExceeded(out, err)) {
+                return new RunResult(RunResult.Outcome.OUTPUT_LIMIT_EXCEEDED, out,
+                        "Output limit of " + maxOutputBytes + " bytes exceeded", elapsedMs, peakMemory);
+            }
+            if (memoryExceeded) {
+                return new RunResult(RunResult.Outcome.MEMORY_LIMIT_EXCEEDED, out, null, elapsedMs, peakMemory);
+            }
+            if (reply == null && worker.process.isAlive()) {
+                return new RunResult(RunResult.Outcome.TIME_LIMIT_EXCEEDED, out, null, elapsedMs, peakMemory);
+            }
+            if (peakMemory != null && peakMemory > memoryLimitMB + memoryAllowanceMB) {
+                return new RunResult(RunResult.Outcome.MEMORY_LIMIT_EXCEEDED, out, null, elapsedMs, peakMemory);
+            }
+            if (reply == null) {
+                // The submission ended the JVM itself, through System.exit or a crash
+                return worker.process.exitValue() == 0
+                        ? new RunResult(RunResult.Outcome.OK, out, null, elapsedMs, peakMemory)
+                        : failed(out, err, elapsedMs, peakMemory);
+            }
+            reusable = !reply.endsWith(" LAST");
+            switch (reply.split(" ")[0]) {
+                case "OK":
+                    return new RunResult(RunResult.Outcome.OK, out, null, elapsedMs, peakMemory);
+                case "MEMORY":
+                    return new RunResult(RunResult.Outcome.MEMORY_LIMIT_EXCEEDED, out, null, elapsedMs, peakMemory);
+                case "ERROR":
+                    return failed(out, err, elapsedMs, peakMemory);
+                default:
+                    // Something other than the harness wrote to the reply channel
+                    reusable = false;
+                    return new RunResult(RunResult.Outcome.RUNTIME_ERROR, out, "Unexpected output on the judge channel",
+                            elapsedMs, peakMemory);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running submission", e);
+        } finally {
+            if (worker != null) {
+                if (reusable) {
+                    release(worker);
+                } else {
+                    worker.destroy();
+                }
+            }
+            try {
+                Files.deleteIfExists(err);
+            } catch (IOException e) {
+                log.debug("Could not delete run files in {}", dir, e);
+            }
+        }
+    }
+    
+    private RunResult failed(Path out, Path err, long elapsedMs, Double peakMemory) {
+        String error = ProcessCodeRunner.readTruncated(err);
+        RunResult.Outcome outcome = error.contains("OutOfMemoryError")
+                ? RunResult.Outcome.MEMORY_LIMIT_EXCEEDED
+                : RunResult.Outcome.RUNTIME_ERROR;
+        return new RunResult(outcome, out, error, elapsedMs, peakMemory);
+    }
+    
+    private boolean outputExceeded(Path out, Path err) throws IOException {
+        return Files.size(out) > maxOutputBytes || Files.size(err) > maxOutputBytes;
+    }
+    
+    private Worker acquire(int memoryLimitMB) throws IOException, InterruptedException {
+        synchronized (idle) {
+            Worker worker;
+            while ((worker = idle.poll()) != null) {
+                if (worker.memoryLimitMB == memoryLimitMB && worker.process.isAlive()) {
+                    return worker;
+                }
+                worker.destroy();
+            }
+        }
+        return startWorker(memoryLimitMB);
+    }
+    
+    private void release(Worker worker) {
+        synchronized (idle) {
+            if (!closed) {
+                idle.push(worker);
+                return;
+            }
+        }
+        worker.destroy();
+    }
+    
+    // Waits for the harness to report in, so JVM startup never counts against a case's time limit
+    private Worker startWorker(int memoryLimitMB) throws IOException, InterruptedException {
+        Path log = dir.resolve("worker-" + workerCounter.incrementAndGet() + ".log");
+        Process process = new ProcessBuilder(List.of("java", "-Xmx" + memoryLimitMB + "m", "-Xss64m",
+                "-XX:+UseSerialGC", "-cp", harnessClassPath.toString(), JavaCaseHarness.class.getName(),
+                dir.toAbsolutePath().toString()))
+                .directory(dir.toFile())
+                .redirectError(log.toFile())
+                .start();
+        Worker worker = new Worker(process, memoryLimitMB);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(startTimeoutMs);
+        String reply = null;
+        while (reply == null && process.isAlive() && System.nanoTime() < deadline) {
+            reply = worker.pollReply();
+            if (reply == null) {
+                process.waitFor(5, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (!"READY".equals(reply)) {
+            worker.destroy();
+            throw new IllegalStateException("Java worker JVM did not start: " + ProcessCodeRunner.readTruncated(log));
+        }
+        return worker;
+    }
+    
+    // Peak resident size is per process, so it is reset before each case for the case's own peak.
+    // Kernels without the reset keep the peak of all cases so far, which only errs towards the limit.
+    private static void resetPeakMemory(long pid) {
+        try {
+            Files.writeString(Paths.get("/proc", Long.toString(pid), "clear_refs"), "5");
+        } catch (IOException e) {
+            log.trace("Could not reset the peak memory of process {}", pid, e);
+        }
+    }
+    
+    @Override
+    public void close() {
+        synchronized (idle) {
+            closed = true;
+            idle.forEach(Worker::destroy);
+            idle.clear();
+        }
+        ProcessCodeRunner.deleteRecursively(dir);
+    }
+    
+    private static class Worker {
+        private final Process process;
+        private final int memoryLimitMB;
+        private final InputStream replies;
+        private final OutputStream commands;
+        private final StringBuilder pending = new StringBuilder();
+        
+        Worker(Process process, int memoryLimitMB) {
+            this.process = process;
+            this.memoryLimitMB = memoryLimitMB;
+            this.replies = process.getInputStream();
+            this.commands = process.getOutputStream();
+        }
+        
+        void send(String command) throws IOException {
+            commands.write((command + "\n").getBytes(StandardCharsets.UTF_8));
+            commands.flush();
+        }
+        
+        // Reads whatever has arrived without blocking; returns a line once it is complete
+        String pollReply() throws IOException {
+            while (replies.available() > 0) {
+                int next = replies.read();
+                if (next == '\n') {
+                    String line = pending.toString();
+                    pending.setLength(0);
+                    return line;
+                }
+                pending.append((char) next);
+                // A flood from the submission on the reply channel ends up here; it is never a reply
+                if (pending.length() > MAX_REPLY_LENGTH) {
+                    String line = pending.toString();
+                    pending.setLength(0);
+                    return line;
+                }
+            }
+            return null;
+        }
+        
+        void destroy() {
+            process.destroyForcibly();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.dsaassistant.judge;
+
+import com.example.dsaassistant.model.Problem;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+
+// Compares program output against the expected output through fixed-size buffers, so the memory
+// used per comparison does not depend on how large either output is
+@Component
+public class OutputComparator {
+    
+    private static final int EOF = -1;
+    private static final int MAX_NUMBER_LENGTH = 64;
+    
+    @Value("${app.judge.compare-buffer-chars:8192}")
+    private int bufferChars;
+    
+    public Comparison compare(Reader actual, Reader expected, Problem.ComparisonMode mode, double tolerance) throws IOException {
+        Cursor a = new Cursor(actual, bufferChars);
+        Cursor b = new Cursor(expected, bufferChars);
+        switch (mode == null ? Problem.ComparisonMode.LINES : mode) {
+            case EXACT:
+                return compareExact(a, b);
+            case TOKENS:
+                return compareTokens(a, b, null);
+            case FLOAT_TOLERANCE:
+                return compareTokens(a, b, tolerance);
+            default:
+                return compareLines(a, b);
+        }
+    }
+    
+    private Comparison compareExact(Cursor a, Cursor b) throws IOException {
+        while (true) {
+            int x = a.peek();
+            int y = b.peek();
+            if (x != y) {
+                return mismatch(a, x, y);
+            }
+            if (x == EOF) {
+                return Comparison.MATCH;
+            }
+            a.advance();
+            b.advance();
+        }
+    }
+    
+    // Line by line, ignoring trailing spaces, carriage returns and trailing blank lines
+    private Comparison compareLines(Cursor a, Cursor b) throws IOException {
+        while (true) {
+            int x = a.peek();
+            int y = b.peek();
+            if (isLineSpace(x) || isLineSpace(y)) {
+                while (x == y && isLineSpace(x)) {
+                    a.advance();
+                    b.advance();
+                    x = a.peek();
+                    y = b.peek();
+                }
+                if (x != y) {
+                    long line = a.line;
+                    long column = a.column;
+                    a.skipLineSpace();
+                    b.skipLineSpace();
+                    if (!isLineEnd(a.peek()) || !isLineEnd(b.peek())) {
+                        return new Comparison(false, line, column, "Output differs from expected");
+                    }
+                }
+                continue;
+            }
+            if (x == EOF || y == EOF) {
+                a.skipWhitespace();
+                b.skipWhitespace();
+                return a.peek() == EOF && b.peek() == EOF ? Comparison.MATCH : mismatch(a, a.peek(), b.peek());
+            }
+            if (x != y) {
+                return mismatch(a, x, y);
+            }
+            a.advance();
+            b.advance();
+        }
+    }
+    
+    // Token by token; with a tolerance, numeric tokens match when within absolute or relative error
+    private Comparison compareTokens(Cursor a, Cursor b, Double tolerance) throws IOException {
+        while (true) {
+            a.skipWhitespace();
+            b.skipWhitespace();
+            int x = a.peek();
+            int y = b.peek();
+            if (x == EOF || y == EOF) {
+                return x == y ? Comparison.MATCH : mismatch(a, x, y);
+            }
+            long line = a.line;
+            long column = a.column;
+            if (tolerance != null) {
+                String actualHead = a.readToken(MAX_NUMBER_LENGTH);
+                String expectedHead = b.readToken(MAX_NUMBER_LENGTH);
+                boolean bothComplete = isTokenEnd(a.peek()) && isTokenEnd(b.peek());
+                if (bothComplete && !actualHead.equals(expectedHead)) {
+                    if (numbersMatch(actualHead, expectedHead, tolerance)) {
+                        continue;
+                    }
+                    return new Comparison(false, line, column, "Expected " + expectedHead + " but found " + actualHead);
+                }
+                if (!actualHead.equals(expectedHead)) {
+                    return new Comparison(false, line, column, "Output differs from expected");
+                }
+            }
+            // Compare the (rest of the) token exactly without buffering it
+            while (true) {
+                x = a.peek();
+                y = b.peek();
+                if (isTokenEnd(x) && isTokenEnd(y)) {
+                    break;
+                }
+                if (x != y) {
+                    return mismatch(a, x, y);
+                }
+                a.advance();
+                b.advance();
+            }
+        }
+    }
+    
+    private boolean numbersMatch(String actual, String expected, double tolerance) {
+        try {
+            double x = Double.parseDouble(actual);
+            double y = Double.parseDouble(expected);
+            double difference = Math.abs(x - y);
+            return difference <= tolerance || difference <= tolerance * Math.abs(y);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+    
+    private Comparison mismatch(Cursor a, int actual, int expected) {
+        String detail;
+        if (actual == EOF) {
+            detail = "Output ended early";
+        } else if (expected == EOF) {
+            detail = "Unexpected extra output";
+        } else {
+            detail = "Output differs from expected";
+        }
+        return new Comparison(false, a.line, a.column, detail);
+    }
+    
+    private static boolean isLineSpace(int c) {
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+    
+    private static boolean isLineEnd(int c) {
+        return c == '\n' || c == EOF;
+    }
+    
+    private static boolean isTokenEnd(int c) {
+        return c == EOF || Character.isWhitespace(c);
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class Comparison {
+        static final Comparison MATCH = new Comparison(true, 0, 0, null);
+        
+        private final boolean matches;
+        private final long line;
+        private final long column;
+        private final String detail;
+        
+        public String describe() {
+            return matches ? null : detail + " at line " + line + ", column " + column;
+        }
+    }
+    
+    private static class Cursor {
+        private final Reader reader;
+        private final char[] buffer;
+        private int position;
+        private int limit;
+        private long line = 1;
+        private long column = 1;
+        
+        Cursor(Reader reader, int bufferChars) {
+            this.reader = reader;
+            this.buffer = new char[bufferChars];
+        }
+        
+        int peek() throws IOException {
+            if (position == limit) {
+                int read = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                limit = Math.max(read, 0);
+                if (read <= 0) {
+                    return EOF;
+                }
+            }
+            return buffer[position];
+        }
+        
+        void advance() {
+            if (buffer[position++] == '\n') {
+                line++;
+                column = 1;
+            } else {
+                column++;
+            }
+        }
+        
+        void skipLineSpace() throws IOException {
+            while (isLineSpace(peek())) {
+                advance();
+            }
+        }
+        
+        void skipWhitespace() throws IOException {
+            int c = peek();
+            while (c != EOF && Character.isWhitespace(c)) {
+                advance();
+                c = peek();
+            }
+        }
+        
+        String readToken(int maxLength) throws IOException {
+            StringBuilder token = new StringBuilder();
+            while (token.length() < maxLength && !isTokenEnd(peek())) {
+                token.append((char) peek());
+                advance();
+            }
+            return token.toString();
+        }
+    }
+}
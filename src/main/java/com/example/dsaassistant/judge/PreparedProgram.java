@@ -0,0 +1,12 @@
+package com.example.dsaassistant.judge;
+
+import java.nio.file.Path;
+
+// A compiled (or otherwise ready to start) submission that can be run once per test case
+public interface PreparedProgram extends AutoCloseable {
+    
+    RunResult run(Path input, long timeLimitMs, int memoryLimitMB);
+    
+    @Override
+    void close();
+}
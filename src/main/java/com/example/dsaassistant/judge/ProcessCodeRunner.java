@@ -0,0 +1,356 @@
+package com.example.dsaassistant.judge;
+
+import com.example.dsaassistant.model.ProblemSubmission;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@Slf4j
+public class ProcessCodeRunner implements CodeRunner {
+    
+    private static final int MAX_ERROR_LENGTH = 2000;
+    
+    // The limit caps the heap of the managed runtimes; their resident size also counts the runtime
+    // itself (code cache, metaspace, thread stacks), which the allowance keeps out of the verdict.
+    // Native programs and Python get an address space limit of limit + allowance instead: the JVM and
+    // V8 reserve far more address space than they use, so for them the heap flag is the hard limit.
+    private static final Map<ProblemSubmission.Language, LanguageSpec> SPECS = Map.of(
+            ProblemSubmission.Language.JAVA, new LanguageSpec("Main.java",
+                    List.of("javac", "-encoding", "UTF-8", "Main.java"),
+                    List.of("java", "-Xmx{memory}m", "-Xss64m", "-XX:+UseSerialGC", "-cp", ".", "Main"), 128,
+                    List.of("java", "-version")),
+            ProblemSubmission.Language.PYTHON, new LanguageSpec("main.py",
+                    List.of(),
+                    List.of("prlimit", "--as={memoryBytes}", "python3", "main.py"), 32,
+                    List.of("python3", "--version")),
+            ProblemSubmission.Language.CPP, new LanguageSpec("main.cpp",
+                    List.of("g++", "-O2", "-std=c++17", "-o", "main", "main.cpp"),
+                    List.of("prlimit", "--as={memoryBytes}", "./main"), 16,
+                    List.of("g++", "--version")),
+            ProblemSubmission.Language.JAVASCRIPT, new LanguageSpec("main.js",
+                    List.of(),
+                    List.of("node", "--max-old-space-size={memory}", "main.js"), 64,
+                    List.of("node", "--version")));
+    
+    @Value("${app.judge.work-dir:${java.io.tmpdir}/dsa-judge}")
+    private String workDir;
+    
+    @Value("${app.judge.compile-timeout-seconds:30}")
+    private long compileTimeoutSeconds;
+    
+    @Value("${app.judge.max-output-bytes:67108864}")
+    private long maxOutputBytes;
+    
+    @Value("${app.judge.runner-version:2}")
+    private String runnerVersion;
+    
+    @Value("${app.judge.java.shared-jvm:true}")
+    private boolean sharedJvm;
+    
+    private final Map<ProblemSubmission.Language, Optional<String>> versions = new ConcurrentHashMap<>();
+    
+    private Path harnessClassPath;
+    
+    @Override
+    public boolean supports(ProblemSubmission.Language language) {
+        return SPECS.containsKey(language);
+    }
+    
+    @Override
+    public PreparedProgram prepare(ProblemSubmission.Language language, String code) throws CompilationException {
+        LanguageSpec spec = SPECS.get(language);
+        Path dir = createWorkDir();
+        try {
+            Files.writeString(dir.resolve(spec.sourceFile), code, StandardCharsets.UTF_8);
+            if (!spec.compileCommand.isEmpty()) {
+                compile(dir, spec.compileCommand);
+            }
+            if (language == ProblemSubmission.Language.JAVA && sharedJvm) {
+                return new JvmWorkerProgram(dir, harnessClassPath(), spec.memoryAllowanceMB, maxOutputBytes,
+                        TimeUnit.SECONDS.toMillis(compileTimeoutSeconds));
+            }
+            return new ProcessProgram(dir, spec.runCommand, spec.memoryAllowanceMB, maxOutputBytes);
+        } catch (IOException e) {
+            deleteRecursively(dir);
+            throw new UncheckedIOException(e);
+        } catch (CompilationException | RuntimeException e) {
+            deleteRecursively(dir);
+            throw e;
+        }
+    }
+    
+    // The runner version plus the first line the toolchain prints about itself, probed once per language
+    @Override
+    public String version(ProblemSubmission.Language language) {
+        LanguageSpec spec = SPECS.get(language);
+        if (spec == null) {
+            return null;
+        }
+        return versions.computeIfAbsent(language, key -> Optional.ofNullable(probeToolchain(spec.versionCommand))
+                .map(toolchain -> runnerVersion + "/" + toolchain)
+                .map(version -> version.length() > 128 ? version.substring(0, 128) : version)).orElse(null);
+    }
+    
+    private String probeToolchain(List<String> command) {
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            String output;
+            try (InputStream in = process.getInputStream()) {
+                output = new String(in.readNBytes(4096), StandardCharsets.UTF_8);
+            }
+            if (!process.waitFor(compileTimeoutSeconds, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return null;
+            }
+            if (process.exitValue() != 0) {
+                return null;
+            }
+            return output.lines().map(String::trim).filter(line -> !line.isEmpty()).findFirst().orElse(null);
+        } catch (IOException e) {
+            log.warn("Could not determine toolchain version with {}", command, e);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+    
+    private void compile(Path dir, List<String> command) throws CompilationException, IOException {
+        Path log = dir.resolve("compile.log");
+        Process process = new ProcessBuilder(command)
+                .directory(dir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            if (!process.waitFor(compileTimeoutSeconds, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new CompilationException("Compilation timed out after " + compileTimeoutSeconds + "s");
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new CompilationException("Compilation interrupted");
+        }
+        if (process.exitValue() != 0) {
+            throw new CompilationException(readTruncated(log));
+        }
+    }
+    
+    // The harness class file, copied out of the judge's own class path so child JVMs can load it on its own
+    private synchronized Path harnessClassPath() throws IOException {
+        if (harnessClassPath == null) {
+            Path root = Files.createTempDirectory(Files.createDirectories(Paths.get(workDir)), "harness-");
+            String resource = JavaCaseHarness.class.getName().replace('.', '/') + ".class";
+            Path target = root.resolve(resource);
+            Files.createDirectories(target.getParent());
+            try (InputStream in = JavaCaseHarness.class.getClassLoader().getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IOException("Class file " + resource + " not found");
+                }
+                Files.copy(in, target);
+            }
+            harnessClassPath = root;
+        }
+        return harnessClassPath;
+    }
+    
+    @PreDestroy
+    public synchronized void stop() {
+        if (harnessClassPath != null) {
+            deleteRecursively(harnessClassPath);
+        }
+    }
+    
+    private Path createWorkDir() {
+        try {
+            Path root = Paths.get(workDir);
+            Files.createDirectories(root);
+            return Files.createTempDirectory(root, "submission-");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    // Reads only the head of the file; a program can leave an arbitrarily large stderr or compile log behind
+    static String readTruncated(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return new String(in.readNBytes(MAX_ERROR_LENGTH), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return "";
+        }
+    }
+    
+    static void deleteRecursively(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            log.warn("Could not clean up judge work dir {}", dir, e);
+        }
+    }
+    
+    // Peak resident set size of a running process, read from procfs where available
+    static Double peakMemoryMB(long pid) {
+        Path status = Paths.get("/proc", Long.toString(pid), "status");
+        try (Stream<String> lines = Files.lines(status)) {
+            return lines.filter(line -> line.startsWith("VmHWM:"))
+                    .findFirst()
+                    .map(line -> Long.parseLong(line.replaceAll("[^0-9]", "")) / 1024.0)
+                    .orElse(null);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+    
+    private static class LanguageSpec {
+        private final String sourceFile;
+        private final List<String> compileCommand;
+        private final List<String> runCommand;
+        private final int memoryAllowanceMB;
+        private final List<String> versionCommand;
+        
+        LanguageSpec(String sourceFile, List<String> compileCommand, List<String> runCommand, int memoryAllowanceMB,
+                     List<String> versionCommand) {
+            this.sourceFile = sourceFile;
+            this.compileCommand = compileCommand;
+            this.runCommand = runCommand;
+            this.memoryAllowanceMB = memoryAllowanceMB;
+            this.versionCommand = versionCommand;
+        }
+    }
+    
+    private static class ProcessProgram implements PreparedProgram {
+        private final Path dir;
+        private final List<String> runCommand;
+        private final int memoryAllowanceMB;
+        private final long maxOutputBytes;
+        private final AtomicInteger runCounter = new AtomicInteger();
+        
+        ProcessProgram(Path dir, List<String> runCommand, int memoryAllowanceMB, long maxOutputBytes) {
+            this.dir = dir;
+            this.runCommand = runCommand;
+            this.memoryAllowanceMB = memoryAllowanceMB;
+            this.maxOutputBytes = maxOutputBytes;
+        }
+        
+        @Override
+        public RunResult run(Path input, long timeLimitMs, int memoryLimitMB) {
+            int run = runCounter.incrementAndGet();
+            Path out = dir.resolve("out-" + run + ".txt");
+            Path err = dir.resolve("err-" + run + ".txt");
+            long memoryBytes = (memoryLimitMB + memoryAllowanceMB) * 1024L * 1024L;
+            List<String> command = runCommand.stream()
+                    .map(part -> part.replace("{memory}", Integer.toString(memoryLimitMB))
+                            .replace("{memoryBytes}", Long.toString(memoryBytes)))
+                    .toList();
+            Process process = null;
+            try {
+                long start = System.nanoTime();
+                long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeLimitMs);
+                process = new ProcessBuilder(command)
+                        .directory(dir.toFile())
+                        .redirectInput(input.toFile())
+                        .redirectOutput(out.toFile())
+                        .redirectError(err.toFile())
+                        .start();
+                
+                // Both output files and the resident size are checked on every poll, so a runaway writer
+                // or allocator is stopped a few milliseconds past its limit rather than when the disk is
+                // full or the host runs out of memory
+                Double peakMemory = null;
+                boolean finished = false;
+                boolean outputExceeded = false;
+                boolean memoryExceeded = false;
+                while (!finished && System.nanoTime() < deadline) {
+                    Double sample = peakMemoryMB(process.pid());
+                    if (sample != null) {
+                        peakMemory = peakMemory == null ? sample : Math.max(peakMemory, sample);
+                        if (sample > memoryLimitMB + memoryAllowanceMB) {
+                            memoryExceeded = true;
+                            break;
+                        }
+                    }
+                    if (outputExceeded(out, err)) {
+                        outputExceeded = true;
+                        break;
+                    }
+                    finished = process.waitFor(5, TimeUnit.MILLISECONDS);
+                }
+                long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                
+                if (outputExceeded || outputExceeded(out, err)) {
+                    process.destroyForcibly().waitFor();
+                    return new RunResult(RunResult.Outcome.OUTPUT_LIMIT_EXCEEDED, out,
+                            "Output limit of " + maxOutputBytes + " bytes exceeded", elapsedMs, peakMemory);
+                }
+                if (memoryExceeded) {
+                    process.destroyForcibly().waitFor();
+                    return new RunResult(RunResult.Outcome.MEMORY_LIMIT_EXCEEDED, out, null, elapsedMs, peakMemory);
+                }
+                if (!finished) {
+                    process.destroyForcibly().waitFor();
+                    return new RunResult(RunResult.Outcome.TIME_LIMIT_EXCEEDED, out, null, elapsedMs, peakMemory);
+                }
+                if (peakMemory != null && peakMemory > memoryLimitMB + memoryAllowanceMB) {
+                    return new RunResult(RunResult.Outcome.MEMORY_LIMIT_EXCEEDED, out, null, elapsedMs, peakMemory);
+                }
+                if (process.exitValue() != 0) {
+                    String error = readTruncated(err);
+                    RunResult.Outcome outcome = error.contains("OutOfMemoryError") || error.contains("MemoryError")
+                            || error.contains("bad_alloc")
+                            ? RunResult.Outcome.MEMORY_LIMIT_EXCEEDED
+                            : RunResult.Outcome.RUNTIME_ERROR;
+                    return new RunResult(outcome, out, error, elapsedMs, peakMemory);
+                }
+                return new RunResult(RunResult.Outcome.OK, out, null, elapsedMs, peakMemory);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while running submission", e);
+            } finally {
+                if (process != null && process.isAlive()) {
+                    process.destroyForcibly();
+                }
+                try {
+                    Files.deleteIfExists(err);
+                } catch (IOException e) {
+                    log.debug("Could not delete run files in {}", dir, e);
+                }
+            }
+        }
+        
+        private boolean outputExceeded(Path out, Path err) throws IOException {
+            return Files.size(out) > maxOutputBytes || Files.size(err) > maxOutputBytes;
+        }
+        
+        @Override
+        public void close() {
+            deleteRecursively(dir);
+        }
+    }
+}
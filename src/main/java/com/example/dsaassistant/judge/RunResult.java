@@ -0,0 +1,26 @@
+package com.example.dsaassistant.judge;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+@Getter
+@AllArgsConstructor
+public class RunResult {
+    
+    private final Outcome outcome;
+    
+    // Program stdout is spooled to a file so large outputs never sit on the heap
+    private final Path output;
+    
+    private final String error;
+    
+    private final long timeMs;
+    
+    private final Double memoryUsedMB;
+    
+    public enum Outcome {
+        OK, TIME_LIMIT_EXCEEDED, MEMORY_LIMIT_EXCEEDED, OUTPUT_LIMIT_EXCEEDED, RUNTIME_ERROR
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.dsaassistant.judge;
+
+import com.example.dsaassistant.dto.PendingGroup;
+import com.example.dsaassistant.event.ContestChangedEvent;
+import com.example.dsaassistant.model.Contest;
+import com.example.dsaassistant.model.User;
+import com.example.dsaassistant.repository.ContestRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Decides which pending submissions the judge claims next. Priority classes share the judge by weight
+// and the users inside a class share their class's part equally, both by start-time fair queueing: a
+// flow that went idle rejoins at the current virtual time instead of cashing in saved-up credit. A cap
+// on each user's claimed-but-unfinished submissions keeps one user from filling the worker queue.
+@Component
+@RequiredArgsConstructor
+public class SubmissionScheduler {
+    
+    private final ContestRepository contestRepository;
+    private final MeterRegistry registry;
+    
+    @Value("${app.judge.scheduler.contest-weight:8}")
+    private int contestWeight;
+    
+    @Value("${app.judge.scheduler.staff-weight:4}")
+    private int staffWeight;
+    
+    @Value("${app.judge.scheduler.practice-weight:1}")
+    private int practiceWeight;
+    
+    @Value("${app.judge.scheduler.max-in-flight-per-user:4}")
+    private int maxInFlightPerUser;
+    
+    private final Map<PriorityClass, ClassQueue> queues = new EnumMap<>(PriorityClass.class);
+    private final Map<Long, Integer> inFlightByUser = new HashMap<>();
+    private double virtualTime;
+    
+    private volatile List<ContestWindow> contests = List.of();
+    
+    @PostConstruct
+    public void init() {
+        for (PriorityClass priorityClass : PriorityClass.values()) {
+            ClassQueue queue = new ClassQueue(priorityClass, Math.max(1, weightOf(priorityClass)));
+            Tags tags = Tags.of("class", priorityClass.name().toLowerCase());
+            Gauge.builder("app.judge.queue.depth", queue, q -> q.depth).tags(tags).register(registry);
+            Gauge.builder("app.judge.queue.users", queue, q -> q.waitingUsers).tags(tags).register(registry);
+            Gauge.builder("app.judge.queue.in-flight", queue, q -> q.inFlight.get()).tags(tags).register(registry);
+            queue.waitTimer = Timer.builder("app.judge.queue.wait").tags(tags).register(registry);
+            queues.put(priorityClass, queue);
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadContests() {
+        List<ContestWindow> windows = new ArrayList<>();
+        for (Contest contest : contestRepository.findAll()) {
+            if (contest.getProblemIds() != null && !contest.getProblemIds().isEmpty()) {
+                windows.add(new ContestWindow(contest.getStartTime(), contest.getEndTime(), Set.copyOf(contest.getProblemIds())));
+            }
+        }
+        contests = List.copyOf(windows);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContestChanged(ContestChangedEvent event) {
+        loadContests();
+    }
+    
+    // Problems of the contests running now, whose pending groups are read apart from the rest
+    public Set<Long> getActiveContestProblemIds() {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> problemIds = new HashSet<>();
+        for (ContestWindow contest : contests) {
+            if (!now.isBefore(contest.start) && now.isBefore(contest.end)) {
+                problemIds.addAll(contest.problemIds);
+            }
+        }
+        return problemIds;
+    }
+    
+    // Picks up to `limit` submissions, at most one per (class, user) flow: only each flow's oldest
+    // submission is known here, and the next drain pass sees the flow's new head
+    public synchronized List<Pick> select(List<PendingGroup> groups, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<PriorityClass, Map<Long, Flow>> flows = new EnumMap<>(PriorityClass.class);
+        for (PendingGroup group : groups) {
+            PriorityClass priorityClass = classify(group, now);
+            flows.computeIfAbsent(priorityClass, k -> new HashMap<>())
+                    .computeIfAbsent(group.userId(), Flow::new)
+                    .add(group);
+        }
+        for (ClassQueue queue : queues.values()) {
+            Map<Long, Flow> classFlows = flows.getOrDefault(queue.priorityClass, Map.of());
+            queue.depth = classFlows.values().stream().mapToLong(flow -> flow.pending).sum();
+            queue.waitingUsers = classFlows.size();
+        }
+        
+        List<Pick> picks = new ArrayList<>();
+        while (picks.size() < limit) {
+            ClassQueue chosen = null;
+            Flow chosenFlow = null;
+            for (ClassQueue queue : queues.values()) {
+                Flow flow = queue.next(flows.get(queue.priorityClass));
+                if (flow != null && (chosen == null || queue.start(virtualTime) < chosen.start(virtualTime))) {
+                    chosen = queue;
+                    chosenFlow = flow;
+                }
+            }
+            if (chosen == null) {
+                break;
+            }
+            virtualTime = chosen.start(virtualTime);
+            chosen.finish = virtualTime + 1.0 / chosen.weight;
+            chosen.charge(chosenFlow.userId);
+            flows.get(chosen.priorityClass).remove(chosenFlow.userId);
+            
+            inFlightByUser.merge(chosenFlow.userId, 1, Integer::sum);
+            chosen.inFlight.incrementAndGet();
+            picks.add(new Pick(chosenFlow.headId, chosenFlow.userId, chosen.priorityClass, chosenFlow.headSubmittedAt));
+        }
+        queues.values().forEach(ClassQueue::prune);
+        return picks;
+    }
+    
+    // The pick was claimed and handed to a worker
+    public synchronized void started(Pick pick) {
+        ClassQueue queue = queues.get(pick.getPriorityClass());
+        LocalDateTime submittedAt = pick.getSubmittedAt();
+        long waitMs = submittedAt == null ? 0 : Math.max(0, Duration.between(submittedAt, LocalDateTime.now()).toMillis());
+        queue.waitTimer.record(waitMs, TimeUnit.MILLISECONDS);
+    }
+    
+    // The pick was judged, or was never claimed because another judge node took it first
+    public synchronized void finished(Pick pick) {
+        inFlightByUser.computeIfPresent(pick.getUserId(), (userId, count) -> count > 1 ? count - 1 : null);
+        queues.get(pick.getPriorityClass()).inFlight.decrementAndGet();
+    }
+    
+    public Map<PriorityClass, ClassStats> getStats() {
+        Map<PriorityClass, ClassStats> stats = new EnumMap<>(PriorityClass.class);
+        for (ClassQueue queue : queues.values()) {
+            Timer wait = queue.waitTimer;
+            stats.put(queue.priorityClass, new ClassStats(queue.weight, queue.depth, queue.waitingUsers,
+                    queue.inFlight.get(), wait.count(), (long) wait.mean(TimeUnit.MILLISECONDS),
+                    (long) wait.max(TimeUnit.MILLISECONDS)));
+        }
+        return stats;
+    }
+    
+    // Staff first, so an instructor checking a contest problem does not count as a contestant
+    PriorityClass classify(PendingGroup group, LocalDateTime now) {
+        if (group.role() == User.Role.ADMIN || group.role() == User.Role.INSTRUCTOR) {
+            return PriorityClass.STAFF;
+        }
+        for (ContestWindow contest : contests) {
+            if (!now.isBefore(contest.start) && now.isBefore(contest.end) && contest.problemIds.contains(group.problemId())) {
+                return PriorityClass.CONTEST;
+            }
+        }
+        return PriorityClass.PRACTICE;
+    }
+    
+    private int weightOf(PriorityClass priorityClass) {
+        switch (priorityClass) {
+            case CONTEST:
+                return contestWeight;
+            case STAFF:
+                return staffWeight;
+            default:
+                return practiceWeight;
+        }
+    }
+    
+    private boolean underCap(Long userId) {
+        return maxInFlightPerUser <= 0 || inFlightByUser.getOrDefault(userId, 0) < maxInFlightPerUser;
+    }
+    
+    public enum PriorityClass {
+        CONTEST, STAFF, PRACTICE
+    }
+    
+    private class ClassQueue {
+        private final PriorityClass priorityClass;
+        private final int weight;
+        private final Map<Long, Double> userFinish = new HashMap<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private double finish;
+        private double classVirtualTime;
+        private Timer waitTimer;
+        private volatile long depth;
+        private volatile int waitingUsers;
+        
+        ClassQueue(PriorityClass priorityClass, int weight) {
+            this.priorityClass = priorityClass;
+            this.weight = weight;
+        }
+        
+        double start(double globalVirtualTime) {
+            return Math.max(finish, globalVirtualTime);
+        }
+        
+        // The eligible user with the smallest start tag; ties go to the older head submission
+        Flow next(Map<Long, Flow> flows) {
+            if (flows == null) {
+                return null;
+            }
+            Flow best = null;
+            double bestStart = 0;
+            for (Flow flow : flows.values()) {
+                if (!underCap(flow.userId)) {
+                    continue;
+                }
+                double start = userStart(flow.userId);
+                if (best == null || start < bestStart || (start == bestStart && flow.headId < best.headId)) {
+                    best = flow;
+                    bestStart = start;
+                }
+            }
+            return best;
+        }
+        
+        void charge(Long userId) {
+            classVirtualTime = userStart(userId);
+            userFinish.put(userId, classVirtualTime + 1);
+        }
+        
+        // Users at or behind the virtual time would start from it anyway, so their tags can go
+        void prune() {
+            userFinish.values().removeIf(userFinishTag -> userFinishTag <= classVirtualTime);
+        }
+        
+        private double userStart(Long userId) {
+            return Math.max(userFinish.getOrDefault(userId, 0.0), classVirtualTime);
+        }
+    }
+    
+    private static class Flow {
+        private final Long userId;
+        private long pending;
+        private Long headId;
+        private LocalDateTime headSubmittedAt;
+        
+        Flow(Long userId) {
+            this.userId = userId;
+        }
+        
+        void add(PendingGroup group) {
+            pending += group.pending();
+            if (headId == null || group.oldestId() < headId) {
+                headId = group.oldestId();
+                headSubmittedAt = group.oldestSubmittedAt();
+            }
+        }
+    }
+    
+    @AllArgsConstructor
+    private static class ContestWindow {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final Set<Long> problemIds;
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class Pick {
+        private final Long submissionId;
+        private final Long userId;
+        private final PriorityClass priorityClass;
+        private final LocalDateTime submittedAt;
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class ClassStats {
+        private final int weight;
+        private final long depth;
+        private final int waitingUsers;
+        private final int inFlight;
+        private final long claimed;
+        private final long averageWaitMs;
+        private final long maxWaitMs;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.dsaassistant.judge;
+
+import com.example.dsaassistant.model.Problem;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.List;
+
+// Immutable, judge-ready view of a problem's limits and ordered test cases
+@Getter
+@AllArgsConstructor
+public class TestCaseBundle {
+    
+    private final Long problemId;
+    
+    // Version read together with the limits, before the cases; the cases are never older than this
+    private final Long testCaseVersion;
+    
+    private final long timeLimitMs;
+    
+    private final int memoryLimitMB;
+    
+    private final Problem.EvaluationStrategy evaluationStrategy;
+    
+    private final Problem.ComparisonMode comparisonMode;
+    
+    private final double floatTolerance;
+    
+    private final List<Case> cases;
+    
+    // Index of the first hidden case; visible cases always come first
+    private final int hiddenStart;
+    
+    private final long weightBytes;
+    
+    public int size() {
+        return cases.size();
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class Case {
+        private final Long testCaseId;
+        private final boolean hidden;
+        private final Path input;
+        private final String expectedOutputHash;
+        // Small expected outputs are kept in memory; larger ones are read through the blob store
+        private final byte[] expectedOutput;
+    }
+}
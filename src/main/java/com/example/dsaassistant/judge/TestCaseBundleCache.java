@@ -0,0 +1,228 @@
+package com.example.dsaassistant.judge;
+
+import com.example.dsaassistant.event.ProblemChangedEvent;
+import com.example.dsaassistant.model.Problem;
+import com.example.dsaassistant.model.TestCase;
+import com.example.dsaassistant.service.ProblemService;
+import com.example.dsaassistant.service.TestCaseService;
+import com.example.dsaassistant.storage.TestCaseBlobStore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Byte-bounded LRU of judge-ready test case bundles keyed by problem id. Concurrent misses for the
+// same problem share a single load, and a change to the problem invalidates its entry after commit.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TestCaseBundleCache {
+    
+    private static final long CASE_OVERHEAD_BYTES = 256;
+    private static final double DEFAULT_FLOAT_TOLERANCE = 1e-6;
+    
+    // Visible cases first: they are cheap and fail most often, so they gate the parallel fan-out
+    private static final Comparator<TestCase> CASE_ORDER = Comparator
+            .comparing((TestCase testCase) -> Boolean.TRUE.equals(testCase.getIsHidden()))
+            .thenComparing(TestCase::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+    
+    private final ProblemService problemService;
+    private final TestCaseService testCaseService;
+    private final TestCaseBlobStore blobStore;
+    
+    @Value("${app.judge.bundle-cache.max-bytes:67108864}")
+    private long maxBytes;
+    
+    @Value("${app.judge.bundle-cache.inline-output-bytes:65536}")
+    private long inlineOutputBytes;
+    
+    @Value("${app.judge.bundle-cache.prewarm:true}")
+    private boolean prewarm;
+    
+    private final LinkedHashMap<Long, TestCaseBundle> bundles = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, FutureTask<TestCaseBundle>> loading = new HashMap<>();
+    private final Map<Long, Long> generations = new HashMap<>();
+    private long currentBytes;
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    public TestCaseBundle get(Long problemId) {
+        FutureTask<TestCaseBundle> load;
+        long generation;
+        boolean owner = false;
+        synchronized (this) {
+            TestCaseBundle cached = bundles.get(problemId);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            misses.incrementAndGet();
+            generation = generations.getOrDefault(problemId, 0L);
+            load = loading.get(problemId);
+            if (load == null) {
+                load = new FutureTask<>(() -> load(problemId));
+                loading.put(problemId, load);
+                owner = true;
+            }
+        }
+        
+        if (owner) {
+            load.run();
+        }
+        try {
+            TestCaseBundle bundle = load.get();
+            if (owner) {
+                put(problemId, bundle, generation);
+            }
+            return bundle;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading test cases for problem " + problemId, e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new RuntimeException(e.getCause());
+        } finally {
+            if (owner) {
+                synchronized (this) {
+                    loading.remove(problemId);
+                }
+            }
+        }
+    }
+    
+    public synchronized void invalidate(Long problemId) {
+        generations.merge(problemId, 1L, Long::sum);
+        TestCaseBundle removed = bundles.remove(problemId);
+        if (removed != null) {
+            currentBytes -= removed.getWeightBytes();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProblemChanged(ProblemChangedEvent event) {
+        invalidate(event.getProblemId());
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarm() {
+        if (!prewarm) {
+            return;
+        }
+        int warmed = 0;
+        for (Problem problem : problemService.getActiveProblems()) {
+            synchronized (this) {
+                if (currentBytes >= maxBytes) {
+                    break;
+                }
+            }
+            try {
+                get(problem.getId());
+                warmed++;
+            } catch (RuntimeException e) {
+                log.warn("Could not prewarm test cases for problem {}", problem.getId(), e);
+            }
+        }
+        log.info("Prewarmed test case bundles for {} active problems", warmed);
+    }
+    
+    public Stats getStats() {
+        synchronized (this) {
+            return new Stats(bundles.size(), currentBytes, maxBytes, hits.get(), misses.get(), evictions.get());
+        }
+    }
+    
+    private synchronized void put(Long problemId, TestCaseBundle bundle, long generation) {
+        // Skip the insert if the problem changed while the bundle was loading
+        if (generations.getOrDefault(problemId, 0L) != generation || bundle.getWeightBytes() > maxBytes) {
+            return;
+        }
+        TestCaseBundle previous = bundles.put(problemId, bundle);
+        if (previous != null) {
+            currentBytes -= previous.getWeightBytes();
+        }
+        currentBytes += bundle.getWeightBytes();
+        Iterator<Map.Entry<Long, TestCaseBundle>> eldest = bundles.entrySet().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Long, TestCaseBundle> entry = eldest.next();
+            if (entry.getKey().equals(problemId)) {
+                continue;
+            }
+            currentBytes -= entry.getValue().getWeightBytes();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+    
+    private TestCaseBundle load(Long problemId) {
+        Problem problem = problemService.getProblemById(problemId)
+                .orElseThrow(() -> new RuntimeException("Problem not found with id: " + problemId));
+        List<TestCase> testCases = new ArrayList<>(testCaseService.getTestCasesByProblem(problem));
+        testCases.sort(CASE_ORDER);
+        
+        List<TestCaseBundle.Case> cases = new ArrayList<>(testCases.size());
+        int hiddenStart = 0;
+        long weight = 0;
+        for (TestCase testCase : testCases) {
+            boolean hidden = Boolean.TRUE.equals(testCase.getIsHidden());
+            if (!hidden) {
+                hiddenStart++;
+            }
+            byte[] expectedOutput = null;
+            if (testCase.getExpectedOutputSize() != null && testCase.getExpectedOutputSize() <= inlineOutputBytes) {
+                expectedOutput = readBlob(testCase.getExpectedOutputHash());
+                weight += expectedOutput.length;
+            }
+            weight += CASE_OVERHEAD_BYTES;
+            cases.add(new TestCaseBundle.Case(testCase.getId(), hidden, blobStore.pathOf(testCase.getInputHash()),
+                    testCase.getExpectedOutputHash(), expectedOutput));
+        }
+        
+        return new TestCaseBundle(problemId,
+                problem.getTestCaseVersion(),
+                problem.getTimeLimitSeconds() * 1000L,
+                problem.getMemoryLimitMB(),
+                problem.getEvaluationStrategy(),
+                problem.getComparisonMode(),
+                problem.getFloatTolerance() == null ? DEFAULT_FLOAT_TOLERANCE : problem.getFloatTolerance(),
+                List.copyOf(cases), hiddenStart, weight);
+    }
+    
+    private byte[] readBlob(String hash) {
+        try {
+            return Files.readAllBytes(blobStore.pathOf(hash));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final int bundles;
+        private final long bytes;
+        private final long maxBytes;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+    }
+}
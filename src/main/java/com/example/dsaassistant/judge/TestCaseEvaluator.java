@@ -0,0 +1,230 @@
+package com.example.dsaassistant.judge;
+
+import com.example.dsaassistant.config.WorkerThreads;
+import com.example.dsaassistant.model.Problem;
+import com.example.dsaassistant.model.ProblemSubmission;
+import com.example.dsaassistant.model.SubmissionTimeline;
+import com.example.dsaassistant.storage.TestCaseBlobStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs a prepared program against a problem's test cases. Both strategies stop at the first failing
+// case in case order, so testCasesPassed always means "cases passed before the first failure".
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TestCaseEvaluator {
+    
+    private final OutputComparator comparator;
+    private final TestCaseBlobStore blobStore;
+    private final WorkerThreads workerThreads;
+    
+    @Value("${app.judge.case-workers:0}")
+    private int caseWorkers;
+    
+    @Value("${app.judge.parallel-min-cases:4}")
+    private int parallelMinCases;
+    
+    private ExecutorService caseExecutor;
+    
+    @PostConstruct
+    public void start() {
+        int poolSize = caseWorkers > 0 ? caseWorkers : Runtime.getRuntime().availableProcessors();
+        caseExecutor = Executors.newFixedThreadPool(poolSize, workerThreads.factory("judge-case"));
+    }
+    
+    @PreDestroy
+    public void stop() {
+        caseExecutor.shutdownNow();
+    }
+    
+    public JudgeResult evaluate(PreparedProgram program, TestCaseBundle bundle, JudgeTimeline timeline) {
+        List<TestCaseBundle.Case> cases = bundle.getCases();
+        int total = cases.size();
+        int hiddenStart = bundle.getHiddenStart();
+        CaseOutcome[] outcomes = new CaseOutcome[total];
+        
+        int firstFailure;
+        if (bundle.getEvaluationStrategy() == Problem.EvaluationStrategy.PARALLEL
+                && total - hiddenStart >= parallelMinCases) {
+            firstFailure = runSequential(program, bundle, 0, hiddenStart, outcomes, timeline);
+            if (firstFailure == hiddenStart) {
+                firstFailure = runParallel(program, bundle, hiddenStart, total, outcomes, timeline);
+            }
+        } else {
+            firstFailure = runSequential(program, bundle, 0, total, outcomes, timeline);
+        }
+        return summarize(outcomes, firstFailure, total, bundle.getTestCaseVersion());
+    }
+    
+    private int runSequential(PreparedProgram program, TestCaseBundle bundle, int from, int to,
+                              CaseOutcome[] outcomes, JudgeTimeline timeline) {
+        for (int i = from; i < to; i++) {
+            outcomes[i] = runCase(program, bundle, i, timeline);
+            if (outcomes[i].status != ProblemSubmission.SubmissionStatus.ACCEPTED) {
+                return i;
+            }
+        }
+        return to;
+    }
+    
+    // Cases after the earliest known failure are cancelled; earlier ones still run to completion,
+    // since one of them may turn out to be the real first failure
+    private int runParallel(PreparedProgram program, TestCaseBundle bundle, int from, int to,
+                            CaseOutcome[] outcomes, JudgeTimeline timeline) {
+        AtomicInteger firstFailure = new AtomicInteger(to);
+        List<FutureTask<Void>> tasks = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            int index = i;
+            tasks.add(new FutureTask<>(() -> {
+                if (index > firstFailure.get()) {
+                    return null;
+                }
+                CaseOutcome outcome = runCase(program, bundle, index, timeline);
+                outcomes[index] = outcome;
+                if (outcome.status != ProblemSubmission.SubmissionStatus.ACCEPTED) {
+                    int failure = firstFailure.accumulateAndGet(index, Math::min);
+                    cancelAfter(tasks, failure - from);
+                }
+                return null;
+            }));
+        }
+        tasks.forEach(caseExecutor::execute);
+        
+        try {
+            for (int i = from; i < to && i <= firstFailure.get(); i++) {
+                try {
+                    tasks.get(i - from).get();
+                } catch (CancellationException e) {
+                    // Cancelled because an earlier case already failed
+                }
+            }
+        } catch (ExecutionException e) {
+            cancelAfter(tasks, -1);
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            cancelAfter(tasks, -1);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evaluating test cases", e);
+        }
+        return firstFailure.get();
+    }
+    
+    private void cancelAfter(List<FutureTask<Void>> tasks, int index) {
+        for (int j = index + 1; j < tasks.size(); j++) {
+            tasks.get(j).cancel(true);
+        }
+    }
+    
+    private CaseOutcome runCase(PreparedProgram program, TestCaseBundle bundle, int index, JudgeTimeline timeline) {
+        TestCaseBundle.Case testCase = bundle.getCases().get(index);
+        long runStart = System.nanoTime();
+        RunResult run = program.run(testCase.getInput(), bundle.getTimeLimitMs(), bundle.getMemoryLimitMB());
+        long runEnd = System.nanoTime();
+        timeline.record(SubmissionTimeline.Stage.RUN, index, runStart, runEnd);
+        try {
+            if (run.getOutcome() != RunResult.Outcome.OK) {
+                return new CaseOutcome(statusOf(run.getOutcome()), run.getTimeMs(), run.getMemoryUsedMB(), run.getError());
+            }
+            OutputComparator.Comparison comparison = compareOutput(run, bundle, testCase);
+            timeline.record(SubmissionTimeline.Stage.COMPARE, index, runEnd, System.nanoTime());
+            ProblemSubmission.SubmissionStatus status = comparison.isMatches()
+                    ? ProblemSubmission.SubmissionStatus.ACCEPTED
+                    : ProblemSubmission.SubmissionStatus.WRONG_ANSWER;
+            return new CaseOutcome(status, run.getTimeMs(), run.getMemoryUsedMB(), comparison.describe());
+        } finally {
+            deleteOutput(run);
+        }
+    }
+    
+    private JudgeResult summarize(CaseOutcome[] outcomes, int firstFailure, int total, Long testCaseVersion) {
+        long maxTimeMs = 0;
+        Double maxMemoryMB = null;
+        for (int i = 0; i <= firstFailure && i < total; i++) {
+            CaseOutcome outcome = outcomes[i];
+            maxTimeMs = Math.max(maxTimeMs, outcome.timeMs);
+            if (outcome.memoryUsedMB != null) {
+                maxMemoryMB = maxMemoryMB == null ? outcome.memoryUsedMB : Math.max(maxMemoryMB, outcome.memoryUsedMB);
+            }
+        }
+        if (total == 0) {
+            return JudgeResult.failed(ProblemSubmission.SubmissionStatus.RUNTIME_ERROR, 0,
+                    "Internal judge error: problem has no test cases");
+        }
+        if (firstFailure >= total) {
+            return new JudgeResult(ProblemSubmission.SubmissionStatus.ACCEPTED, total, total, maxTimeMs, maxMemoryMB, null,
+                    testCaseVersion, null);
+        }
+        CaseOutcome failed = outcomes[firstFailure];
+        String errorMessage = "Test case " + (firstFailure + 1) + ": "
+                + (failed.error == null ? failed.status.name() : failed.status.name() + "\n" + failed.error);
+        return new JudgeResult(failed.status, firstFailure, total, maxTimeMs, maxMemoryMB, errorMessage, testCaseVersion, null);
+    }
+    
+    private ProblemSubmission.SubmissionStatus statusOf(RunResult.Outcome outcome) {
+        switch (outcome) {
+            case TIME_LIMIT_EXCEEDED:
+                return ProblemSubmission.SubmissionStatus.TIME_LIMIT_EXCEEDED;
+            case MEMORY_LIMIT_EXCEEDED:
+                return ProblemSubmission.SubmissionStatus.MEMORY_LIMIT_EXCEEDED;
+            // There is no output limit verdict; the run's error message says which limit was hit
+            default:
+                return ProblemSubmission.SubmissionStatus.RUNTIME_ERROR;
+        }
+    }
+    
+    private OutputComparator.Comparison compareOutput(RunResult run, TestCaseBundle bundle, TestCaseBundle.Case testCase) {
+        try (Reader actual = Files.newBufferedReader(run.getOutput(), StandardCharsets.UTF_8);
+             Reader expected = openExpected(testCase)) {
+            return comparator.compare(actual, expected, bundle.getComparisonMode(), bundle.getFloatTolerance());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private Reader openExpected(TestCaseBundle.Case testCase) throws IOException {
+        if (testCase.getExpectedOutput() != null) {
+            return new InputStreamReader(new ByteArrayInputStream(testCase.getExpectedOutput()), StandardCharsets.UTF_8);
+        }
+        return blobStore.openReader(testCase.getExpectedOutputHash());
+    }
+    
+    private void deleteOutput(RunResult run) {
+        try {
+            if (run.getOutput() != null) {
+                Files.deleteIfExists(run.getOutput());
+            }
+        } catch (IOException e) {
+            log.debug("Could not delete run output {}", run.getOutput(), e);
+        }
+    }
+    
+    @AllArgsConstructor
+    private static class CaseOutcome {
+        private final ProblemSubmission.SubmissionStatus status;
+        private final long timeMs;
+        private final Double memoryUsedMB;
+        private final String error;
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.dsaassistant.judge;
+
+import com.example.dsaassistant.model.ProblemSubmission;
+import com.example.dsaassistant.model.SubmissionTimeline;
+import com.example.dsaassistant.service.ProblemSubmissionService;
+import com.example.dsaassistant.service.SubmissionTimelineService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Write-behind stage for verdicts: collects them and persists each batch in one transaction, which
+// Hibernate sends as JDBC batch updates. A verdict that is lost in a crash leaves its submission
+// RUNNING, so it is requeued and judged again once its claim expires (at-least-once). A verdict
+// that cannot be stored at all is dead-lettered instead of holding up the ones behind it.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VerdictWriter {
+    
+    private final ProblemSubmissionService submissionService;
+    private final SubmissionTimelineService timelineService;
+    
+    @Value("${app.judge.write-back.batch-size:100}")
+    private int batchSize;
+    
+    @Value("${app.judge.write-back.flush-interval-ms:50}")
+    private long flushIntervalMs;
+    
+    @Value("${app.judge.write-back.queue-capacity:10000}")
+    private int queueCapacity;
+    
+    @Value("${app.judge.write-back.shutdown-timeout-seconds:30}")
+    private long shutdownTimeoutSeconds;
+    
+    @Value("${app.judge.write-back.max-attempts:3}")
+    private int maxAttempts;
+    
+    private BlockingQueue<PendingVerdict> queue;
+    private Thread flusher;
+    private volatile boolean running;
+    
+    private final LongAdder persisted = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    
+    @PostConstruct
+    public void start() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        running = true;
+        flusher = new Thread(this::flushLoop, "verdict-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+    
+    // Flushes whatever is still queued before the context goes away
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(shutdownTimeoutSeconds));
+        if (!queue.isEmpty()) {
+            log.error("{} verdicts were not persisted before shutdown; their submissions will be rejudged", queue.size());
+        }
+    }
+    
+    // Blocks when the queue is full, which throttles the judge workers while the database catches up
+    public void submit(Long submissionId, JudgeResult result, JudgeTimeline timeline) {
+        try {
+            queue.put(new PendingVerdict(submissionId, result, timeline, System.nanoTime()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing verdict for submission " + submissionId, e);
+        }
+    }
+    
+    public Stats getStats() {
+        long count = persisted.sum();
+        return new Stats(queue.size(), count, flushes.sum(), failedFlushes.sum(), deadLettered.sum(),
+                count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum() / count),
+                TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()));
+    }
+    
+    private void flushLoop() {
+        List<PendingVerdict> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingVerdict first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingVerdict next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    private void write(List<PendingVerdict> batch) throws InterruptedException {
+        long flushStart = System.nanoTime();
+        if (!persistWithRetries(batch)) {
+            return;
+        }
+        
+        long now = System.nanoTime();
+        List<SubmissionTimeline> timelines = new ArrayList<>(batch.size());
+        for (PendingVerdict verdict : batch) {
+            long wait = now - verdict.enqueuedAtNanos;
+            totalWaitNanos.add(wait);
+            maxWaitNanos.accumulateAndGet(wait, Math::max);
+            verdict.timeline.record(SubmissionTimeline.Stage.WRITE_QUEUE, verdict.enqueuedAtNanos, flushStart);
+            verdict.timeline.record(SubmissionTimeline.Stage.PERSIST, flushStart, now);
+            timelines.add(verdict.timeline.toEntity());
+        }
+        persisted.add(batch.size());
+        flushes.increment();
+        
+        // Timelines are diagnostics: losing a batch of them must not hold up verdicts
+        try {
+            timelineService.saveTimelines(timelines);
+        } catch (RuntimeException e) {
+            log.warn("Could not store timelines for {} submissions", timelines.size(), e);
+        }
+    }
+    
+    // Retries the whole batch with backoff, which rides out a database hiccup. If it keeps failing the
+    // batch is split to isolate the verdicts that cannot be stored. Returns false if it was dropped on shutdown.
+    private boolean persistWithRetries(List<PendingVerdict> batch) throws InterruptedException {
+        long backoffMs = flushIntervalMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                submissionService.recordVerdicts(resultsOf(batch));
+                return true;
+            } catch (RuntimeException e) {
+                failedFlushes.increment();
+                if (!running) {
+                    log.error("Dropping {} verdicts during shutdown; their submissions will be rejudged", batch.size(), e);
+                    return false;
+                }
+                if (attempt >= maxAttempts) {
+                    log.warn("Could not persist {} verdicts after {} attempts, isolating the failing ones", batch.size(), attempt, e);
+                    persistSplit(batch);
+                    return true;
+                }
+                log.warn("Could not persist {} verdicts, retrying in {} ms", batch.size(), backoffMs, e);
+                Thread.sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, 5000);
+            }
+        }
+    }
+    
+    private void persistSplit(List<PendingVerdict> verdicts) {
+        if (verdicts.size() == 1) {
+            try {
+                submissionService.recordVerdicts(resultsOf(verdicts));
+            } catch (RuntimeException e) {
+                failedFlushes.increment();
+                deadLetter(verdicts.get(0), e);
+            }
+            return;
+        }
+        int middle = verdicts.size() / 2;
+        for (List<PendingVerdict> half : List.of(verdicts.subList(0, middle), verdicts.subList(middle, verdicts.size()))) {
+            try {
+                submissionService.recordVerdicts(resultsOf(half));
+            } catch (RuntimeException e) {
+                failedFlushes.increment();
+                persistSplit(half);
+            }
+        }
+    }
+    
+    // Records an internal judge error in place of a verdict that cannot be stored. If even that fails the
+    // submission stays RUNNING until its claim expires and it is requeued.
+    private void deadLetter(PendingVerdict verdict, RuntimeException cause) {
+        JudgeResult result = verdict.result;
+        log.error("Could not store verdict {} for submission {}; recording an internal judge error instead",
+                result.getStatus(), verdict.submissionId, cause);
+        try {
+            submissionService.recordVerdicts(Map.of(verdict.submissionId, JudgeResult.failed(
+                    ProblemSubmission.SubmissionStatus.RUNTIME_ERROR, result.getTotalTestCases(),
+                    "Internal judge error: the verdict could not be stored")));
+            deadLettered.increment();
+        } catch (RuntimeException e) {
+            log.error("Could not dead-letter the verdict for submission {}", verdict.submissionId, e);
+        }
+    }
+    
+    private static Map<Long, JudgeResult> resultsOf(List<PendingVerdict> verdicts) {
+        Map<Long, JudgeResult> results = new LinkedHashMap<>();
+        for (PendingVerdict verdict : verdicts) {
+            results.put(verdict.submissionId, verdict.result);
+        }
+        return results;
+    }
+    
+    @AllArgsConstructor
+    private static class PendingVerdict {
+        private final Long submissionId;
+        private final JudgeResult result;
+        private final JudgeTimeline timeline;
+        private final long enqueuedAtNanos;
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final int pending;
+        private final long persisted;
+        private final long flushes;
+        private final long failedFlushes;
+        private final long deadLettered;
+        private final long averageWaitMs;
+        private final long maxWaitMs;
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.dsaassistant.leaderboard;
+
+import com.example.dsaassistant.dto.LeaderboardEntry;
+import com.example.dsaassistant.model.Contest;
+import com.example.dsaassistant.model.ProblemSubmission;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Live standings of one contest, ICPC style: more problems solved ranks higher, then less penalty
+// time. Penalty per solved problem is the minutes from the contest start to the first accept, plus
+// penaltyMinutes for every rejected attempt submitted before it. Verdicts may arrive in any order and
+// more than once; each submission is counted once.
+class ContestLeaderboard {
+    
+    private static final Comparator<Standing> ORDER = Comparator
+            .comparingInt((Standing standing) -> -standing.solved)
+            .thenComparingLong(standing -> standing.penaltyMinutes)
+            .thenComparingLong(standing -> standing.userId);
+    
+    private final Long contestId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final long penaltyMinutes;
+    private final Set<Long> problemIds;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Contestant> contestants = new HashMap<>();
+    private final IndexedSkipList<Standing> ranking = new IndexedSkipList<>(ORDER);
+    
+    ContestLeaderboard(Contest contest) {
+        this.contestId = contest.getId();
+        this.startTime = contest.getStartTime();
+        this.endTime = contest.getEndTime();
+        this.penaltyMinutes = contest.getPenaltyMinutes() == null ? 0 : contest.getPenaltyMinutes();
+        this.problemIds = contest.getProblemIds() == null ? Set.of() : Set.copyOf(contest.getProblemIds());
+    }
+    
+    Long getContestId() {
+        return contestId;
+    }
+    
+    Set<Long> getProblemIds() {
+        return problemIds;
+    }
+    
+    void record(Long submissionId, Long userId, Long problemId, ProblemSubmission.SubmissionStatus status,
+                LocalDateTime submittedAt) {
+        if (!problemIds.contains(problemId) || submittedAt == null
+                || submittedAt.isBefore(startTime) || submittedAt.isAfter(endTime)
+                || !status.isFinal() || status == ProblemSubmission.SubmissionStatus.COMPILATION_ERROR) {
+            return;
+        }
+        long elapsedMs = Duration.between(startTime, submittedAt).toMillis();
+        
+        lock.writeLock().lock();
+        try {
+            Contestant contestant = contestants.computeIfAbsent(userId, Contestant::new);
+            Standing before = contestant.standing();
+            ProblemAttempts attempts = contestant.problems.computeIfAbsent(problemId, id -> new ProblemAttempts());
+            if (!attempts.record(submissionId, status == ProblemSubmission.SubmissionStatus.ACCEPTED, elapsedMs)) {
+                return;
+            }
+            contestant.recompute(penaltyMinutes);
+            Standing after = contestant.standing();
+            ranking.remove(before);
+            ranking.add(after);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    List<LeaderboardEntry> top(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Standing> standings = ranking.range(offset, limit);
+            List<LeaderboardEntry> entries = new ArrayList<>(standings.size());
+            int rank = 0;
+            Standing previous = null;
+            for (int i = 0; i < standings.size(); i++) {
+                Standing standing = standings.get(i);
+                if (previous == null || standing.solved != previous.solved || standing.penaltyMinutes != previous.penaltyMinutes) {
+                    rank = i == 0 ? rankOf(standing) : offset + i + 1;
+                }
+                entries.add(standing.toEntry(rank));
+                previous = standing;
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    Optional<LeaderboardEntry> entryOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            Contestant contestant = contestants.get(userId);
+            if (contestant == null) {
+                return Optional.empty();
+            }
+            Standing standing = contestant.standing();
+            return Optional.of(standing.toEntry(rankOf(standing)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    int size() {
+        lock.readLock().lock();
+        try {
+            return ranking.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Shared rank: one more than the number of contestants with a strictly better score
+    private int rankOf(Standing standing) {
+        return ranking.countBefore(new Standing(Long.MIN_VALUE, standing.solved, standing.penaltyMinutes)) + 1;
+    }
+    
+    private static class Standing {
+        private final long userId;
+        private final int solved;
+        private final long penaltyMinutes;
+        
+        Standing(long userId, int solved, long penaltyMinutes) {
+            this.userId = userId;
+            this.solved = solved;
+            this.penaltyMinutes = penaltyMinutes;
+        }
+        
+        LeaderboardEntry toEntry(int rank) {
+            return new LeaderboardEntry(rank, userId, solved, penaltyMinutes);
+        }
+    }
+    
+    private static class Contestant {
+        private final Long userId;
+        private final Map<Long, ProblemAttempts> problems = new HashMap<>();
+        private int solved;
+        private long penaltyMinutes;
+        
+        Contestant(Long userId) {
+            this.userId = userId;
+        }
+        
+        Standing standing() {
+            return new Standing(userId, solved, penaltyMinutes);
+        }
+        
+        void recompute(long penaltyPerRejection) {
+            solved = 0;
+            penaltyMinutes = 0;
+            for (ProblemAttempts attempts : problems.values()) {
+                if (attempts.acceptedSubmissionId != null) {
+                    solved++;
+                    penaltyMinutes += attempts.acceptedMs / 60_000 + penaltyPerRejection * attempts.rejectionsBeforeAccept();
+                }
+            }
+        }
+    }
+    
+    // Attempts are ordered by elapsed time, then by submission id for submissions made in the same millisecond
+    private static class ProblemAttempts {
+        private final Map<Long, Long> rejectedMs = new HashMap<>();
+        private Long acceptedSubmissionId;
+        private long acceptedMs;
+        
+        // Returns false when the submission was already counted or changes nothing
+        boolean record(Long submissionId, boolean accepted, long elapsedMs) {
+            if (submissionId.equals(acceptedSubmissionId) || rejectedMs.containsKey(submissionId)) {
+                return false;
+            }
+            if (!accepted) {
+                rejectedMs.put(submissionId, elapsedMs);
+                return acceptedSubmissionId == null || isBeforeAccept(submissionId, elapsedMs);
+            }
+            if (acceptedSubmissionId != null && !isBeforeAccept(submissionId, elapsedMs)) {
+                return false;
+            }
+            acceptedSubmissionId = submissionId;
+            acceptedMs = elapsedMs;
+            return true;
+        }
+        
+        int rejectionsBeforeAccept() {
+            int count = 0;
+            for (Map.Entry<Long, Long> rejection : rejectedMs.entrySet()) {
+                if (isBeforeAccept(rejection.getKey(), rejection.getValue())) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        
+        private boolean isBeforeAccept(Long submissionId, long elapsedMs) {
+            return elapsedMs < acceptedMs || (elapsedMs == acceptedMs && submissionId < acceptedSubmissionId);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.dsaassistant.leaderboard;
+
+import com.example.dsaassistant.dto.LeaderboardEntry;
+import com.example.dsaassistant.dto.SubmissionSummary;
+import com.example.dsaassistant.event.ContestChangedEvent;
+import com.example.dsaassistant.event.SubmissionJudgedEvent;
+import com.example.dsaassistant.model.Contest;
+import com.example.dsaassistant.model.ProblemSubmission;
+import com.example.dsaassistant.repository.ContestRepository;
+import com.example.dsaassistant.repository.ProblemSubmissionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Keeps every contest's standings in memory. Boards are replayed from the database once, when the
+// application starts or a contest is created or changed; after that each committed verdict updates them
+// in place and reads never touch the database.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderboardService {
+    
+    private static final List<ProblemSubmission.SubmissionStatus> FINAL_STATUSES = Arrays.stream(ProblemSubmission.SubmissionStatus.values())
+            .filter(ProblemSubmission.SubmissionStatus::isFinal)
+            .toList();
+    
+    private final ContestRepository contestRepository;
+    private final ProblemSubmissionRepository submissionRepository;
+    
+    private final Map<Long, ContestLeaderboard> boards = new ConcurrentHashMap<>();
+    
+    // Problem id to the boards it counts towards, so a verdict only visits the contests that use it
+    private volatile Map<Long, List<ContestLeaderboard>> boardsByProblem = Map.of();
+    
+    public List<LeaderboardEntry> getTop(Long contestId, int offset, int limit) {
+        return board(contestId).top(Math.max(0, offset), Math.max(0, limit));
+    }
+    
+    public Optional<LeaderboardEntry> getEntry(Long contestId, Long userId) {
+        return board(contestId).entryOf(userId);
+    }
+    
+    public int getContestantCount(Long contestId) {
+        return board(contestId).size();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubmissionJudged(SubmissionJudgedEvent event) {
+        List<ContestLeaderboard> affected = boardsByProblem.get(event.getProblemId());
+        if (affected == null) {
+            return;
+        }
+        for (ContestLeaderboard board : affected) {
+            board.record(event.getSubmissionId(), event.getUserId(), event.getProblemId(), event.getStatus(),
+                    event.getSubmittedAt());
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContestChanged(ContestChangedEvent event) {
+        if (event.getChange() == ContestChangedEvent.Change.DELETED) {
+            unregister(event.getContestId());
+            return;
+        }
+        contestRepository.findById(event.getContestId()).ifPresent(this::load);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        List<Contest> contests = contestRepository.findAll();
+        contests.forEach(this::load);
+        log.info("Loaded leaderboards for {} contests", contests.size());
+    }
+    
+    // The board is published before the replay so verdicts committed meanwhile are not lost; the
+    // board counts each submission once, so overlap between the two is harmless
+    public void load(Contest contest) {
+        ContestLeaderboard board = new ContestLeaderboard(contest);
+        register(board);
+        if (board.getProblemIds().isEmpty()) {
+            return;
+        }
+        List<SubmissionSummary> verdicts = submissionRepository.findContestSummaries(board.getProblemIds(),
+                contest.getStartTime(), contest.getEndTime(), FINAL_STATUSES);
+        for (SubmissionSummary verdict : verdicts) {
+            board.record(verdict.id(), verdict.userId(), verdict.problemId(), verdict.status(), verdict.submittedAt());
+        }
+    }
+    
+    private ContestLeaderboard board(Long contestId) {
+        ContestLeaderboard board = boards.get(contestId);
+        if (board == null) {
+            throw new RuntimeException("Contest not found with id: " + contestId);
+        }
+        return board;
+    }
+    
+    private synchronized void register(ContestLeaderboard board) {
+        boards.put(board.getContestId(), board);
+        reindex();
+    }
+    
+    private synchronized void unregister(Long contestId) {
+        boards.remove(contestId);
+        reindex();
+    }
+    
+    private void reindex() {
+        Map<Long, List<ContestLeaderboard>> index = new ConcurrentHashMap<>();
+        for (ContestLeaderboard board : boards.values()) {
+            for (Long problemId : board.getProblemIds()) {
+                index.computeIfAbsent(problemId, id -> new ArrayList<>()).add(board);
+            }
+        }
+        index.replaceAll((problemId, list) -> List.copyOf(list));
+        boardsByProblem = index;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.dsaassistant.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+// Rows returned per repository query. Query timing comes from Spring Data's own
+// spring.data.repository.invocations timer; streamed and scalar results are not counted.
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+    
+    private static final String REPOSITORY_PACKAGE = "com.example.dsaassistant.repository";
+    
+    private final MeterRegistry registry;
+    
+    @Around("execution(* com.example.dsaassistant.repository..*(..))")
+    public Object countRows(ProceedingJoinPoint call) throws Throwable {
+        Object result = call.proceed();
+        int rows;
+        if (result instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else if (result instanceof Slice<?> slice) {
+            rows = slice.getNumberOfElements();
+        } else if (result instanceof Optional<?> optional) {
+            rows = optional.isPresent() ? 1 : 0;
+        } else {
+            return result;
+        }
+        DistributionSummary.builder("app.repository.rows")
+                .tag("repository", repositoryName(call))
+                .tag("method", call.getSignature().getName())
+                .register(registry)
+                .record(rows);
+        return result;
+    }
+    
+    // Inherited methods such as findById are declared on CrudRepository; name the application's interface instead
+    private static String repositoryName(ProceedingJoinPoint call) {
+        for (Class<?> type : call.getThis().getClass().getInterfaces()) {
+            if (type.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                return type.getSimpleName();
+            }
+        }
+        return call.getSignature().getDeclaringType().getSimpleName();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.dsaassistant.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Latency of every public service method, tagged by service, method and outcome. Ordered outside the
+// transaction interceptor, so the time includes transaction begin and commit.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    
+    private final MeterRegistry registry;
+    
+    @Around("within(com.example.dsaassistant.service..*) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint call) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "success";
+        try {
+            return call.proceed();
+        } catch (Throwable t) {
+            outcome = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            sample.stop(Timer.builder("app.service.calls")
+                    .tag("service", call.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", call.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.dsaassistant.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Duration of each physical transaction from begin to commit or rollback, tagged by the
+// transactional method that started it. Boot registers this listener on the JPA transaction manager.
+@Component
+@RequiredArgsConstructor
+public class TransactionMetrics implements TransactionExecutionListener {
+    
+    private final MeterRegistry registry;
+    private final Map<TransactionExecution, Timer.Sample> open = new ConcurrentHashMap<>();
+    
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null && transaction.isNewTransaction()) {
+            open.put(transaction, Timer.start(registry));
+        }
+    }
+    
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        stop(transaction, commitFailure == null ? "commit" : "commit-failed");
+    }
+    
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        stop(transaction, "rollback");
+    }
+    
+    private void stop(TransactionExecution transaction, String outcome) {
+        Timer.Sample sample = open.remove(transaction);
+        if (sample == null) {
+            return;
+        }
+        sample.stop(Timer.builder("app.transactions")
+                .tag("name", shortName(transaction.getTransactionName()))
+                .tag("read-only", String.valueOf(transaction.isReadOnly()))
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+    
+    // "com.example.dsaassistant.service.UserService.updateUser" becomes "UserService.updateUser"
+    private static String shortName(String name) {
+        if (name == null || name.isEmpty()) {
+            return "unnamed";
+        }
+        int method = name.lastIndexOf('.');
+        return method <= 0 ? name : name.substring(name.lastIndexOf('.', method - 1) + 1);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.dsaassistant.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Entity
+@Table(name = "contests")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Contest {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotBlank(message = "Name is required")
+    @Column(nullable = false)
+    private String name;
+    
+    @NotNull(message = "Start time is required")
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+    
+    @NotNull(message = "End time is required")
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+    
+    // Minutes added to a solved problem's time for every rejected attempt before the accept
+    @PositiveOrZero(message = "Penalty must not be negative")
+    @Column(name = "penalty_minutes")
+    private Integer penaltyMinutes = 20;
+    
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "contest_problems", joinColumns = @JoinColumn(name = "contest_id"))
+    @Column(name = "problem_id")
+    private List<Long> problemIds;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -1,5 +1,8 @@
 package com.example.dsaassistant.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -15,6 +18,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "problems")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -64,9 +68,26 @@ public class Problem {
     @Column(name = "memory_limit_mb")
     private Integer memoryLimitMB = 256;
     
+    @Enumerated(EnumType.STRING)
+    @Column(name = "evaluation_strategy")
+    private EvaluationStrategy evaluationStrategy = EvaluationStrategy.SEQUENTIAL;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "comparison_mode")
+    private ComparisonMode comparisonMode = ComparisonMode.LINES;
+    
+    @Column(name = "float_tolerance")
+    private Double floatTolerance = 1e-6;
+    
     @Column(name = "is_active")
     private Boolean isActive = true;
     
+    // Bumped with a bulk update whenever something that decides verdicts changes: the test cases,
+    // the limits or the comparison. Reused verdicts must have been judged against the current version.
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "test_case_version", nullable = false, updatable = false)
+    private Long testCaseVersion = 0L;
+    
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -75,9 +96,11 @@ public class Problem {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @JsonIgnore
     @OneToMany(mappedBy = "problem", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<ProblemSubmission> submissions;
     
+    @JsonIgnore
     @OneToMany(mappedBy = "problem", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<TestCase> testCases;
     
@@ -89,4 +112,12 @@ public class Problem {
         ARRAYS, STRINGS, LINKED_LIST, STACK, QUEUE, TREE, GRAPH, 
         DYNAMIC_PROGRAMMING, GREEDY, BACKTRACKING, SORTING, SEARCHING
     }
+    
+    public enum EvaluationStrategy {
+        SEQUENTIAL, PARALLEL
+    }
+    
+    public enum ComparisonMode {
+        EXACT, LINES, TOKENS, FLOAT_TOLERANCE
+    }
 }
@@ -1,7 +1,8 @@
 package com.example.dsaassistant.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,14 +12,32 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "problem_submissions")
+@Table(name = "problem_submissions", indexes = {
+        @Index(name = "idx_submissions_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_submissions_problem_id", columnList = "problem_id, id"),
+        @Index(name = "idx_submissions_status_id", columnList = "status, id"),
+        @Index(name = "idx_submissions_pending_groups", columnList = "status, user_id, problem_id, id, submitted_at"),
+        @Index(name = "idx_submissions_user_status_id", columnList = "user_id, status, id"),
+        @Index(name = "idx_submissions_language_id", columnList = "language, id"),
+        @Index(name = "idx_submissions_submitted_at", columnList = "submitted_at"),
+        @Index(name = "idx_submissions_code_hash", columnList = "problem_id, language, code_hash")
+})
+// Fetch plan for endpoints that return whole submissions: user, problem and the problem's tags in one query
+@NamedEntityGraph(name = ProblemSubmission.WITH_USER_AND_PROBLEM, attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode(value = "problem", subgraph = "problem")
+}, subgraphs = @NamedSubgraph(name = "problem", attributeNodes = @NamedAttributeNode("tags")))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProblemSubmission {
     
+    public static final String WITH_USER_AND_PROBLEM = "ProblemSubmission.withUserAndProblem";
+    
+    // Sequence ids (allocated in blocks) let Hibernate batch inserts and updates for this table
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "problem_submissions_seq")
+    @SequenceGenerator(name = "problem_submissions_seq", sequenceName = "problem_submissions_seq", allocationSize = 50)
     private Long id;
     
     @NotNull(message = "User is required")
@@ -31,10 +50,15 @@ public class ProblemSubmission {
     @JoinColumn(name = "problem_id", nullable = false)
     private Problem problem;
     
-    @NotBlank(message = "Code is required")
-    @Column(columnDefinition = "TEXT", nullable = false)
+    // Lives compressed in submission_code (see SubmissionCodeService); only set where a caller loaded it
+    @Transient
     private String code;
     
+    // Fingerprint of the normalized code, used to find an earlier verdict for identical code
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "code_hash", length = 64)
+    private String codeHash;
+    
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Language language;
@@ -58,6 +82,25 @@ public class ProblemSubmission {
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
     
+    // The problem's test case version the verdict was judged against; null until judged
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "test_case_version")
+    private Long testCaseVersion;
+    
+    // Runner and toolchain the verdict was judged with; a verdict is only reused under the same one
+    @JsonIgnore
+    @Column(name = "judge_version", length = 128)
+    private String judgeVersion;
+    
+    // Judge node holding the claim while RUNNING and when it last renewed it; a lapsed lease is requeued
+    @JsonIgnore
+    @Column(name = "claimed_by", length = 128)
+    private String claimedBy;
+    
+    @JsonIgnore
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+    
     @CreationTimestamp
     @Column(name = "submitted_at", updatable = false)
     private LocalDateTime submittedAt;
@@ -68,6 +111,10 @@ public class ProblemSubmission {
     
     public enum SubmissionStatus {
         PENDING, RUNNING, ACCEPTED, WRONG_ANSWER, TIME_LIMIT_EXCEEDED, 
-        MEMORY_LIMIT_EXCEEDED, RUNTIME_ERROR, COMPILATION_ERROR
+        MEMORY_LIMIT_EXCEEDED, RUNTIME_ERROR, COMPILATION_ERROR;
+        
+        public boolean isFinal() {
+            return this != PENDING && this != RUNNING;
+        }
     }
 }
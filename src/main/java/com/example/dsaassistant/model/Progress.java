@@ -1,5 +1,6 @@
 package com.example.dsaassistant.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -11,14 +12,20 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "progress")
+@Table(name = "progress", indexes = {
+        @Index(name = "idx_progress_user_type", columnList = "user_id, type")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_progress_user_key", columnNames = {"user_id", "progress_key"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Progress {
     
+    // Sequence ids let the progress rebuild batch its inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "progress_seq")
+    @SequenceGenerator(name = "progress_seq", sequenceName = "progress_seq", allocationSize = 50)
     private Long id;
     
     @NotNull(message = "User is required")
@@ -36,6 +43,12 @@ public class Progress {
     @Column(name = "difficulty")
     private String difficulty;
     
+    // Type, category and difficulty in one non-null column, so the unique key also covers the rows whose
+    // category or difficulty is null (a unique constraint never treats two nulls as equal)
+    @JsonIgnore
+    @Column(name = "progress_key", nullable = false, length = 128)
+    private String progressKey;
+    
     @Column(name = "problems_solved")
     private Integer problemsSolved = 0;
     
@@ -48,6 +61,16 @@ public class Progress {
     @Column(name = "average_time_ms")
     private Long averageTimeMs = 0L;
     
+    // Running counters kept up to date from judge verdicts; the fields above are derived from them
+    @Column(name = "attempts")
+    private Integer attempts = 0;
+    
+    @Column(name = "accepted_submissions")
+    private Integer acceptedSubmissions = 0;
+    
+    @Column(name = "accepted_time_ms")
+    private Long acceptedTimeMs = 0L;
+    
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -56,6 +79,12 @@ public class Progress {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @PrePersist
+    @PreUpdate
+    void updateProgressKey() {
+        progressKey = type + "/" + (category == null ? "" : category) + "/" + (difficulty == null ? "" : difficulty);
+    }
+    
     public enum ProgressType {
         OVERALL, CATEGORY, DIFFICULTY
     }
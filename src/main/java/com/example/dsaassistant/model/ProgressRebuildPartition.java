@@ -0,0 +1,52 @@
+package com.example.dsaassistant.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One user id range of a progress rebuild job; DONE partitions are skipped when the job is resumed
+@Entity
+@Table(name = "progress_rebuild_partitions", indexes = {
+        @Index(name = "idx_rebuild_partitions_job_status", columnList = "job_id, status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressRebuildPartition {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+    
+    @Column(name = "from_user_id", nullable = false)
+    private Long fromUserId;
+    
+    @Column(name = "to_user_id", nullable = false)
+    private Long toUserId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.PENDING;
+    
+    @Column(name = "users_processed")
+    private Integer usersProcessed = 0;
+    
+    @Column(name = "rows_written")
+    private Integer rowsWritten = 0;
+    
+    @Column(length = 1000)
+    private String error;
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+    
+    public enum Status {
+        PENDING, DONE, FAILED
+    }
+}
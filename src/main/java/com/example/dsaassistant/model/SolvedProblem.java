@@ -0,0 +1,37 @@
+package com.example.dsaassistant.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// One row per (user, problem) the user has solved, pointing at the first accepted submission
+@Entity
+@Table(name = "solved_problems", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_solved_problems_user_problem", columnNames = {"user_id", "problem_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolvedProblem {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "problem_id", nullable = false)
+    private Long problemId;
+    
+    @Column(name = "submission_id", nullable = false)
+    private Long submissionId;
+    
+    @CreationTimestamp
+    @Column(name = "solved_at", updatable = false)
+    private LocalDateTime solvedAt;
+}
@@ -0,0 +1,53 @@
+package com.example.dsaassistant.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Source code of a submission, kept out of problem_submissions so scans of the hot status columns do
+// not drag it along. Recent code is stored compressed in the row; once archived, the row only points
+// at the record in the append-only code archive (see CodeArchive).
+@Entity
+@Table(name = "submission_code", indexes = {
+        @Index(name = "idx_submission_code_archive", columnList = "archive_segment, submission_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionCode {
+    
+    @Id
+    @Column(name = "submission_id")
+    private Long submissionId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Encoding encoding;
+    
+    // UTF-8 length of the code before encoding
+    @Column(name = "original_size", nullable = false)
+    private Integer originalSize;
+    
+    // Null once archived
+    @Column(length = 16777216)
+    private byte[] data;
+    
+    @Column(name = "archive_segment")
+    private Integer archiveSegment;
+    
+    @Column(name = "archive_offset")
+    private Long archiveOffset;
+    
+    @Column(name = "archive_length")
+    private Integer archiveLength;
+    
+    public boolean isArchived() {
+        return archiveSegment != null;
+    }
+    
+    public enum Encoding {
+        // Used when deflate would not make the code any smaller
+        PLAIN, DEFLATE
+    }
+}
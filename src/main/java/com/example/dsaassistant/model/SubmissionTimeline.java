@@ -0,0 +1,71 @@
+package com.example.dsaassistant.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Side table with how long each judge stage took for one submission. The per-stage totals are columns
+// so percentiles can be computed without decoding; the full timeline, with an entry per test case up to
+// a bound that keeps it within the column, is packed into the stages column (see JudgeTimeline).
+@Entity
+@Table(name = "submission_timelines", indexes = {
+        @Index(name = "idx_timelines_language_id", columnList = "language, submission_id"),
+        @Index(name = "idx_timelines_problem_id", columnList = "problem_id, submission_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionTimeline {
+    
+    @Id
+    @Column(name = "submission_id")
+    private Long submissionId;
+    
+    @Column(name = "problem_id", nullable = false)
+    private Long problemId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProblemSubmission.Language language;
+    
+    @Column(name = "submitted_at")
+    private LocalDateTime submittedAt;
+    
+    // Submitted until a judge worker picked it up: pending in the database, claim, worker queue
+    @Column(name = "queue_ms", nullable = false)
+    private Long queueMs;
+    
+    @Column(name = "load_ms", nullable = false)
+    private Long loadMs;
+    
+    @Column(name = "compile_ms", nullable = false)
+    private Long compileMs;
+    
+    // Summed over test cases, so parallel evaluation can exceed the wall-clock time
+    @Column(name = "run_ms", nullable = false)
+    private Long runMs;
+    
+    @Column(name = "compare_ms", nullable = false)
+    private Long compareMs;
+    
+    // Verdict handed to the write-behind queue until its batch committed
+    @Column(name = "persist_ms", nullable = false)
+    private Long persistMs;
+    
+    @Column(name = "total_ms", nullable = false)
+    private Long totalMs;
+    
+    @Column(nullable = false, length = 65535)
+    private byte[] stages;
+    
+    public enum Stage {
+        QUEUED, DEQUEUE, DISPATCH, LOAD_TEST_CASES, COMPILE, RUN, COMPARE, WRITE_QUEUE, PERSIST;
+        
+        public boolean isPerTestCase() {
+            return this == RUN || this == COMPARE;
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package com.example.dsaassistant.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,7 +12,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "test_cases")
+@Table(name = "test_cases", indexes = {
+        @Index(name = "idx_test_cases_input_hash", columnList = "input_hash"),
+        @Index(name = "idx_test_cases_expected_output_hash", columnList = "expected_output_hash")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,18 +26,38 @@ public class TestCase {
     private Long id;
     
     @NotNull(message = "Problem is required")
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "problem_id", nullable = false)
     private Problem problem;
     
-    @NotBlank(message = "Input is required")
-    @Column(columnDefinition = "TEXT", nullable = false)
+    // Payloads are written through to TestCaseBlobStore; only their hash, size and a preview are persisted
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String input;
     
-    @NotBlank(message = "Expected output is required")
-    @Column(columnDefinition = "TEXT", nullable = false)
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String expectedOutput;
     
+    @Column(name = "input_hash", length = 64, nullable = false)
+    private String inputHash;
+    
+    @Column(name = "input_size", nullable = false)
+    private Long inputSize;
+    
+    @Column(name = "input_preview", length = 256)
+    private String inputPreview;
+    
+    @Column(name = "expected_output_hash", length = 64, nullable = false)
+    private String expectedOutputHash;
+    
+    @Column(name = "expected_output_size", nullable = false)
+    private Long expectedOutputSize;
+    
+    @Column(name = "expected_output_preview", length = 256)
+    private String expectedOutputPreview;
+    
     @Column(name = "is_sample")
     private Boolean isSample = false;
     
@@ -0,0 +1,17 @@
+package com.example.dsaassistant.repository;
+
+import com.example.dsaassistant.model.Contest;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ContestRepository extends JpaRepository<Contest, Long> {
+    
+    // Problem ids join the contest select instead of costing one more select per contest
+    @Override
+    @EntityGraph(attributePaths = "problemIds")
+    List<Contest> findAll();
+}
@@ -1,42 +1,84 @@
 package com.example.dsaassistant.repository;
 
+import com.example.dsaassistant.dto.ProblemSummary;
 import com.example.dsaassistant.model.Problem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProblemRepository extends JpaRepository<Problem, Long> {
     
-    List<Problem> findByDifficulty(Problem.Difficulty difficulty);
+    @EntityGraph(attributePaths = "tags")
+    List<Problem> findByIsActiveTrue();
     
-    List<Problem> findByCategory(Problem.Category category);
+    @EntityGraph(attributePaths = "tags")
+    @Query("SELECT p FROM Problem p WHERE p.id = :id")
+    Optional<Problem> findWithTagsById(@Param("id") Long id);
     
-    List<Problem> findByIsActiveTrue();
+    // Atomic, so concurrent test case edits can never lose a bump
+    @Modifying
+    @Query("UPDATE Problem p SET p.testCaseVersion = p.testCaseVersion + 1 WHERE p.id = :id")
+    int incrementTestCaseVersion(@Param("id") Long id);
+    
+    // Keyset pages of summaries: rows with id greater than the cursor, in id order, without the TEXT columns
+    String SUMMARY = "SELECT new com.example.dsaassistant.dto.ProblemSummary(p.id, p.title, p.difficulty, p.category, " +
+                     "p.isActive) FROM Problem p ";
+    
+    @Query(SUMMARY + "WHERE p.id > :after ORDER BY p.id")
+    List<ProblemSummary> findSummaries(@Param("after") Long after, Pageable pageable);
+    
+    @Query(SUMMARY + "WHERE p.id IN :ids ORDER BY p.id")
+    List<ProblemSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
     
-    @Query("SELECT p FROM Problem p WHERE p.title LIKE %:title% OR p.description LIKE %:description%")
-    List<Problem> findByTitleOrDescriptionContaining(@Param("title") String title, 
-                                                   @Param("description") String description);
+    @Query(SUMMARY + "WHERE p.difficulty = :difficulty AND p.id > :after ORDER BY p.id")
+    List<ProblemSummary> findSummariesByDifficulty(@Param("difficulty") Problem.Difficulty difficulty, 
+                                                   @Param("after") Long after, 
+                                                   Pageable pageable);
     
-    @Query("SELECT p FROM Problem p WHERE p.difficulty = :difficulty AND p.isActive = true")
-    List<Problem> findActiveProblemsByDifficulty(@Param("difficulty") Problem.Difficulty difficulty);
+    @Query(SUMMARY + "WHERE p.category = :category AND p.id > :after ORDER BY p.id")
+    List<ProblemSummary> findSummariesByCategory(@Param("category") Problem.Category category, 
+                                                 @Param("after") Long after, 
+                                                 Pageable pageable);
     
-    @Query("SELECT p FROM Problem p WHERE p.category = :category AND p.isActive = true")
-    List<Problem> findActiveProblemsByCategory(@Param("category") Problem.Category category);
+    @Query(SUMMARY + "WHERE p.isActive = true AND p.id > :after ORDER BY p.id")
+    List<ProblemSummary> findActiveSummaries(@Param("after") Long after, Pageable pageable);
     
-    @Query("SELECT p FROM Problem p WHERE p.difficulty = :difficulty AND p.category = :category AND p.isActive = true")
-    List<Problem> findActiveProblemsByDifficultyAndCategory(@Param("difficulty") Problem.Difficulty difficulty, 
-                                                           @Param("category") Problem.Category category);
+    @Query(SUMMARY + "WHERE p.difficulty = :difficulty AND p.isActive = true AND p.id > :after ORDER BY p.id")
+    List<ProblemSummary> findActiveSummariesByDifficulty(@Param("difficulty") Problem.Difficulty difficulty, 
+                                                         @Param("after") Long after, 
+                                                         Pageable pageable);
     
-    @Query("SELECT p FROM Problem p WHERE :tag MEMBER OF p.tags AND p.isActive = true")
-    List<Problem> findActiveProblemsByTag(@Param("tag") String tag);
+    @Query(SUMMARY + "WHERE p.category = :category AND p.isActive = true AND p.id > :after ORDER BY p.id")
+    List<ProblemSummary> findActiveSummariesByCategory(@Param("category") Problem.Category category, 
+                                                       @Param("after") Long after, 
+                                                       Pageable pageable);
     
-    @Query("SELECT COUNT(p) FROM Problem p WHERE p.difficulty = :difficulty AND p.isActive = true")
-    Long countActiveProblemsByDifficulty(@Param("difficulty") Problem.Difficulty difficulty);
+    @Query(SUMMARY + "WHERE p.difficulty = :difficulty AND p.category = :category AND p.isActive = true AND p.id > :after ORDER BY p.id")
+    List<ProblemSummary> findActiveSummariesByDifficultyAndCategory(@Param("difficulty") Problem.Difficulty difficulty, 
+                                                                    @Param("category") Problem.Category category, 
+                                                                    @Param("after") Long after, 
+                                                                    Pageable pageable);
     
-    @Query("SELECT COUNT(p) FROM Problem p WHERE p.category = :category AND p.isActive = true")
-    Long countActiveProblemsByCategory(@Param("category") Problem.Category category);
+    @Query(SUMMARY + "WHERE :tag MEMBER OF p.tags AND p.isActive = true AND p.id > :after ORDER BY p.id")
+    List<ProblemSummary> findActiveSummariesByTag(@Param("tag") String tag, @Param("after") Long after, Pageable pageable);
+    
+    @Query("SELECT p.id FROM Problem p WHERE p.id > :after ORDER BY p.id")
+    List<Long> findIdsByIdGreaterThan(@Param("after") Long after, Pageable pageable);
+    
+    @Query("SELECT DISTINCT p FROM Problem p LEFT JOIN FETCH p.tags WHERE p.id IN :ids ORDER BY p.id")
+    List<Problem> findAllWithTagsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Tags for a page of summaries in one query, as (problem id, tag) pairs
+    @Query("SELECT p.id, t FROM Problem p JOIN p.tags t WHERE p.id IN :ids")
+    List<Object[]> findTagsByProblemIdIn(@Param("ids") Collection<Long> ids);
+
 }
@@ -1,37 +1,94 @@
 package com.example.dsaassistant.repository;
 
+import com.example.dsaassistant.dto.PendingGroup;
+import com.example.dsaassistant.dto.SubmissionSummary;
+import com.example.dsaassistant.dto.VerdictAggregate;
 import com.example.dsaassistant.model.Problem;
 import com.example.dsaassistant.model.ProblemSubmission;
 import com.example.dsaassistant.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProblemSubmissionRepository extends JpaRepository<ProblemSubmission, Long> {
     
-    List<ProblemSubmission> findByUser(User user);
+    // Keyset pages of summaries: rows with id greater than the cursor, in id order, without the code column
+    String SUMMARY = "SELECT new com.example.dsaassistant.dto.SubmissionSummary(s.id, s.user.id, s.problem.id, " +
+                     "s.language, s.status, s.testCasesPassed, s.totalTestCases, s.executionTimeMs, s.memoryUsedMB, " +
+                     "s.submittedAt) FROM ProblemSubmission s ";
     
-    List<ProblemSubmission> findByProblem(Problem problem);
+    @Query(SUMMARY + "WHERE s.id > :after ORDER BY s.id")
+    List<SubmissionSummary> findSummaries(@Param("after") Long after, Pageable pageable);
     
-    List<ProblemSubmission> findByStatus(ProblemSubmission.SubmissionStatus status);
+    @Query(SUMMARY + "WHERE s.user = :user AND s.id > :after ORDER BY s.id")
+    List<SubmissionSummary> findSummariesByUser(@Param("user") User user, 
+                                                @Param("after") Long after, 
+                                                Pageable pageable);
     
-    List<ProblemSubmission> findByLanguage(ProblemSubmission.Language language);
+    @Query(SUMMARY + "WHERE s.problem = :problem AND s.id > :after ORDER BY s.id")
+    List<SubmissionSummary> findSummariesByProblem(@Param("problem") Problem problem, 
+                                                   @Param("after") Long after, 
+                                                   Pageable pageable);
     
-    Optional<ProblemSubmission> findByUserAndProblem(User user, Problem problem);
+    @Query(SUMMARY + "WHERE s.status = :status AND s.id > :after ORDER BY s.id")
+    List<SubmissionSummary> findSummariesByStatus(@Param("status") ProblemSubmission.SubmissionStatus status, 
+                                                  @Param("after") Long after, 
+                                                  Pageable pageable);
+    
+    @Query(SUMMARY + "WHERE s.language = :language AND s.id > :after ORDER BY s.id")
+    List<SubmissionSummary> findSummariesByLanguage(@Param("language") ProblemSubmission.Language language, 
+                                                    @Param("after") Long after, 
+                                                    Pageable pageable);
+    
+    @Query(SUMMARY + "WHERE s.user.id = :userId AND s.status IN :statuses ORDER BY s.id")
+    List<SubmissionSummary> findSummariesByUserIdAndStatusIn(@Param("userId") Long userId, 
+                                                             @Param("statuses") Collection<ProblemSubmission.SubmissionStatus> statuses);
+    
+    @Query(SUMMARY + "WHERE s.user = :user AND s.status = :status AND s.id > :after ORDER BY s.id")
+    List<SubmissionSummary> findSummariesByUserAndStatus(@Param("user") User user, 
+                                                         @Param("status") ProblemSubmission.SubmissionStatus status, 
+                                                         @Param("after") Long after, 
+                                                         Pageable pageable);
+    
+    @Query(SUMMARY + "WHERE s.problem.difficulty = :difficulty AND s.user = :user AND s.id > :after ORDER BY s.id")
+    List<SubmissionSummary> findSummariesByUserAndProblemDifficulty(@Param("user") User user, 
+                                                                    @Param("difficulty") Problem.Difficulty difficulty, 
+                                                                    @Param("after") Long after, 
+                                                                    Pageable pageable);
     
-    @Query("SELECT s FROM ProblemSubmission s WHERE s.user = :user AND s.status = :status")
-    List<ProblemSubmission> findByUserAndStatus(@Param("user") User user, 
-                                               @Param("status") ProblemSubmission.SubmissionStatus status);
+    @Query(SUMMARY + "WHERE s.problem.category = :category AND s.user = :user AND s.id > :after ORDER BY s.id")
+    List<SubmissionSummary> findSummariesByUserAndProblemCategory(@Param("user") User user, 
+                                                                  @Param("category") Problem.Category category, 
+                                                                  @Param("after") Long after, 
+                                                                  Pageable pageable);
     
+    // Whole submissions returned to API callers load their associations up front rather than one select per row
+    @EntityGraph(ProblemSubmission.WITH_USER_AND_PROBLEM)
+    @Query("SELECT s FROM ProblemSubmission s WHERE s.id = :id")
+    Optional<ProblemSubmission> findWithUserAndProblemById(@Param("id") Long id);
+    
+    @EntityGraph(ProblemSubmission.WITH_USER_AND_PROBLEM)
+    Optional<ProblemSubmission> findByUserAndProblem(User user, Problem problem);
+    
+    @EntityGraph(ProblemSubmission.WITH_USER_AND_PROBLEM)
     @Query("SELECT s FROM ProblemSubmission s WHERE s.problem = :problem AND s.status = 'ACCEPTED'")
     List<ProblemSubmission> findAcceptedSubmissionsByProblem(@Param("problem") Problem problem);
     
+    @EntityGraph(ProblemSubmission.WITH_USER_AND_PROBLEM)
     @Query("SELECT s FROM ProblemSubmission s WHERE s.user = :user AND s.problem = :problem AND s.status = 'ACCEPTED'")
     Optional<ProblemSubmission> findAcceptedSubmissionByUserAndProblem(@Param("user") User user, 
                                                                       @Param("problem") Problem problem);
@@ -42,18 +99,115 @@ public interface ProblemSubmissionRepository extends JpaRepository<ProblemSubmis
     @Query("SELECT COUNT(s) FROM ProblemSubmission s WHERE s.problem = :problem AND s.status = 'ACCEPTED'")
     Long countAcceptedSubmissionsByProblem(@Param("problem") Problem problem);
     
+    @EntityGraph(ProblemSubmission.WITH_USER_AND_PROBLEM)
     @Query("SELECT s FROM ProblemSubmission s WHERE s.user = :user AND s.submittedAt >= :startDate AND s.submittedAt <= :endDate")
     List<ProblemSubmission> findByUserAndSubmittedAtBetween(@Param("user") User user, 
                                                            @Param("startDate") LocalDateTime startDate, 
                                                            @Param("endDate") LocalDateTime endDate);
     
-    @Query("SELECT s FROM ProblemSubmission s WHERE s.problem.difficulty = :difficulty AND s.user = :user")
-    List<ProblemSubmission> findByUserAndProblemDifficulty(@Param("user") User user, 
-                                                          @Param("difficulty") Problem.Difficulty difficulty);
+    boolean existsByUserAndProblem(User user, Problem problem);
     
-    @Query("SELECT s FROM ProblemSubmission s WHERE s.problem.category = :category AND s.user = :user")
-    List<ProblemSubmission> findByUserAndProblemCategory(@Param("user") User user, 
-                                                        @Param("category") Problem.Category category);
+    // Grouped from idx_submissions_pending_groups alone. Each user contributes at most `perUser` groups, their
+    // oldest, so a page of them covers that many users however many problems one user has pending.
+    String PENDING_GROUPS = "SELECT new com.example.dsaassistant.dto.PendingGroup(g.userId, u.role, g.problemId, g.pending, " +
+                            "g.oldestId, g.oldestSubmittedAt) FROM (SELECT s.user.id AS userId, s.problem.id AS problemId, " +
+                            "COUNT(s) AS pending, MIN(s.id) AS oldestId, MIN(s.submittedAt) AS oldestSubmittedAt, " +
+                            "ROW_NUMBER() OVER (PARTITION BY s.user.id ORDER BY MIN(s.id)) AS position " +
+                            "FROM ProblemSubmission s WHERE s.status = :status ";
+    String PENDING_GROUPS_PAGE = "GROUP BY s.user.id, s.problem.id) g JOIN User u ON u.id = g.userId " +
+                                 "WHERE g.position <= :perUser ORDER BY g.oldestId";
     
-    boolean existsByUserAndProblem(User user, Problem problem);
+    @Query(PENDING_GROUPS + PENDING_GROUPS_PAGE)
+    List<PendingGroup> findPendingGroups(@Param("status") ProblemSubmission.SubmissionStatus status, 
+                                         @Param("perUser") long perUser, 
+                                         Pageable pageable);
+    
+    @Query(PENDING_GROUPS + "AND s.problem.id IN :problemIds " + PENDING_GROUPS_PAGE)
+    List<PendingGroup> findPendingGroupsByProblemIdIn(@Param("status") ProblemSubmission.SubmissionStatus status, 
+                                                      @Param("problemIds") Collection<Long> problemIds, 
+                                                      @Param("perUser") long perUser, 
+                                                      Pageable pageable);
+    
+    @Query("SELECT s FROM ProblemSubmission s JOIN FETCH s.problem WHERE s.id IN :ids ORDER BY s.id")
+    List<ProblemSubmission> findAllWithProblemByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Latest verdict on the user's own identical code, judged against the problem's current test case
+    // version by the same runner and toolchain, that actually ran test cases
+    @Query("SELECT s FROM ProblemSubmission s JOIN s.problem p WHERE p.id = :problemId AND s.user.id = :userId " +
+           "AND s.language = :language AND s.codeHash = :codeHash AND s.testCaseVersion = p.testCaseVersion " +
+           "AND s.judgeVersion = :judgeVersion AND s.totalTestCases > 0 AND s.status IN :statuses ORDER BY s.id DESC")
+    List<ProblemSubmission> findReusableVerdicts(@Param("problemId") Long problemId, 
+                                                 @Param("userId") Long userId, 
+                                                 @Param("language") ProblemSubmission.Language language, 
+                                                 @Param("codeHash") String codeHash, 
+                                                 @Param("judgeVersion") String judgeVersion, 
+                                                 @Param("statuses") Collection<ProblemSubmission.SubmissionStatus> statuses, 
+                                                 Pageable pageable);
+    
+    // Final verdicts on a contest's problems inside its window, for rebuilding the in-memory leaderboard
+    @Query(SUMMARY + "WHERE s.problem.id IN :problemIds AND s.submittedAt BETWEEN :startTime AND :endTime " +
+           "AND s.status IN :finalStatuses ORDER BY s.id")
+    List<SubmissionSummary> findContestSummaries(@Param("problemIds") Collection<Long> problemIds, 
+                                                 @Param("startTime") LocalDateTime startTime, 
+                                                 @Param("endTime") LocalDateTime endTime, 
+                                                 @Param("finalStatuses") Collection<ProblemSubmission.SubmissionStatus> finalStatuses);
+    
+    // One grouped pass over a user id range, for the progress rebuild
+    @Query("SELECT new com.example.dsaassistant.dto.VerdictAggregate(s.user.id, p.category, p.difficulty, COUNT(s), " +
+           "SUM(CASE WHEN s.status = :accepted THEN 1L ELSE 0L END), " +
+           "SUM(CASE WHEN s.status = :accepted THEN COALESCE(s.executionTimeMs, 0L) ELSE 0L END), " +
+           "COUNT(DISTINCT CASE WHEN s.status = :accepted THEN p.id ELSE NULL END)) " +
+           "FROM ProblemSubmission s JOIN s.problem p " +
+           "WHERE s.user.id BETWEEN :fromUserId AND :toUserId AND s.status IN :finalStatuses " +
+           "GROUP BY s.user.id, p.category, p.difficulty")
+    List<VerdictAggregate> aggregateVerdictsByUserIdBetween(@Param("fromUserId") Long fromUserId, 
+                                                            @Param("toUserId") Long toUserId, 
+                                                            @Param("accepted") ProblemSubmission.SubmissionStatus accepted, 
+                                                            @Param("finalStatuses") Collection<ProblemSubmission.SubmissionStatus> finalStatuses);
+    
+    // Forward-only cursor for exports: consume it inside a transaction and close it when done
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT s FROM ProblemSubmission s WHERE (:problemId IS NULL OR s.problem.id = :problemId) " +
+           "AND (:userId IS NULL OR s.user.id = :userId) " +
+           "AND (:startDate IS NULL OR s.submittedAt >= :startDate) " +
+           "AND (:endDate IS NULL OR s.submittedAt <= :endDate) ORDER BY s.id")
+    Stream<ProblemSubmission> streamForExport(@Param("problemId") Long problemId, 
+                                              @Param("userId") Long userId, 
+                                              @Param("startDate") LocalDateTime startDate, 
+                                              @Param("endDate") LocalDateTime endDate);
+    
+    @Modifying
+    @Query("UPDATE ProblemSubmission s SET s.status = :to, s.claimedBy = :node, s.claimedAt = :now " +
+           "WHERE s.id = :id AND s.status = :from")
+    int claim(@Param("id") Long id, 
+              @Param("from") ProblemSubmission.SubmissionStatus from, 
+              @Param("to") ProblemSubmission.SubmissionStatus to, 
+              @Param("node") String node, 
+              @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE ProblemSubmission s SET s.claimedAt = :now WHERE s.status = :status AND s.claimedBy = :node")
+    int renewClaims(@Param("status") ProblemSubmission.SubmissionStatus status, 
+                    @Param("node") String node, 
+                    @Param("now") LocalDateTime now);
+    
+    // Claims this node held before a restart, plus any lease that lapsed (or was never taken)
+    @Modifying
+    @Query("UPDATE ProblemSubmission s SET s.status = :to, s.claimedBy = NULL, s.claimedAt = NULL " +
+           "WHERE s.status = :from AND (s.claimedBy = :node OR s.claimedAt IS NULL OR s.claimedAt < :expiredBefore)")
+    int releaseOwnAndExpiredClaims(@Param("from") ProblemSubmission.SubmissionStatus from, 
+                                   @Param("to") ProblemSubmission.SubmissionStatus to, 
+                                   @Param("node") String node, 
+                                   @Param("expiredBefore") LocalDateTime expiredBefore);
+    
+    @Modifying
+    @Query("UPDATE ProblemSubmission s SET s.status = :to, s.claimedBy = NULL, s.claimedAt = NULL " +
+           "WHERE s.status = :from AND (s.claimedAt IS NULL OR s.claimedAt < :expiredBefore)")
+    int releaseExpiredClaims(@Param("from") ProblemSubmission.SubmissionStatus from, 
+                             @Param("to") ProblemSubmission.SubmissionStatus to, 
+                             @Param("expiredBefore") LocalDateTime expiredBefore);
 }
@@ -0,0 +1,23 @@
+package com.example.dsaassistant.repository;
+
+import com.example.dsaassistant.model.ProgressRebuildPartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProgressRebuildPartitionRepository extends JpaRepository<ProgressRebuildPartition, Long> {
+    
+    @Query("SELECT MAX(p.jobId) FROM ProgressRebuildPartition p")
+    Long findLatestJobId();
+    
+    List<ProgressRebuildPartition> findByJobIdAndStatusNotOrderByFromUserIdAsc(Long jobId, ProgressRebuildPartition.Status status);
+    
+    // (status, partitions, users processed, rows written) per status of a job
+    @Query("SELECT p.status, COUNT(p), SUM(p.usersProcessed), SUM(p.rowsWritten) FROM ProgressRebuildPartition p " +
+           "WHERE p.jobId = :jobId GROUP BY p.status")
+    List<Object[]> summarizeJob(@Param("jobId") Long jobId);
+}
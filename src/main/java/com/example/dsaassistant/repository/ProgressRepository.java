@@ -17,6 +17,8 @@ public interface ProgressRepository extends JpaRepository<Progress, Long> {
     
     List<Progress> findByType(Progress.ProgressType type);
     
+    List<Progress> findByUserIdBetween(Long fromUserId, Long toUserId);
+    
     @Query("SELECT p FROM Progress p WHERE p.user = :user AND p.type = :type")
     List<Progress> findByUserAndType(@Param("user") User user, @Param("type") Progress.ProgressType type);
     
@@ -36,6 +38,12 @@ public interface ProgressRepository extends JpaRepository<Progress, Long> {
                                                      @Param("type") Progress.ProgressType type, 
                                                      @Param("difficulty") String difficulty);
     
+    // Null category or difficulty is matched with IS NULL
+    Optional<Progress> findFirstByUserAndTypeAndCategoryAndDifficultyOrderByIdAsc(User user, 
+                                                                                 Progress.ProgressType type, 
+                                                                                 String category, 
+                                                                                 String difficulty);
+    
     @Query("SELECT p FROM Progress p WHERE p.user = :user AND p.type = 'OVERALL'")
     Optional<Progress> findOverallProgressByUser(@Param("user") User user);
 }
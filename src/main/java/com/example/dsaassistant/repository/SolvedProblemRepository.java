@@ -0,0 +1,26 @@
+package com.example.dsaassistant.repository;
+
+import com.example.dsaassistant.model.SolvedProblem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SolvedProblemRepository extends JpaRepository<SolvedProblem, Long> {
+    
+    boolean existsByUserIdAndProblemId(Long userId, Long problemId);
+    
+    @Modifying
+    @Query("DELETE FROM SolvedProblem s WHERE s.userId BETWEEN :fromUserId AND :toUserId")
+    int deleteByUserIdBetween(@Param("fromUserId") Long fromUserId, @Param("toUserId") Long toUserId);
+    
+    // First accepted submission per (user, problem), computed and inserted in the database
+    @Modifying
+    @Query(value = "INSERT INTO solved_problems (user_id, problem_id, submission_id, solved_at) " +
+                   "SELECT user_id, problem_id, MIN(id), MIN(submitted_at) FROM problem_submissions " +
+                   "WHERE status = 'ACCEPTED' AND user_id BETWEEN :fromUserId AND :toUserId " +
+                   "GROUP BY user_id, problem_id", nativeQuery = true)
+    int insertFirstAcceptsByUserIdBetween(@Param("fromUserId") Long fromUserId, @Param("toUserId") Long toUserId);
+}
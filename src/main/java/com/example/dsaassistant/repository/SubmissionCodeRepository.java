@@ -0,0 +1,31 @@
+package com.example.dsaassistant.repository;
+
+import com.example.dsaassistant.model.SubmissionCode;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SubmissionCodeRepository extends JpaRepository<SubmissionCode, Long> {
+    
+    // Code not archived yet of submissions made before the cutoff, judged by each submission's own time
+    @Query("SELECT c FROM SubmissionCode c JOIN ProblemSubmission s ON s.id = c.submissionId " +
+           "WHERE c.archiveSegment IS NULL AND s.submittedAt < :cutoff ORDER BY c.submissionId")
+    List<SubmissionCode> findUnarchived(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM SubmissionCode c WHERE c.submissionId IN " +
+           "(SELECT s.id FROM ProblemSubmission s WHERE s.problem.id = :problemId)")
+    int deleteByProblemId(@Param("problemId") Long problemId);
+    
+    @Modifying
+    @Query("DELETE FROM SubmissionCode c WHERE c.submissionId IN " +
+           "(SELECT s.id FROM ProblemSubmission s WHERE s.user.id = :userId)")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,32 @@
+package com.example.dsaassistant.repository;
+
+import com.example.dsaassistant.dto.StageDurations;
+import com.example.dsaassistant.model.ProblemSubmission;
+import com.example.dsaassistant.model.SubmissionTimeline;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SubmissionTimelineRepository extends JpaRepository<SubmissionTimeline, Long> {
+    
+    // The most recent timelines first, without the packed stages column
+    String DURATIONS = "SELECT new com.example.dsaassistant.dto.StageDurations(t.queueMs, t.loadMs, t.compileMs, " +
+                       "t.runMs, t.compareMs, t.persistMs, t.totalMs) FROM SubmissionTimeline t ";
+    
+    @Query(DURATIONS + "WHERE t.language = :language ORDER BY t.submissionId DESC")
+    List<StageDurations> findRecentDurationsByLanguage(@Param("language") ProblemSubmission.Language language, 
+                                                       Pageable pageable);
+    
+    @Query(DURATIONS + "WHERE t.problemId = :problemId ORDER BY t.submissionId DESC")
+    List<StageDurations> findRecentDurationsByProblemId(@Param("problemId") Long problemId, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM SubmissionTimeline t WHERE t.problemId = :problemId")
+    int deleteByProblemId(@Param("problemId") Long problemId);
+}
@@ -29,4 +29,13 @@ public interface TestCaseRepository extends JpaRepository<TestCase, Long> {
     
     @Query("SELECT COUNT(t) FROM TestCase t WHERE t.problem = :problem AND t.isSample = true")
     Long countSampleTestCasesByProblem(@Param("problem") Problem problem);
+    
+    @Query("SELECT COUNT(t) > 0 FROM TestCase t WHERE t.inputHash = :hash OR t.expectedOutputHash = :hash")
+    boolean isBlobReferenced(@Param("hash") String hash);
+    
+    @Query("SELECT DISTINCT t.inputHash FROM TestCase t")
+    List<String> findInputHashes();
+    
+    @Query("SELECT DISTINCT t.expectedOutputHash FROM TestCase t")
+    List<String> findExpectedOutputHashes();
 }
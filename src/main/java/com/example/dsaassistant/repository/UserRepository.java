@@ -1,7 +1,11 @@
 package com.example.dsaassistant.repository;
 
+import com.example.dsaassistant.dto.UserSummary;
 import com.example.dsaassistant.model.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,12 +24,37 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     boolean existsByEmail(String email);
     
-    List<User> findByRole(User.Role role);
+    // Row lock that serializes one user's progress updates across transactions and judge nodes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> lockById(@Param("id") Long id);
     
-    List<User> findByIsActiveTrue();
+    // The same lock over an id range, taken in id order so concurrent lockers cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id BETWEEN :from AND :to ORDER BY u.id")
+    List<User> lockByIdBetween(@Param("from") Long from, @Param("to") Long to);
     
-    @Query("SELECT u FROM User u WHERE u.firstName LIKE %:name% OR u.lastName LIKE %:name%")
-    List<User> findByNameContaining(@Param("name") String name);
+    @Query("SELECT MIN(u.id) FROM User u")
+    Long findMinId();
+    
+    @Query("SELECT MAX(u.id) FROM User u")
+    Long findMaxId();
+    
+    // Keyset pages of summaries: rows with id greater than the cursor, in id order
+    String SUMMARY = "SELECT new com.example.dsaassistant.dto.UserSummary(u.id, u.username, u.firstName, u.lastName, " +
+                     "u.role, u.isActive, u.createdAt) FROM User u ";
+    
+    @Query(SUMMARY + "WHERE u.id > :after ORDER BY u.id")
+    List<UserSummary> findSummaries(@Param("after") Long after, Pageable pageable);
+    
+    @Query(SUMMARY + "WHERE u.role = :role AND u.id > :after ORDER BY u.id")
+    List<UserSummary> findSummariesByRole(@Param("role") User.Role role, @Param("after") Long after, Pageable pageable);
+    
+    @Query(SUMMARY + "WHERE u.isActive = true AND u.id > :after ORDER BY u.id")
+    List<UserSummary> findActiveSummaries(@Param("after") Long after, Pageable pageable);
+    
+    @Query(SUMMARY + "WHERE (u.firstName LIKE %:name% OR u.lastName LIKE %:name%) AND u.id > :after ORDER BY u.id")
+    List<UserSummary> findSummariesByNameContaining(@Param("name") String name, @Param("after") Long after, Pageable pageable);
     
     @Query("SELECT u FROM User u WHERE u.role = :role AND u.isActive = true")
     List<User> findActiveUsersByRole(@Param("role") User.Role role);
@@ -0,0 +1,15 @@
+package com.example.dsaassistant.search;
+
+import com.example.dsaassistant.model.Problem;
+
+import java.util.Set;
+
+// Values within a facet are OR-ed (tags can be AND-ed instead), facets are AND-ed; an empty set or
+// null active leaves that facet unfiltered
+public record ProblemFacetFilter(
+        Set<Problem.Difficulty> difficulties,
+        Set<Problem.Category> categories,
+        Set<String> tags,
+        boolean allTags,
+        Boolean active) {
+}
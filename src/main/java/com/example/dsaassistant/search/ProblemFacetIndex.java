@@ -0,0 +1,363 @@
+package com.example.dsaassistant.search;
+
+import com.example.dsaassistant.dto.CursorPage;
+import com.example.dsaassistant.dto.ProblemFacetPage;
+import com.example.dsaassistant.dto.ProblemSummary;
+import com.example.dsaassistant.event.ProblemChangedEvent;
+import com.example.dsaassistant.model.Problem;
+import com.example.dsaassistant.repository.ProblemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// One bitset per facet value over dense problem ordinals, so any combination of filters is a few
+// word-wise ANDs and ORs and every facet count is a cardinality. Ordinals are handed out in id order
+// and never reused, which keeps keyset paging by id a scan from a bit position. Counts of active
+// problems per difficulty and category are kept as plain counters for the stats endpoints.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProblemFacetIndex {
+    
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int MAX_TAG_COUNTS = 50;
+    
+    private final ProblemRepository problemRepository;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] ids = new long[64];
+    private ProblemSummary[] summaries = new ProblemSummary[64];
+    private int nextOrdinal;
+    private final BitSet live = new BitSet();
+    private final BitSet active = new BitSet();
+    private final Map<Problem.Difficulty, BitSet> byDifficulty = new EnumMap<>(Problem.Difficulty.class);
+    private final Map<Problem.Category, BitSet> byCategory = new EnumMap<>(Problem.Category.class);
+    private final Map<String, BitSet> byTag = new HashMap<>();
+    private final Map<Problem.Difficulty, Integer> activeByDifficulty = new EnumMap<>(Problem.Difficulty.class);
+    private final Map<Problem.Category, Integer> activeByCategory = new EnumMap<>(Problem.Category.class);
+    
+    public ProblemFacetPage browse(ProblemFacetFilter filter, Long after, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet difficultyMatch = anyOf(byDifficulty, filter.difficulties());
+            BitSet categoryMatch = anyOf(byCategory, filter.categories());
+            BitSet tagMatch = filter.allTags() ? allOf(byTag, filter.tags()) : anyOf(byTag, filter.tags());
+            BitSet activeMatch = filter.active() == null ? null : filter.active() ? active : inactive();
+            
+            BitSet result = intersect(difficultyMatch, categoryMatch, tagMatch, activeMatch);
+            
+            Map<Problem.Difficulty, Integer> difficultyCounts = new EnumMap<>(Problem.Difficulty.class);
+            BitSet withoutDifficulty = intersect(null, categoryMatch, tagMatch, activeMatch);
+            byDifficulty.forEach((difficulty, bits) -> putCount(difficultyCounts, difficulty, withoutDifficulty, bits));
+            
+            Map<Problem.Category, Integer> categoryCounts = new EnumMap<>(Problem.Category.class);
+            BitSet withoutCategory = intersect(difficultyMatch, null, tagMatch, activeMatch);
+            byCategory.forEach((category, bits) -> putCount(categoryCounts, category, withoutCategory, bits));
+            
+            Map<Boolean, Integer> activeCounts = new LinkedHashMap<>();
+            BitSet withoutActive = intersect(difficultyMatch, categoryMatch, tagMatch, null);
+            putCount(activeCounts, true, withoutActive, active);
+            putCount(activeCounts, false, withoutActive, inactive());
+            
+            CursorPage<ProblemSummary> page = page(result, after, limit);
+            return new ProblemFacetPage(page.getItems(), page.getNextCursor(), result.cardinality(),
+                    difficultyCounts, categoryCounts, tagCounts(result), activeCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public long countActiveByDifficulty(Problem.Difficulty difficulty) {
+        lock.readLock().lock();
+        try {
+            return activeByDifficulty.getOrDefault(difficulty, 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public long countActiveByCategory(Problem.Category category) {
+        lock.readLock().lock();
+        try {
+            return activeByCategory.getOrDefault(category, 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProblemChanged(ProblemChangedEvent event) {
+        if (event.getChange() == ProblemChangedEvent.Change.TEST_CASES_CHANGED) {
+            return;
+        }
+        if (event.getChange() == ProblemChangedEvent.Change.DELETED) {
+            remove(event.getProblemId());
+            return;
+        }
+        List<ProblemSummary> loaded = withTags(problemRepository.findSummariesByIdIn(List.of(event.getProblemId())));
+        if (loaded.isEmpty()) {
+            remove(event.getProblemId());
+        } else {
+            index(loaded.get(0));
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long after = 0L;
+        int indexed = 0;
+        while (true) {
+            List<ProblemSummary> batch = problemRepository.findSummaries(after, PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            withTags(batch).forEach(this::index);
+            indexed += batch.size();
+            after = batch.get(batch.size() - 1).id();
+        }
+        log.info("Indexed facets of {} problems", indexed);
+    }
+    
+    public void index(ProblemSummary summary) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(summary.id());
+            if (ordinal != null) {
+                clear(ordinal);
+            } else if (nextOrdinal > 0 && summary.id() < ids[nextOrdinal - 1]) {
+                // A lower id committed after a higher one; lay the ordinals out again to keep id order
+                relayout(summary);
+                return;
+            } else {
+                ordinal = append(summary.id());
+            }
+            set(ordinal, summary);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long problemId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(problemId);
+            if (ordinal != null) {
+                clear(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private List<ProblemSummary> withTags(List<ProblemSummary> batch) {
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        Map<Long, List<String>> tagsById = new HashMap<>();
+        for (Object[] row : problemRepository.findTagsByProblemIdIn(batch.stream().map(ProblemSummary::id).toList())) {
+            tagsById.computeIfAbsent((Long) row[0], key -> new ArrayList<>()).add((String) row[1]);
+        }
+        return batch.stream().map(summary -> summary.withTags(tagsById.getOrDefault(summary.id(), List.of()))).toList();
+    }
+    
+    private CursorPage<ProblemSummary> page(BitSet result, Long after, int limit) {
+        int fetch = CursorPage.request(limit).getPageSize();
+        List<ProblemSummary> rows = new ArrayList<>(fetch);
+        for (int ordinal = result.nextSetBit(firstOrdinalAfter(after)); ordinal >= 0 && rows.size() < fetch;
+             ordinal = result.nextSetBit(ordinal + 1)) {
+            rows.add(summaries[ordinal]);
+        }
+        return CursorPage.of(rows, limit, ProblemSummary::id);
+    }
+    
+    // Ids grow with the ordinal, so the cursor position is a binary search even if that id is gone
+    private int firstOrdinalAfter(Long after) {
+        if (after == null) {
+            return 0;
+        }
+        int position = Arrays.binarySearch(ids, 0, nextOrdinal, after);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+    
+    private Map<String, Integer> tagCounts(BitSet result) {
+        List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+        byTag.forEach((tag, bits) -> {
+            int count = countAnd(result, bits);
+            if (count > 0) {
+                counts.add(Map.entry(tag, count));
+            }
+        });
+        counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Integer> top = new LinkedHashMap<>();
+        for (int i = 0; i < counts.size() && i < MAX_TAG_COUNTS; i++) {
+            top.put(counts.get(i).getKey(), counts.get(i).getValue());
+        }
+        return top;
+    }
+    
+    private <K> BitSet anyOf(Map<K, BitSet> facet, Collection<K> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        BitSet union = new BitSet();
+        for (K value : values) {
+            BitSet bits = facet.get(value);
+            if (bits != null) {
+                union.or(bits);
+            }
+        }
+        return union;
+    }
+    
+    private <K> BitSet allOf(Map<K, BitSet> facet, Collection<K> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        BitSet intersection = null;
+        for (K value : values) {
+            BitSet bits = facet.get(value);
+            if (bits == null) {
+                return new BitSet();
+            }
+            if (intersection == null) {
+                intersection = (BitSet) bits.clone();
+            } else {
+                intersection.and(bits);
+            }
+        }
+        return intersection;
+    }
+    
+    private BitSet intersect(BitSet... filters) {
+        BitSet result = (BitSet) live.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+    
+    private BitSet inactive() {
+        BitSet inactive = (BitSet) live.clone();
+        inactive.andNot(active);
+        return inactive;
+    }
+    
+    private <K> void putCount(Map<K, Integer> counts, K key, BitSet base, BitSet bits) {
+        counts.put(key, countAnd(base, bits));
+    }
+    
+    private int countAnd(BitSet a, BitSet b) {
+        BitSet both = (BitSet) a.clone();
+        both.and(b);
+        return both.cardinality();
+    }
+    
+    private int append(Long problemId) {
+        if (nextOrdinal == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            summaries = Arrays.copyOf(summaries, summaries.length * 2);
+        }
+        int ordinal = nextOrdinal++;
+        ids[ordinal] = problemId;
+        ordinals.put(problemId, ordinal);
+        return ordinal;
+    }
+    
+    private void set(int ordinal, ProblemSummary summary) {
+        summaries[ordinal] = summary;
+        live.set(ordinal);
+        boolean isActive = Boolean.TRUE.equals(summary.isActive());
+        if (isActive) {
+            active.set(ordinal);
+        }
+        if (summary.difficulty() != null) {
+            byDifficulty.computeIfAbsent(summary.difficulty(), key -> new BitSet()).set(ordinal);
+            if (isActive) {
+                activeByDifficulty.merge(summary.difficulty(), 1, Integer::sum);
+            }
+        }
+        if (summary.category() != null) {
+            byCategory.computeIfAbsent(summary.category(), key -> new BitSet()).set(ordinal);
+            if (isActive) {
+                activeByCategory.merge(summary.category(), 1, Integer::sum);
+            }
+        }
+        for (String tag : summary.tags()) {
+            byTag.computeIfAbsent(tag, key -> new BitSet()).set(ordinal);
+        }
+    }
+    
+    private void clear(int ordinal) {
+        ProblemSummary summary = summaries[ordinal];
+        if (summary == null) {
+            return;
+        }
+        boolean wasActive = active.get(ordinal);
+        summaries[ordinal] = null;
+        live.clear(ordinal);
+        active.clear(ordinal);
+        if (summary.difficulty() != null) {
+            byDifficulty.get(summary.difficulty()).clear(ordinal);
+            if (wasActive) {
+                activeByDifficulty.merge(summary.difficulty(), -1, Integer::sum);
+            }
+        }
+        if (summary.category() != null) {
+            byCategory.get(summary.category()).clear(ordinal);
+            if (wasActive) {
+                activeByCategory.merge(summary.category(), -1, Integer::sum);
+            }
+        }
+        for (String tag : summary.tags()) {
+            BitSet bits = byTag.get(tag);
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                byTag.remove(tag);
+            }
+        }
+    }
+    
+    // Rebuilds every structure from the live summaries plus the new one, in id order
+    private void relayout(ProblemSummary added) {
+        List<ProblemSummary> all = new ArrayList<>(ordinals.size() + 1);
+        for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+            all.add(summaries[ordinal]);
+        }
+        all.add(added);
+        all.sort((a, b) -> Long.compare(a.id(), b.id()));
+        
+        ordinals.clear();
+        ids = new long[Math.max(64, all.size() * 2)];
+        summaries = new ProblemSummary[ids.length];
+        nextOrdinal = 0;
+        live.clear();
+        active.clear();
+        byDifficulty.clear();
+        byCategory.clear();
+        byTag.clear();
+        activeByDifficulty.clear();
+        activeByCategory.clear();
+        for (ProblemSummary summary : all) {
+            set(append(summary.id()), summary);
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.example.dsaassistant.search;
+
+import com.example.dsaassistant.dto.ProblemSummary;
+import com.example.dsaassistant.event.ProblemChangedEvent;
+import com.example.dsaassistant.model.Problem;
+import com.example.dsaassistant.repository.ProblemRepository;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over problem titles, descriptions, statements and tags, ranked with BM25.
+// Field weights scale term frequency and length, so a title hit counts for more than a statement hit.
+// The last query word also matches as a prefix, for search-as-you-type. Built at startup and kept
+// current from ProblemChangedEvent after commit; searches never touch the database.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProblemSearchIndex {
+    
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double TAG_WEIGHT = 2.0;
+    private static final double BODY_WEIGHT = 1.0;
+    // Stems reached only by prefix completion score less than the word as typed
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int LOAD_BATCH_SIZE = 500;
+    
+    private final ProblemRepository problemRepository;
+    private final TextAnalyzer analyzer = new TextAnalyzer();
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    // Surface word -> stem and how many problems contain it, for prefix lookups
+    private final NavigableMap<String, Word> words = new TreeMap<>();
+    // Documents are addressed by a dense ordinal so scoring runs over arrays instead of boxed maps
+    private final Map<Long, Document> documents = new HashMap<>();
+    private Document[] byOrdinal = new Document[64];
+    private final ArrayDeque<Integer> freeOrdinals = new ArrayDeque<>();
+    private int nextOrdinal;
+    private double totalLength;
+    
+    public List<ProblemSummary> search(String query, int offset, int limit) {
+        List<TextAnalyzer.Token> tokens = analyzer.analyze(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+            Map<String, Double> queryStems = new HashMap<>();
+            for (int i = 0; i < tokens.size() - 1; i++) {
+                queryStems.merge(tokens.get(i).stem(), 1.0, Double::sum);
+            }
+            TextAnalyzer.Token last = tokens.get(tokens.size() - 1);
+            queryStems.merge(last.stem(), 1.0, Double::sum);
+            expandPrefix(last.word(), queryStems);
+            
+            double[] scores = new double[nextOrdinal];
+            double averageLength = totalLength / documents.size();
+            queryStems.forEach((stem, queryWeight) -> score(stem, queryWeight, averageLength, scores));
+            return top(scores, Math.max(0, offset), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public void index(Problem problem) {
+        Map<String, Double> termFrequencies = new HashMap<>();
+        Map<String, String> surfaceWords = new HashMap<>();
+        double length = addField(problem.getTitle(), TITLE_WEIGHT, termFrequencies, surfaceWords)
+                + addField(problem.getDescription(), BODY_WEIGHT, termFrequencies, surfaceWords)
+                + addField(problem.getProblemStatement(), BODY_WEIGHT, termFrequencies, surfaceWords);
+        List<String> tags = problem.getTags() == null ? List.of() : List.copyOf(problem.getTags());
+        for (String tag : tags) {
+            length += addField(tag, TAG_WEIGHT, termFrequencies, surfaceWords);
+        }
+        ProblemSummary summary = new ProblemSummary(problem.getId(), problem.getTitle(), problem.getDifficulty(),
+                problem.getCategory(), problem.getIsActive(), tags);
+        
+        lock.writeLock().lock();
+        try {
+            removeLocked(problem.getId());
+            int ordinal = allocateOrdinal();
+            termFrequencies.forEach((stem, frequency) ->
+                    postings.computeIfAbsent(stem, key -> new Postings()).add(ordinal, frequency));
+            surfaceWords.forEach((word, stem) -> words.computeIfAbsent(word, key -> new Word(stem)).documents++);
+            Document document = new Document(ordinal, summary, length, List.copyOf(termFrequencies.keySet()),
+                    List.copyOf(surfaceWords.keySet()));
+            documents.put(problem.getId(), document);
+            byOrdinal[ordinal] = document;
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long problemId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(problemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProblemChanged(ProblemChangedEvent event) {
+        if (event.getChange() == ProblemChangedEvent.Change.TEST_CASES_CHANGED) {
+            return;
+        }
+        if (event.getChange() == ProblemChangedEvent.Change.DELETED) {
+            remove(event.getProblemId());
+            return;
+        }
+        List<Problem> problems = problemRepository.findAllWithTagsByIdIn(List.of(event.getProblemId()));
+        if (problems.isEmpty()) {
+            remove(event.getProblemId());
+        } else {
+            index(problems.get(0));
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long after = 0L;
+        int indexed = 0;
+        while (true) {
+            List<Long> ids = problemRepository.findIdsByIdGreaterThan(after, PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            problemRepository.findAllWithTagsByIdIn(ids).forEach(this::index);
+            indexed += ids.size();
+            after = ids.get(ids.size() - 1);
+        }
+        log.info("Indexed {} problems for search", indexed);
+    }
+    
+    private double addField(String text, double weight, Map<String, Double> termFrequencies, Map<String, String> surfaceWords) {
+        List<TextAnalyzer.Token> tokens = analyzer.analyze(text);
+        for (TextAnalyzer.Token token : tokens) {
+            termFrequencies.merge(token.stem(), weight, Double::sum);
+            surfaceWords.put(token.word(), token.stem());
+        }
+        return tokens.size() * weight;
+    }
+    
+    private void expandPrefix(String prefix, Map<String, Double> queryStems) {
+        int expansions = 0;
+        for (Map.Entry<String, Word> entry : words.subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+            if (expansions++ >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            queryStems.putIfAbsent(entry.getValue().stem, PREFIX_WEIGHT);
+        }
+    }
+    
+    private void score(String stem, double queryWeight, double averageLength, double[] scores) {
+        Postings matches = postings.get(stem);
+        if (matches == null) {
+            return;
+        }
+        int total = documents.size();
+        double idf = Math.log(1 + (total - matches.size + 0.5) / (matches.size + 0.5));
+        for (int i = 0; i < matches.size; i++) {
+            int ordinal = matches.ordinals[i];
+            double frequency = matches.frequencies[i];
+            double norm = K1 * (1 - B + B * byOrdinal[ordinal].length / averageLength);
+            scores[ordinal] += queryWeight * idf * frequency * (K1 + 1) / (frequency + norm);
+        }
+    }
+    
+    // Keeps only the best offset + limit hits in a min-heap of ordinals instead of sorting every match
+    private List<ProblemSummary> top(double[] scores, int offset, int limit) {
+        if (offset >= scores.length) {
+            return List.of();
+        }
+        // In long arithmetic, since a client-supplied offset can be close to Integer.MAX_VALUE
+        int[] heap = new int[(int) Math.min((long) offset + limit, scores.length)];
+        int size = 0;
+        for (int ordinal = 0; ordinal < scores.length; ordinal++) {
+            if (scores[ordinal] <= 0) {
+                continue;
+            }
+            if (size < heap.length) {
+                heap[size] = ordinal;
+                siftUp(heap, size++, scores);
+            } else if (heap.length > 0 && ranksAbove(ordinal, heap[0], scores)) {
+                heap[0] = ordinal;
+                siftDown(heap, size, scores);
+            }
+        }
+        // Pop worst-first into the tail so the array ends up best-first
+        int[] ranked = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            ranked[i] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size, scores);
+        }
+        List<ProblemSummary> results = new ArrayList<>(Math.max(0, ranked.length - offset));
+        for (int i = offset; i < ranked.length; i++) {
+            results.add(byOrdinal[ranked[i]].summary);
+        }
+        return results;
+    }
+    
+    // Higher score first, then lower problem id
+    private boolean ranksAbove(int a, int b, double[] scores) {
+        if (scores[a] != scores[b]) {
+            return scores[a] > scores[b];
+        }
+        return byOrdinal[a].summary.id() < byOrdinal[b].summary.id();
+    }
+    
+    private void siftUp(int[] heap, int index, double[] scores) {
+        int ordinal = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksAbove(heap[parent], ordinal, scores)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = ordinal;
+    }
+    
+    private void siftDown(int[] heap, int size, double[] scores) {
+        if (size == 0) {
+            return;
+        }
+        int ordinal = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && ranksAbove(heap[child], heap[child + 1], scores)) {
+                child++;
+            }
+            if (!ranksAbove(ordinal, heap[child], scores)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = ordinal;
+    }
+    
+    private int allocateOrdinal() {
+        Integer free = freeOrdinals.poll();
+        if (free != null) {
+            return free;
+        }
+        if (nextOrdinal == byOrdinal.length) {
+            byOrdinal = Arrays.copyOf(byOrdinal, byOrdinal.length * 2);
+        }
+        return nextOrdinal++;
+    }
+    
+    private void removeLocked(Long problemId) {
+        Document document = documents.remove(problemId);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length;
+        byOrdinal[document.ordinal] = null;
+        freeOrdinals.add(document.ordinal);
+        for (String stem : document.stems) {
+            Postings matches = postings.get(stem);
+            matches.remove(document.ordinal);
+            if (matches.size == 0) {
+                postings.remove(stem);
+            }
+        }
+        for (String word : document.words) {
+            Word entry = words.get(word);
+            if (--entry.documents == 0) {
+                words.remove(word);
+            }
+        }
+    }
+    
+    private static class Word {
+        private final String stem;
+        private int documents;
+        
+        Word(String stem) {
+            this.stem = stem;
+        }
+    }
+    
+    // Unordered parallel arrays; removal swaps in the last entry
+    private static class Postings {
+        private int[] ordinals = new int[4];
+        private double[] frequencies = new double[4];
+        private int size;
+        
+        void add(int ordinal, double frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+        }
+        
+        void remove(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    size--;
+                    ordinals[i] = ordinals[size];
+                    frequencies[i] = frequencies[size];
+                    return;
+                }
+            }
+        }
+    }
+    
+    @AllArgsConstructor
+    private static class Document {
+        private final int ordinal;
+        private final ProblemSummary summary;
+        private final double length;
+        private final List<String> stems;
+        private final List<String> words;
+    }
+}
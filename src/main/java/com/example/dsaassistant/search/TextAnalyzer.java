@@ -0,0 +1,81 @@
+package com.example.dsaassistant.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Splits text into lower-case alphanumeric words, drops stop words and reduces each word to a stem
+// with a light suffix stripper (plurals, -ing, -ed, -ly). Both forms are kept: the index is keyed by
+// stem, and prefix lookups go through the surface words.
+class TextAnalyzer {
+    
+    private static final int MAX_WORD_LENGTH = 40;
+    
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "in", "is", "it", "its",
+            "of", "on", "or", "that", "the", "this", "to", "was", "were", "will", "with");
+    
+    List<Token> analyze(String text) {
+        List<Token> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addWord(lower.substring(start, Math.min(i, start + MAX_WORD_LENGTH)), tokens);
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+    
+    private void addWord(String word, List<Token> tokens) {
+        if (!STOP_WORDS.contains(word)) {
+            tokens.add(new Token(word, stem(word)));
+        }
+    }
+    
+    static String stem(String word) {
+        if (word.length() <= 3 || !Character.isLetter(word.charAt(0))) {
+            return word;
+        }
+        String stem = word;
+        if (stem.endsWith("ies") && stem.length() > 4) {
+            stem = stem.substring(0, stem.length() - 3) + "y";
+        } else if (stem.endsWith("sses") || stem.endsWith("shes") || stem.endsWith("ches") || stem.endsWith("xes")) {
+            stem = stem.substring(0, stem.length() - 2);
+        } else if (stem.endsWith("s") && !stem.endsWith("ss") && !stem.endsWith("us") && !stem.endsWith("is")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+        
+        if (stem.endsWith("ing") && stem.length() >= 6) {
+            stem = undouble(stem.substring(0, stem.length() - 3));
+        } else if (stem.endsWith("ed") && stem.length() >= 5) {
+            stem = undouble(stem.substring(0, stem.length() - 2));
+        } else if (stem.endsWith("ly") && stem.length() >= 6) {
+            stem = stem.substring(0, stem.length() - 2);
+        }
+        return stem;
+    }
+    
+    // running -> runn -> run, but not for l, s and z (falling, passing, buzzing keep both letters)
+    private static String undouble(String stem) {
+        int length = stem.length();
+        if (length >= 3) {
+            char last = stem.charAt(length - 1);
+            if (last == stem.charAt(length - 2) && "aeioulsz".indexOf(last) < 0 && Character.isLetter(last)) {
+                return stem.substring(0, length - 1);
+            }
+        }
+        return stem;
+    }
+    
+    record Token(String word, String stem) {
+    }
+}
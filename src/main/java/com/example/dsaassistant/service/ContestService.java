@@ -0,0 +1,67 @@
+package com.example.dsaassistant.service;
+
+import com.example.dsaassistant.event.ContestChangedEvent;
+import com.example.dsaassistant.model.Contest;
+import com.example.dsaassistant.repository.ContestRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ContestService {
+    
+    private final ContestRepository contestRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    public Contest createContest(Contest contest) {
+        validateWindow(contest);
+        Contest savedContest = contestRepository.save(contest);
+        eventPublisher.publishEvent(new ContestChangedEvent(savedContest.getId(), ContestChangedEvent.Change.CREATED));
+        return savedContest;
+    }
+    
+    public Contest updateContest(Long id, Contest contestDetails) {
+        Contest contest = contestRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Contest not found with id: " + id));
+        validateWindow(contestDetails);
+        
+        contest.setName(contestDetails.getName());
+        contest.setStartTime(contestDetails.getStartTime());
+        contest.setEndTime(contestDetails.getEndTime());
+        contest.setPenaltyMinutes(contestDetails.getPenaltyMinutes());
+        contest.setProblemIds(contestDetails.getProblemIds());
+        
+        Contest savedContest = contestRepository.save(contest);
+        eventPublisher.publishEvent(new ContestChangedEvent(id, ContestChangedEvent.Change.UPDATED));
+        return savedContest;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<Contest> getAllContests() {
+        return contestRepository.findAll();
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<Contest> getContestById(Long id) {
+        return contestRepository.findById(id);
+    }
+    
+    public void deleteContest(Long id) {
+        Contest contest = contestRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Contest not found with id: " + id));
+        contestRepository.delete(contest);
+        eventPublisher.publishEvent(new ContestChangedEvent(id, ContestChangedEvent.Change.DELETED));
+    }
+    
+    private void validateWindow(Contest contest) {
+        if (!contest.getEndTime().isAfter(contest.getStartTime())) {
+            throw new RuntimeException("Contest must end after it starts");
+        }
+    }
+}
@@ -1,12 +1,27 @@
 package com.example.dsaassistant.service;
 
+import com.example.dsaassistant.cache.LocalCache;
+import com.example.dsaassistant.dto.CursorPage;
+import com.example.dsaassistant.dto.ProblemFacetPage;
+import com.example.dsaassistant.dto.ProblemSummary;
+import com.example.dsaassistant.event.ProblemChangedEvent;
 import com.example.dsaassistant.model.Problem;
 import com.example.dsaassistant.repository.ProblemRepository;
+import com.example.dsaassistant.repository.SubmissionTimelineRepository;
+import com.example.dsaassistant.search.ProblemFacetFilter;
+import com.example.dsaassistant.search.ProblemFacetIndex;
+import com.example.dsaassistant.search.ProblemSearchIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -15,14 +30,27 @@ import java.util.Optional;
 public class ProblemService {
     
     private final ProblemRepository problemRepository;
+    private final SubmissionTimelineRepository timelineRepository;
+    private final SubmissionCodeService codeService;
+    private final TestCaseService testCaseService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProblemSearchIndex searchIndex;
+    private final ProblemFacetIndex facetIndex;
+    private final LocalCache<Long, Problem> problemCache;
     
     public Problem createProblem(Problem problem) {
-        return problemRepository.save(problem);
+        Problem savedProblem = problemRepository.save(problem);
+        eventPublisher.publishEvent(new ProblemChangedEvent(savedProblem.getId(), ProblemChangedEvent.Change.CREATED));
+        return savedProblem;
     }
     
     public Problem updateProblem(Long id, Problem problemDetails) {
         Problem problem = problemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Problem not found with id: " + id));
+        boolean judgingChanged = !Objects.equals(problem.getTimeLimitSeconds(), problemDetails.getTimeLimitSeconds())
+                || !Objects.equals(problem.getMemoryLimitMB(), problemDetails.getMemoryLimitMB())
+                || problem.getComparisonMode() != problemDetails.getComparisonMode()
+                || !Objects.equals(problem.getFloatTolerance(), problemDetails.getFloatTolerance());
         
         problem.setTitle(problemDetails.getTitle());
         problem.setDescription(problemDetails.getDescription());
@@ -35,29 +63,42 @@ public class ProblemService {
         problem.setTags(problemDetails.getTags());
         problem.setTimeLimitSeconds(problemDetails.getTimeLimitSeconds());
         problem.setMemoryLimitMB(problemDetails.getMemoryLimitMB());
+        problem.setEvaluationStrategy(problemDetails.getEvaluationStrategy());
+        problem.setComparisonMode(problemDetails.getComparisonMode());
+        problem.setFloatTolerance(problemDetails.getFloatTolerance());
         problem.setIsActive(problemDetails.getIsActive());
         
-        return problemRepository.save(problem);
+        Problem savedProblem = problemRepository.save(problem);
+        if (judgingChanged) {
+            problemRepository.incrementTestCaseVersion(id);
+        }
+        eventPublisher.publishEvent(new ProblemChangedEvent(id, ProblemChangedEvent.Change.UPDATED));
+        return savedProblem;
     }
     
     @Transactional(readOnly = true)
-    public List<Problem> getAllProblems() {
-        return problemRepository.findAll();
+    public CursorPage<ProblemSummary> getAllProblems(Long after, int limit) {
+        return withTags(CursorPage.of(problemRepository.findSummaries(
+                CursorPage.after(after), CursorPage.request(limit)), limit, ProblemSummary::id));
     }
     
-    @Transactional(readOnly = true)
+    // Served from the local cache; a miss loads the problem and its tags in one query. The returned
+    // problem is a detached copy without submissions or test cases.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<Problem> getProblemById(Long id) {
-        return problemRepository.findById(id);
+        return problemCache.get(id, key -> problemRepository.findAllWithTagsByIdIn(List.of(key)).stream().findFirst());
     }
     
     @Transactional(readOnly = true)
-    public List<Problem> getProblemsByDifficulty(Problem.Difficulty difficulty) {
-        return problemRepository.findByDifficulty(difficulty);
+    public CursorPage<ProblemSummary> getProblemsByDifficulty(Problem.Difficulty difficulty, Long after, int limit) {
+        return withTags(CursorPage.of(problemRepository.findSummariesByDifficulty(
+                difficulty, CursorPage.after(after), CursorPage.request(limit)), limit, ProblemSummary::id));
     }
     
     @Transactional(readOnly = true)
-    public List<Problem> getProblemsByCategory(Problem.Category category) {
-        return problemRepository.findByCategory(category);
+    public CursorPage<ProblemSummary> getProblemsByCategory(Problem.Category category, Long after, int limit) {
+        return withTags(CursorPage.of(problemRepository.findSummariesByCategory(
+                category, CursorPage.after(after), CursorPage.request(limit)), limit, ProblemSummary::id));
     }
     
     @Transactional(readOnly = true)
@@ -66,50 +107,95 @@ public class ProblemService {
     }
     
     @Transactional(readOnly = true)
-    public List<Problem> searchProblems(String searchTerm) {
-        return problemRepository.findByTitleOrDescriptionContaining(searchTerm, searchTerm);
+    public CursorPage<ProblemSummary> getActiveProblems(Long after, int limit) {
+        return withTags(CursorPage.of(problemRepository.findActiveSummaries(
+                CursorPage.after(after), CursorPage.request(limit)), limit, ProblemSummary::id));
     }
     
-    @Transactional(readOnly = true)
-    public List<Problem> getActiveProblemsByDifficulty(Problem.Difficulty difficulty) {
-        return problemRepository.findActiveProblemsByDifficulty(difficulty);
+    // Ranked by relevance and served from the in-memory index, so no transaction or connection is needed;
+    // the cursor is the number of results already returned
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CursorPage<ProblemSummary> searchProblems(String searchTerm, Long after, int limit) {
+        // Cursors outside what an int offset can address are clamped: below zero is the first page, above
+        // Integer.MAX_VALUE an empty last one
+        long offset = Math.max(0L, Math.min(CursorPage.after(after), Integer.MAX_VALUE));
+        List<ProblemSummary> results = searchIndex.search(searchTerm, (int) offset, CursorPage.request(limit).getPageSize());
+        return CursorPage.atOffset(results, offset, limit);
     }
     
     @Transactional(readOnly = true)
-    public List<Problem> getActiveProblemsByCategory(Problem.Category category) {
-        return problemRepository.findActiveProblemsByCategory(category);
+    public CursorPage<ProblemSummary> getActiveProblemsByDifficulty(Problem.Difficulty difficulty, Long after, int limit) {
+        return withTags(CursorPage.of(problemRepository.findActiveSummariesByDifficulty(
+                difficulty, CursorPage.after(after), CursorPage.request(limit)), limit, ProblemSummary::id));
     }
     
     @Transactional(readOnly = true)
-    public List<Problem> getActiveProblemsByDifficultyAndCategory(Problem.Difficulty difficulty, Problem.Category category) {
-        return problemRepository.findActiveProblemsByDifficultyAndCategory(difficulty, category);
+    public CursorPage<ProblemSummary> getActiveProblemsByCategory(Problem.Category category, Long after, int limit) {
+        return withTags(CursorPage.of(problemRepository.findActiveSummariesByCategory(
+                category, CursorPage.after(after), CursorPage.request(limit)), limit, ProblemSummary::id));
     }
     
     @Transactional(readOnly = true)
-    public List<Problem> getActiveProblemsByTag(String tag) {
-        return problemRepository.findActiveProblemsByTag(tag);
+    public CursorPage<ProblemSummary> getActiveProblemsByDifficultyAndCategory(Problem.Difficulty difficulty, Problem.Category category, 
+                                                                         Long after, int limit) {
+        return withTags(CursorPage.of(problemRepository.findActiveSummariesByDifficultyAndCategory(
+                difficulty, category, CursorPage.after(after), CursorPage.request(limit)), limit, ProblemSummary::id));
     }
     
     @Transactional(readOnly = true)
+    public CursorPage<ProblemSummary> getActiveProblemsByTag(String tag, Long after, int limit) {
+        return withTags(CursorPage.of(problemRepository.findActiveSummariesByTag(
+                tag, CursorPage.after(after), CursorPage.request(limit)), limit, ProblemSummary::id));
+    }
+    
+    // Filters and facet counts are bitset operations on the in-memory facet index
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProblemFacetPage browseProblems(ProblemFacetFilter filter, Long after, int limit) {
+        return facetIndex.browse(filter, after, limit);
+    }
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Long countActiveProblemsByDifficulty(Problem.Difficulty difficulty) {
-        return problemRepository.countActiveProblemsByDifficulty(difficulty);
+        return facetIndex.countActiveByDifficulty(difficulty);
     }
     
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Long countActiveProblemsByCategory(Problem.Category category) {
-        return problemRepository.countActiveProblemsByCategory(category);
+        return facetIndex.countActiveByCategory(category);
+    }
+    
+    // Fills in the tags of a page of summaries with a single query
+    private CursorPage<ProblemSummary> withTags(CursorPage<ProblemSummary> page) {
+        if (page.getItems().isEmpty()) {
+            return page;
+        }
+        Map<Long, List<String>> tagsById = new HashMap<>();
+        List<Long> ids = page.getItems().stream().map(ProblemSummary::id).toList();
+        for (Object[] row : problemRepository.findTagsByProblemIdIn(ids)) {
+            tagsById.computeIfAbsent((Long) row[0], key -> new ArrayList<>()).add((String) row[1]);
+        }
+        List<ProblemSummary> items = page.getItems().stream()
+                .map(summary -> summary.withTags(tagsById.getOrDefault(summary.id(), List.of())))
+                .toList();
+        return new CursorPage<>(items, page.getNextCursor());
     }
     
     public void deleteProblem(Long id) {
         Problem problem = problemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Problem not found with id: " + id));
+        testCaseService.deleteTestCasesByProblem(problem);
+        timelineRepository.deleteByProblemId(id);
+        codeService.deleteCodesByProblem(id);
         problemRepository.delete(problem);
+        eventPublisher.publishEvent(new ProblemChangedEvent(id, ProblemChangedEvent.Change.DELETED));
     }
     
     public Problem deactivateProblem(Long id) {
-        Problem problem = problemRepository.findById(id)
+        Problem problem = problemRepository.findWithTagsById(id)
                 .orElseThrow(() -> new RuntimeException("Problem not found with id: " + id));
         problem.setIsActive(false);
-        return problemRepository.save(problem);
+        Problem savedProblem = problemRepository.save(problem);
+        eventPublisher.publishEvent(new ProblemChangedEvent(id, ProblemChangedEvent.Change.DEACTIVATED));
+        return savedProblem;
     }
 }
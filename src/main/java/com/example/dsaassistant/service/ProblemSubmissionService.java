@@ -1,31 +1,113 @@
 package com.example.dsaassistant.service;
 
+import com.example.dsaassistant.dto.CursorPage;
+import com.example.dsaassistant.dto.PendingGroup;
+import com.example.dsaassistant.dto.SubmissionSummary;
+import com.example.dsaassistant.event.SubmissionJudgedEvent;
+import com.example.dsaassistant.event.SubmissionStatusChangedEvent;
+import com.example.dsaassistant.judge.CodeFingerprint;
+import com.example.dsaassistant.judge.CodeRunner;
+import com.example.dsaassistant.judge.JudgeNode;
+import com.example.dsaassistant.judge.JudgeResult;
 import com.example.dsaassistant.model.Problem;
 import com.example.dsaassistant.model.ProblemSubmission;
 import com.example.dsaassistant.model.User;
 import com.example.dsaassistant.repository.ProblemSubmissionRepository;
+import com.example.dsaassistant.repository.SubmissionTimelineRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Slf4j
 public class ProblemSubmissionService {
     
+    // Time and memory limit verdicts depend on judge load at the time, so identical code is judged again
+    private static final Set<ProblemSubmission.SubmissionStatus> REUSABLE_VERDICTS = Set.of(
+            ProblemSubmission.SubmissionStatus.ACCEPTED, ProblemSubmission.SubmissionStatus.WRONG_ANSWER,
+            ProblemSubmission.SubmissionStatus.RUNTIME_ERROR, ProblemSubmission.SubmissionStatus.COMPILATION_ERROR);
+    
     private final ProblemSubmissionRepository submissionRepository;
+    private final SubmissionTimelineRepository timelineRepository;
+    private final SubmissionCodeService codeService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JudgeNode judgeNode;
+    private final List<CodeRunner> runners;
+    
+    @Value("${app.judge.verdict-reuse.enabled:true}")
+    private boolean verdictReuse;
+    
+    @Value("${app.judge.claim-lease-seconds:300}")
+    private long claimLeaseSeconds;
     
     public ProblemSubmission createSubmission(ProblemSubmission submission) {
-        return submissionRepository.save(submission);
+        if (submission.getCode() == null || submission.getCode().isBlank()) {
+            throw new RuntimeException("Code is required");
+        }
+        submission.setCodeHash(CodeFingerprint.of(submission.getCode()));
+        if (verdictReuse && submission.getStatus() == ProblemSubmission.SubmissionStatus.PENDING) {
+            Optional<ProblemSubmission> previous = findReusableVerdict(submission);
+            if (previous.isPresent()) {
+                // Recorded as judged right away, so the submission never reaches the judge queue
+                reuseVerdict(submission, previous.get());
+                ProblemSubmission savedSubmission = submissionRepository.save(submission);
+                codeService.storeCode(savedSubmission.getId(), submission.getCode());
+                eventPublisher.publishEvent(SubmissionJudgedEvent.of(savedSubmission, null));
+                return savedSubmission;
+            }
+        }
+        ProblemSubmission savedSubmission = submissionRepository.save(submission);
+        codeService.storeCode(savedSubmission.getId(), submission.getCode());
+        eventPublisher.publishEvent(SubmissionStatusChangedEvent.of(savedSubmission, null));
+        return savedSubmission;
+    }
+    
+    // Only the user's own earlier verdicts are reused, so no submission is ever judged by another user's run.
+    // The version is this node's toolchain; a node whose toolchain differs from the judges' reuses nothing.
+    private Optional<ProblemSubmission> findReusableVerdict(ProblemSubmission submission) {
+        String judgeVersion = runners.stream()
+                .filter(runner -> runner.supports(submission.getLanguage()))
+                .findFirst()
+                .map(runner -> runner.version(submission.getLanguage()))
+                .orElse(null);
+        if (judgeVersion == null) {
+            return Optional.empty();
+        }
+        return submissionRepository.findReusableVerdicts(submission.getProblem().getId(), submission.getUser().getId(),
+                submission.getLanguage(), submission.getCodeHash(), judgeVersion, REUSABLE_VERDICTS,
+                PageRequest.of(0, 1)).stream().findFirst();
+    }
+    
+    private void reuseVerdict(ProblemSubmission submission, ProblemSubmission previous) {
+        submission.setStatus(previous.getStatus());
+        submission.setExecutionTimeMs(previous.getExecutionTimeMs());
+        submission.setMemoryUsedMB(previous.getMemoryUsedMB());
+        submission.setTestCasesPassed(previous.getTestCasesPassed());
+        submission.setTotalTestCases(previous.getTotalTestCases());
+        submission.setErrorMessage(previous.getErrorMessage());
+        submission.setTestCaseVersion(previous.getTestCaseVersion());
+        submission.setJudgeVersion(previous.getJudgeVersion());
     }
     
     public ProblemSubmission updateSubmission(Long id, ProblemSubmission submissionDetails) {
-        ProblemSubmission submission = submissionRepository.findById(id)
+        ProblemSubmission submission = submissionRepository.findWithUserAndProblemById(id)
                 .orElseThrow(() -> new RuntimeException("Submission not found with id: " + id));
+        ProblemSubmission.SubmissionStatus previousStatus = submission.getStatus();
         
         submission.setStatus(submissionDetails.getStatus());
         submission.setExecutionTimeMs(submissionDetails.getExecutionTimeMs());
@@ -34,37 +116,156 @@ public class ProblemSubmissionService {
         submission.setTotalTestCases(submissionDetails.getTotalTestCases());
         submission.setErrorMessage(submissionDetails.getErrorMessage());
         
-        return submissionRepository.save(submission);
+        // A manual verdict counts like a judged one: progress, leaderboards and streams all see it
+        if (submission.getStatus() != null && submission.getStatus().isFinal() && !previousStatus.isFinal()) {
+            submission.setClaimedBy(null);
+            submission.setClaimedAt(null);
+            eventPublisher.publishEvent(SubmissionJudgedEvent.of(submission, previousStatus));
+        } else if (submission.getStatus() != previousStatus) {
+            eventPublisher.publishEvent(SubmissionStatusChangedEvent.of(submission, previousStatus));
+        }
+        ProblemSubmission savedSubmission = submissionRepository.save(submission);
+        codeService.getCode(id).ifPresent(savedSubmission::setCode);
+        return savedSubmission;
+    }
+    
+    // Groups of the priority problems (those of running contests) are read on their own, so no backlog
+    // elsewhere can push them out of the page
+    @Transactional(readOnly = true)
+    public List<PendingGroup> getPendingGroups(int limit, int perUser, Collection<Long> priorityProblemIds) {
+        List<PendingGroup> groups = new ArrayList<>(submissionRepository.findPendingGroups(
+                ProblemSubmission.SubmissionStatus.PENDING, perUser, PageRequest.of(0, limit)));
+        if (!priorityProblemIds.isEmpty()) {
+            Set<List<Long>> seen = new HashSet<>();
+            groups.forEach(group -> seen.add(List.of(group.userId(), group.problemId())));
+            for (PendingGroup group : submissionRepository.findPendingGroupsByProblemIdIn(
+                    ProblemSubmission.SubmissionStatus.PENDING, priorityProblemIds, perUser, PageRequest.of(0, limit))) {
+                if (seen.add(List.of(group.userId(), group.problemId()))) {
+                    groups.add(group);
+                }
+            }
+        }
+        return groups;
+    }
+    
+    // Moves the given PENDING submissions to RUNNING under this node's lease; the conditional update makes
+    // each claim safe across judge nodes
+    public List<ProblemSubmission> claimPendingSubmissions(Collection<Long> candidates) {
+        List<Long> claimed = new ArrayList<>(candidates.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (Long id : candidates) {
+            if (submissionRepository.claim(id, ProblemSubmission.SubmissionStatus.PENDING,
+                    ProblemSubmission.SubmissionStatus.RUNNING, judgeNode.getId(), now) == 1) {
+                claimed.add(id);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return List.of();
+        }
+        List<ProblemSubmission> submissions = submissionRepository.findAllWithProblemByIdIn(claimed);
+        Map<Long, String> codes = codeService.getCodes(claimed);
+        for (ProblemSubmission submission : submissions) {
+            submission.setCode(codes.get(submission.getId()));
+            eventPublisher.publishEvent(SubmissionStatusChangedEvent.of(submission, ProblemSubmission.SubmissionStatus.PENDING));
+        }
+        return submissions;
+    }
+    
+    // At startup nothing is in flight here yet, so this node's own claims are stale too; live claims
+    // of other nodes are left alone
+    public int requeueRunningSubmissions() {
+        return submissionRepository.releaseOwnAndExpiredClaims(ProblemSubmission.SubmissionStatus.RUNNING,
+                ProblemSubmission.SubmissionStatus.PENDING, judgeNode.getId(), leaseCutoff());
+    }
+    
+    public int renewClaims() {
+        return submissionRepository.renewClaims(ProblemSubmission.SubmissionStatus.RUNNING, judgeNode.getId(),
+                LocalDateTime.now());
+    }
+    
+    // Picks up the work of nodes that died without coming back
+    public int requeueExpiredClaims() {
+        return submissionRepository.releaseExpiredClaims(ProblemSubmission.SubmissionStatus.RUNNING,
+                ProblemSubmission.SubmissionStatus.PENDING, leaseCutoff());
+    }
+    
+    // One select for the whole batch; the updates go out as a JDBC batch on commit. A verdict for a
+    // claim this node no longer holds is dropped: the submission was requeued and is judged again.
+    public List<ProblemSubmission> recordVerdicts(Map<Long, JudgeResult> results) {
+        List<ProblemSubmission> submissions = new ArrayList<>(results.size());
+        for (ProblemSubmission submission : submissionRepository.findAllWithProblemByIdIn(results.keySet())) {
+            if (submission.getStatus() != ProblemSubmission.SubmissionStatus.RUNNING
+                    || !judgeNode.getId().equals(submission.getClaimedBy())) {
+                log.warn("Dropping verdict for submission {}: its claim is no longer held by this node", submission.getId());
+                continue;
+            }
+            submissions.add(submission);
+            ProblemSubmission.SubmissionStatus previousStatus = submission.getStatus();
+            applyVerdict(submission, results.get(submission.getId()));
+            eventPublisher.publishEvent(SubmissionJudgedEvent.of(submission, previousStatus));
+        }
+        return submissionRepository.saveAll(submissions);
+    }
+    
+    private void applyVerdict(ProblemSubmission submission, JudgeResult result) {
+        submission.setStatus(result.getStatus());
+        submission.setExecutionTimeMs(result.getExecutionTimeMs());
+        submission.setMemoryUsedMB(result.getMemoryUsedMB());
+        submission.setTestCasesPassed(result.getTestCasesPassed());
+        submission.setTotalTestCases(result.getTotalTestCases());
+        submission.setErrorMessage(result.getErrorMessage());
+        submission.setTestCaseVersion(result.getTestCaseVersion());
+        submission.setJudgeVersion(result.getJudgeVersion());
+        submission.setClaimedBy(null);
+        submission.setClaimedAt(null);
+    }
+    
+    private LocalDateTime leaseCutoff() {
+        return LocalDateTime.now().minusSeconds(claimLeaseSeconds);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<SubmissionSummary> getAllSubmissions(Long after, int limit) {
+        return CursorPage.of(submissionRepository.findSummaries(
+                CursorPage.after(after), CursorPage.request(limit)), limit, SubmissionSummary::id);
     }
     
+    // Submissions a live stream subscriber has not seen a final status for yet
     @Transactional(readOnly = true)
-    public List<ProblemSubmission> getAllSubmissions() {
-        return submissionRepository.findAll();
+    public List<SubmissionSummary> getInFlightSubmissionsByUser(Long userId) {
+        return submissionRepository.findSummariesByUserIdAndStatusIn(userId,
+                List.of(ProblemSubmission.SubmissionStatus.PENDING, ProblemSubmission.SubmissionStatus.RUNNING));
     }
     
     @Transactional(readOnly = true)
     public Optional<ProblemSubmission> getSubmissionById(Long id) {
-        return submissionRepository.findById(id);
+        Optional<ProblemSubmission> submission = submissionRepository.findWithUserAndProblemById(id);
+        submission.ifPresent(found -> codeService.getCode(id).ifPresent(found::setCode));
+        return submission;
     }
     
     @Transactional(readOnly = true)
-    public List<ProblemSubmission> getSubmissionsByUser(User user) {
-        return submissionRepository.findByUser(user);
+    public CursorPage<SubmissionSummary> getSubmissionsByUser(User user, Long after, int limit) {
+        return CursorPage.of(submissionRepository.findSummariesByUser(
+                user, CursorPage.after(after), CursorPage.request(limit)), limit, SubmissionSummary::id);
     }
     
     @Transactional(readOnly = true)
-    public List<ProblemSubmission> getSubmissionsByProblem(Problem problem) {
-        return submissionRepository.findByProblem(problem);
+    public CursorPage<SubmissionSummary> getSubmissionsByProblem(Problem problem, Long after, int limit) {
+        return CursorPage.of(submissionRepository.findSummariesByProblem(
+                problem, CursorPage.after(after), CursorPage.request(limit)), limit, SubmissionSummary::id);
     }
     
     @Transactional(readOnly = true)
-    public List<ProblemSubmission> getSubmissionsByStatus(ProblemSubmission.SubmissionStatus status) {
-        return submissionRepository.findByStatus(status);
+    public CursorPage<SubmissionSummary> getSubmissionsByStatus(ProblemSubmission.SubmissionStatus status, Long after, int limit) {
+        return CursorPage.of(submissionRepository.findSummariesByStatus(
+                status, CursorPage.after(after), CursorPage.request(limit)), limit, SubmissionSummary::id);
     }
     
     @Transactional(readOnly = true)
-    public List<ProblemSubmission> getSubmissionsByLanguage(ProblemSubmission.Language language) {
-        return submissionRepository.findByLanguage(language);
+    public CursorPage<SubmissionSummary> getSubmissionsByLanguage(ProblemSubmission.Language language, Long after, int limit) {
+        return CursorPage.of(submissionRepository.findSummariesByLanguage(
+                language, CursorPage.after(after), CursorPage.request(limit)), limit, SubmissionSummary::id);
     }
     
     @Transactional(readOnly = true)
@@ -73,8 +274,10 @@ public class ProblemSubmissionService {
     }
     
     @Transactional(readOnly = true)
-    public List<ProblemSubmission> getSubmissionsByUserAndStatus(User user, ProblemSubmission.SubmissionStatus status) {
-        return submissionRepository.findByUserAndStatus(user, status);
+    public CursorPage<SubmissionSummary> getSubmissionsByUserAndStatus(User user, ProblemSubmission.SubmissionStatus status, 
+                                                                       Long after, int limit) {
+        return CursorPage.of(submissionRepository.findSummariesByUserAndStatus(
+                user, status, CursorPage.after(after), CursorPage.request(limit)), limit, SubmissionSummary::id);
     }
     
     @Transactional(readOnly = true)
@@ -103,13 +306,17 @@ public class ProblemSubmissionService {
     }
     
     @Transactional(readOnly = true)
-    public List<ProblemSubmission> getSubmissionsByUserAndProblemDifficulty(User user, Problem.Difficulty difficulty) {
-        return submissionRepository.findByUserAndProblemDifficulty(user, difficulty);
+    public CursorPage<SubmissionSummary> getSubmissionsByUserAndProblemDifficulty(User user, Problem.Difficulty difficulty, 
+                                                                                  Long after, int limit) {
+        return CursorPage.of(submissionRepository.findSummariesByUserAndProblemDifficulty(
+                user, difficulty, CursorPage.after(after), CursorPage.request(limit)), limit, SubmissionSummary::id);
     }
     
     @Transactional(readOnly = true)
-    public List<ProblemSubmission> getSubmissionsByUserAndProblemCategory(User user, Problem.Category category) {
-        return submissionRepository.findByUserAndProblemCategory(user, category);
+    public CursorPage<SubmissionSummary> getSubmissionsByUserAndProblemCategory(User user, Problem.Category category, 
+                                                                                Long after, int limit) {
+        return CursorPage.of(submissionRepository.findSummariesByUserAndProblemCategory(
+                user, category, CursorPage.after(after), CursorPage.request(limit)), limit, SubmissionSummary::id);
     }
     
     @Transactional(readOnly = true)
@@ -120,6 +327,8 @@ public class ProblemSubmissionService {
     public void deleteSubmission(Long id) {
         ProblemSubmission submission = submissionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Submission not found with id: " + id));
+        timelineRepository.deleteAllByIdInBatch(List.of(id));
+        codeService.deleteCode(id);
         submissionRepository.delete(submission);
     }
 }
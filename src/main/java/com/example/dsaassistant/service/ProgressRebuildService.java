@@ -0,0 +1,192 @@
+package com.example.dsaassistant.service;
+
+import com.example.dsaassistant.model.ProgressRebuildPartition;
+import com.example.dsaassistant.repository.ProgressRebuildPartitionRepository;
+import com.example.dsaassistant.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Rebuilds every Progress row from problem_submissions. Users are split into id ranges that are
+// rebuilt in parallel on a fork-join pool, each in its own transaction; partition state is stored,
+// so a failed or interrupted job can be resumed without redoing finished ranges.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProgressRebuildService {
+    
+    private static final int MAX_ERROR_LENGTH = 1000;
+    
+    private final ProgressService progressService;
+    private final ProgressRebuildPartitionRepository partitionRepository;
+    private final UserRepository userRepository;
+    
+    @Value("${app.progress.rebuild.partition-size:1000}")
+    private int partitionSize;
+    
+    @Value("${app.progress.rebuild.parallelism:4}")
+    private int parallelism;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Long currentJobId;
+    private volatile long startedAtNanos;
+    private volatile long finishedAtNanos;
+    
+    public Status start(boolean resume) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A progress rebuild is already running");
+        }
+        try {
+            List<ProgressRebuildPartition> partitions = resume ? remainingPartitions() : createPartitions();
+            startedAtNanos = System.nanoTime();
+            finishedAtNanos = 0;
+            Thread coordinator = new Thread(() -> run(partitions), "progress-rebuild");
+            coordinator.setDaemon(true);
+            coordinator.start();
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return getStatus().orElseThrow();
+    }
+    
+    public Optional<Status> getStatus() {
+        Long jobId = currentJobId != null ? currentJobId : partitionRepository.findLatestJobId();
+        if (jobId == null) {
+            return Optional.empty();
+        }
+        int total = 0;
+        int done = 0;
+        int failed = 0;
+        long users = 0;
+        long rows = 0;
+        for (Object[] row : partitionRepository.summarizeJob(jobId)) {
+            ProgressRebuildPartition.Status status = (ProgressRebuildPartition.Status) row[0];
+            int count = ((Number) row[1]).intValue();
+            total += count;
+            if (status == ProgressRebuildPartition.Status.DONE) {
+                done = count;
+                users = row[2] == null ? 0 : ((Number) row[2]).longValue();
+                rows = row[3] == null ? 0 : ((Number) row[3]).longValue();
+            } else if (status == ProgressRebuildPartition.Status.FAILED) {
+                failed = count;
+            }
+        }
+        Long elapsedMs = null;
+        if (startedAtNanos != 0 && jobId.equals(currentJobId)) {
+            long end = finishedAtNanos != 0 ? finishedAtNanos : System.nanoTime();
+            elapsedMs = TimeUnit.NANOSECONDS.toMillis(end - startedAtNanos);
+        }
+        return Optional.of(new Status(jobId, running.get(), total, done, failed, users, rows, elapsedMs));
+    }
+    
+    private List<ProgressRebuildPartition> createPartitions() {
+        long jobId = System.currentTimeMillis();
+        Long minId = userRepository.findMinId();
+        Long maxId = userRepository.findMaxId();
+        List<ProgressRebuildPartition> partitions = new ArrayList<>();
+        if (minId != null) {
+            for (long from = minId; from <= maxId; from += partitionSize) {
+                ProgressRebuildPartition partition = new ProgressRebuildPartition();
+                partition.setJobId(jobId);
+                partition.setFromUserId(from);
+                partition.setToUserId(Math.min(from + partitionSize - 1, maxId));
+                partitions.add(partition);
+            }
+        }
+        currentJobId = jobId;
+        List<ProgressRebuildPartition> saved = partitionRepository.saveAll(partitions);
+        log.info("Starting progress rebuild {} over {} partitions", jobId, saved.size());
+        return saved;
+    }
+    
+    private List<ProgressRebuildPartition> remainingPartitions() {
+        Long jobId = partitionRepository.findLatestJobId();
+        if (jobId == null) {
+            throw new IllegalStateException("There is no progress rebuild to resume");
+        }
+        currentJobId = jobId;
+        List<ProgressRebuildPartition> partitions = partitionRepository.findByJobIdAndStatusNotOrderByFromUserIdAsc(
+                jobId, ProgressRebuildPartition.Status.DONE);
+        log.info("Resuming progress rebuild {} with {} remaining partitions", jobId, partitions.size());
+        return partitions;
+    }
+    
+    private void run(List<ProgressRebuildPartition> partitions) {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            if (!partitions.isEmpty()) {
+                pool.invoke(new PartitionTask(partitions, 0, partitions.size()));
+            }
+            getStatus().ifPresent(status -> log.info("Progress rebuild {} finished: {}/{} partitions done, {} failed",
+                    status.getJobId(), status.getCompletedPartitions(), status.getTotalPartitions(), status.getFailedPartitions()));
+        } catch (RuntimeException e) {
+            log.error("Progress rebuild {} stopped", currentJobId, e);
+        } finally {
+            pool.shutdown();
+            finishedAtNanos = System.nanoTime();
+            running.set(false);
+        }
+    }
+    
+    private void rebuild(ProgressRebuildPartition partition) {
+        try {
+            progressService.rebuildPartition(partition);
+        } catch (RuntimeException e) {
+            log.warn("Progress rebuild of users {}-{} failed", partition.getFromUserId(), partition.getToUserId(), e);
+            String message = String.valueOf(e.getMessage());
+            partition.setStatus(ProgressRebuildPartition.Status.FAILED);
+            partition.setError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+            partitionRepository.save(partition);
+        }
+    }
+    
+    // Splits the partition list in halves until each task holds a single user id range
+    private class PartitionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final List<ProgressRebuildPartition> partitions;
+        private final int from;
+        private final int to;
+        
+        PartitionTask(List<ProgressRebuildPartition> partitions, int from, int to) {
+            this.partitions = partitions;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                rebuild(partitions.get(from));
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PartitionTask(partitions, from, middle), new PartitionTask(partitions, middle, to));
+        }
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class Status {
+        private final Long jobId;
+        private final boolean running;
+        private final int totalPartitions;
+        private final int completedPartitions;
+        private final int failedPartitions;
+        private final long usersProcessed;
+        private final long rowsWritten;
+        private final Long elapsedMs;
+    }
+}
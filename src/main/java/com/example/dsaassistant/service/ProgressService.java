@@ -1,21 +1,47 @@
 package com.example.dsaassistant.service;
 
+import com.example.dsaassistant.dto.VerdictAggregate;
+import com.example.dsaassistant.event.SubmissionJudgedEvent;
+import com.example.dsaassistant.model.ProblemSubmission;
 import com.example.dsaassistant.model.Progress;
+import com.example.dsaassistant.model.ProgressRebuildPartition;
+import com.example.dsaassistant.model.SolvedProblem;
 import com.example.dsaassistant.model.User;
+import com.example.dsaassistant.repository.ProblemSubmissionRepository;
+import com.example.dsaassistant.repository.ProgressRebuildPartitionRepository;
 import com.example.dsaassistant.repository.ProgressRepository;
+import com.example.dsaassistant.repository.SolvedProblemRepository;
+import com.example.dsaassistant.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ProgressService {
     
+    private static final List<ProblemSubmission.SubmissionStatus> FINAL_STATUSES = Arrays.stream(ProblemSubmission.SubmissionStatus.values())
+            .filter(ProblemSubmission.SubmissionStatus::isFinal)
+            .toList();
+    
     private final ProgressRepository progressRepository;
+    private final SolvedProblemRepository solvedProblemRepository;
+    private final UserRepository userRepository;
+    private final ProblemSubmissionRepository submissionRepository;
+    private final ProgressRebuildPartitionRepository partitionRepository;
     
     public Progress createProgress(Progress progress) {
         return progressRepository.save(progress);
@@ -86,6 +112,144 @@ public class ProgressService {
         return progressRepository.findOverallProgressByUser(user);
     }
     
+    // Runs after the verdict has committed, in a transaction of its own, so a failure here can never hold
+    // up verdict persistence (Spring logs it; a progress rebuild restores what was missed). Each verdict
+    // touches the user's overall, category and difficulty rows once. The user's row is locked first:
+    // verdicts for one user are applied one at a time, so neither the counters nor the solved check can
+    // lose an update, and two verdicts cannot both create the same progress row.
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onSubmissionJudged(SubmissionJudgedEvent event) {
+        if (!event.isFirstFinalVerdict()) {
+            return;
+        }
+        User user = userRepository.lockById(event.getUserId())
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + event.getUserId()));
+        boolean accepted = event.getStatus() == ProblemSubmission.SubmissionStatus.ACCEPTED;
+        boolean firstSolve = accepted && markSolved(event);
+        
+        recordAttempt(findOrCreate(user, Progress.ProgressType.OVERALL, null, null), event, accepted, firstSolve);
+        recordAttempt(findOrCreate(user, Progress.ProgressType.CATEGORY, event.getCategory().name(), null), 
+                event, accepted, firstSolve);
+        recordAttempt(findOrCreate(user, Progress.ProgressType.DIFFICULTY, null, event.getDifficulty().name()), 
+                event, accepted, firstSolve);
+    }
+    
+    // Only the first accepted submission per problem counts as a solve. Called under the user's row lock
+    private boolean markSolved(SubmissionJudgedEvent event) {
+        if (solvedProblemRepository.existsByUserIdAndProblemId(event.getUserId(), event.getProblemId())) {
+            return false;
+        }
+        solvedProblemRepository.save(new SolvedProblem(null, event.getUserId(), event.getProblemId(), 
+                event.getSubmissionId(), null));
+        return true;
+    }
+    
+    private Progress findOrCreate(User user, Progress.ProgressType type, String category, String difficulty) {
+        return progressRepository.findFirstByUserAndTypeAndCategoryAndDifficultyOrderByIdAsc(user, type, category, difficulty)
+                .orElseGet(() -> {
+                    Progress progress = new Progress();
+                    progress.setUser(user);
+                    progress.setType(type);
+                    progress.setCategory(category);
+                    progress.setDifficulty(difficulty);
+                    return progress;
+                });
+    }
+    
+    private void recordAttempt(Progress progress, SubmissionJudgedEvent event, boolean accepted, boolean firstSolve) {
+        int acceptedSubmissions = orZero(progress.getAcceptedSubmissions());
+        long acceptedTimeMs = progress.getAcceptedTimeMs() == null ? 0L : progress.getAcceptedTimeMs();
+        if (accepted) {
+            acceptedSubmissions++;
+            acceptedTimeMs += event.getExecutionTimeMs() == null ? 0L : event.getExecutionTimeMs();
+        }
+        setCounters(progress, orZero(progress.getAttempts()) + 1, acceptedSubmissions, acceptedTimeMs,
+                orZero(progress.getProblemsSolved()) + (firstSolve ? 1 : 0));
+        progressRepository.save(progress);
+    }
+    
+    // Recomputes progress and solved problems for one user id range from a single grouped aggregate over
+    // the range's submissions. The partition is marked done in the same transaction, so a resumed
+    // rebuild never applies a partition twice.
+    public ProgressRebuildPartition rebuildPartition(ProgressRebuildPartition partition) {
+        Long fromUserId = partition.getFromUserId();
+        Long toUserId = partition.getToUserId();
+        // Holds off onSubmissionJudged for these users until the rebuilt rows commit; otherwise a verdict
+        // landing mid-rebuild is lost or counted twice, and its solved_problems insert collides with ours
+        userRepository.lockByIdBetween(fromUserId, toUserId);
+        solvedProblemRepository.deleteByUserIdBetween(fromUserId, toUserId);
+        solvedProblemRepository.insertFirstAcceptsByUserIdBetween(fromUserId, toUserId);
+        
+        Map<ProgressKey, long[]> totals = new HashMap<>();
+        for (VerdictAggregate row : submissionRepository.aggregateVerdictsByUserIdBetween(fromUserId, toUserId,
+                ProblemSubmission.SubmissionStatus.ACCEPTED, FINAL_STATUSES)) {
+            addTo(totals, new ProgressKey(row.userId(), Progress.ProgressType.OVERALL, null, null), row);
+            addTo(totals, new ProgressKey(row.userId(), Progress.ProgressType.CATEGORY, row.category().name(), null), row);
+            addTo(totals, new ProgressKey(row.userId(), Progress.ProgressType.DIFFICULTY, null, row.difficulty().name()), row);
+        }
+        
+        // Upsert: update the existing row for each key, insert the missing ones, zero the rows with no verdicts
+        Map<ProgressKey, Progress> existing = new HashMap<>();
+        List<Progress> changed = new ArrayList<>();
+        for (Progress progress : progressRepository.findByUserIdBetween(fromUserId, toUserId)) {
+            ProgressKey key = new ProgressKey(progress.getUser().getId(), progress.getType(),
+                    progress.getCategory(), progress.getDifficulty());
+            if (existing.putIfAbsent(key, progress) != null || !totals.containsKey(key)) {
+                setCounters(progress, 0, 0, 0L, 0);
+                changed.add(progress);
+            }
+        }
+        Set<Long> users = new HashSet<>();
+        for (Map.Entry<ProgressKey, long[]> entry : totals.entrySet()) {
+            ProgressKey key = entry.getKey();
+            long[] counters = entry.getValue();
+            Progress progress = existing.get(key);
+            if (progress == null) {
+                progress = new Progress();
+                progress.setUser(userRepository.getReferenceById(key.userId()));
+                progress.setType(key.type());
+                progress.setCategory(key.category());
+                progress.setDifficulty(key.difficulty());
+            }
+            setCounters(progress, (int) counters[0], (int) counters[1], counters[2], (int) counters[3]);
+            changed.add(progress);
+            users.add(key.userId());
+        }
+        progressRepository.saveAll(changed);
+        
+        partition.setStatus(ProgressRebuildPartition.Status.DONE);
+        partition.setUsersProcessed(users.size());
+        partition.setRowsWritten(changed.size());
+        partition.setError(null);
+        partition.setFinishedAt(LocalDateTime.now());
+        return partitionRepository.save(partition);
+    }
+    
+    private void addTo(Map<ProgressKey, long[]> totals, ProgressKey key, VerdictAggregate row) {
+        long[] counters = totals.computeIfAbsent(key, k -> new long[4]);
+        counters[0] += row.attempts();
+        counters[1] += row.acceptedSubmissions();
+        counters[2] += row.acceptedTimeMs();
+        counters[3] += row.problemsSolved();
+    }
+    
+    private void setCounters(Progress progress, int attempts, int acceptedSubmissions, long acceptedTimeMs, int problemsSolved) {
+        progress.setAttempts(attempts);
+        progress.setAcceptedSubmissions(acceptedSubmissions);
+        progress.setAcceptedTimeMs(acceptedTimeMs);
+        progress.setProblemsSolved(problemsSolved);
+        progress.setAccuracyPercentage(attempts == 0 ? 0.0 : acceptedSubmissions * 100.0 / attempts);
+        progress.setAverageTimeMs(acceptedSubmissions == 0 ? 0L : acceptedTimeMs / acceptedSubmissions);
+    }
+    
+    private static int orZero(Integer value) {
+        return value == null ? 0 : value;
+    }
+    
+    private record ProgressKey(Long userId, Progress.ProgressType type, String category, String difficulty) {
+    }
+    
     public void deleteProgress(Long id) {
         Progress progress = progressRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Progress not found with id: " + id));
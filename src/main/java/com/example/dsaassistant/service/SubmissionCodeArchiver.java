@@ -0,0 +1,50 @@
+package com.example.dsaassistant.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+// Moves the code of submissions older than the configured age into the archive, one transaction per batch
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionCodeArchiver {
+    
+    private final SubmissionCodeService codeService;
+    
+    @Value("${app.storage.code-archive.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.storage.code-archive.min-age-days:30}")
+    private long minAgeDays;
+    
+    @Value("${app.storage.code-archive.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${app.storage.code-archive.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+    
+    @Scheduled(fixedDelayString = "${app.storage.code-archive.interval-ms:3600000}",
+               initialDelayString = "${app.storage.code-archive.initial-delay-ms:60000}")
+    public void archiveOldCode() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+        int archived = 0;
+        int moved;
+        int batches = 0;
+        // A large backlog is worked off over several runs rather than in one long pass
+        do {
+            moved = codeService.archiveBatch(cutoff, batchSize);
+            archived += moved;
+        } while (moved == batchSize && ++batches < maxBatchesPerRun);
+        if (archived > 0) {
+            log.info("Archived the code of {} submissions older than {} days", archived, minAgeDays);
+        }
+    }
+}
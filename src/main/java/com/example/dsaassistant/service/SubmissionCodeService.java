@@ -0,0 +1,144 @@
+package com.example.dsaassistant.service;
+
+import com.example.dsaassistant.model.SubmissionCode;
+import com.example.dsaassistant.repository.SubmissionCodeRepository;
+import com.example.dsaassistant.storage.CodeArchive;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Stores submission code deflated in its own table and moves old code to the append-only archive
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class SubmissionCodeService {
+    
+    private final SubmissionCodeRepository codeRepository;
+    private final CodeArchive archive;
+    private final EntityManager entityManager;
+    
+    // Persist rather than save: the id is assigned, and merge would select the row first
+    public void storeCode(Long submissionId, String code) {
+        byte[] raw = code.getBytes(StandardCharsets.UTF_8);
+        byte[] deflated = deflate(raw);
+        SubmissionCode.Encoding encoding = deflated.length < raw.length
+                ? SubmissionCode.Encoding.DEFLATE
+                : SubmissionCode.Encoding.PLAIN;
+        entityManager.persist(new SubmissionCode(submissionId, encoding, raw.length,
+                encoding == SubmissionCode.Encoding.DEFLATE ? deflated : raw, null, null, null));
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<String> getCode(Long submissionId) {
+        return codeRepository.findById(submissionId).map(this::decode);
+    }
+    
+    // One query for the whole batch; archived code is read from the segment files
+    @Transactional(readOnly = true)
+    public Map<Long, String> getCodes(Collection<Long> submissionIds) {
+        Map<Long, String> codes = new HashMap<>();
+        for (SubmissionCode code : codeRepository.findAllById(submissionIds)) {
+            codes.put(code.getSubmissionId(), decode(code));
+        }
+        return codes;
+    }
+    
+    public void deleteCode(Long submissionId) {
+        codeRepository.deleteAllByIdInBatch(List.of(submissionId));
+    }
+    
+    public void deleteCodesByProblem(Long problemId) {
+        codeRepository.deleteByProblemId(problemId);
+    }
+    
+    public void deleteCodesByUser(Long userId) {
+        codeRepository.deleteByUserId(userId);
+    }
+    
+    // Appends one batch to the archive and syncs it before the rows drop their data; returns the batch size
+    public int archiveBatch(LocalDateTime cutoff, int batchSize) {
+        List<SubmissionCode> batch = codeRepository.findUnarchived(cutoff, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        CodeArchive.Location[] locations = new CodeArchive.Location[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            locations[i] = archive.append(batch.get(i).getSubmissionId(), batch.get(i).getData());
+        }
+        archive.sync();
+        for (int i = 0; i < batch.size(); i++) {
+            SubmissionCode code = batch.get(i);
+            code.setArchiveSegment(locations[i].getSegment());
+            code.setArchiveOffset(locations[i].getOffset());
+            code.setArchiveLength(locations[i].getLength());
+            code.setData(null);
+        }
+        return batch.size();
+    }
+    
+    private String decode(SubmissionCode code) {
+        byte[] stored = code.isArchived()
+                ? archive.read(code.getSubmissionId(), new CodeArchive.Location(code.getArchiveSegment(),
+                        code.getArchiveOffset(), code.getArchiveLength()))
+                : code.getData();
+        byte[] raw = code.getEncoding() == SubmissionCode.Encoding.DEFLATE
+                ? inflate(stored, code.getOriginalSize())
+                : stored;
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+    
+    // Code is written once and read rarely, so the best compression is worth its extra CPU
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+    
+    private static byte[] inflate(byte[] deflated, int originalSize) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(deflated);
+            byte[] raw = new byte[originalSize];
+            int length = 0;
+            while (length < originalSize && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, originalSize - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != originalSize) {
+                throw new IllegalStateException("Stored code is truncated: expected " + originalSize + " bytes, got " + length);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Stored code is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
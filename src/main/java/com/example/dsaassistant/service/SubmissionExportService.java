@@ -0,0 +1,154 @@
+package com.example.dsaassistant.service;
+
+import com.example.dsaassistant.model.ProblemSubmission;
+import com.example.dsaassistant.repository.ProblemSubmissionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Writes submissions straight from a forward-only database cursor to the response. Rows are detached
+// as they are read and written a chunk at a time, so memory use does not grow with the size of the export.
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SubmissionExportService {
+    
+    private static final int FLUSH_EVERY_ROWS = 500;
+    private static final String[] CSV_HEADER = {
+            "id", "userId", "problemId", "language", "status", "testCasesPassed", "totalTestCases",
+            "executionTimeMs", "memoryUsedMB", "submittedAt", "code"
+    };
+    
+    private final ProblemSubmissionRepository submissionRepository;
+    private final SubmissionCodeService codeService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    
+    public enum Format {
+        NDJSON, CSV
+    }
+    
+    public void export(Long problemId, Long userId, LocalDateTime from, LocalDateTime to, Format format, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        try (Stream<ProblemSubmission> rows = submissionRepository.streamForExport(problemId, userId, from, to)) {
+            if (format == Format.CSV) {
+                writeCsv(rows.iterator(), writer);
+            } else {
+                writeNdjson(rows.iterator(), writer);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void writeNdjson(Iterator<ProblemSubmission> rows, Writer writer) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        writeRows(rows, (submission, code) -> {
+            json.writeStartObject();
+            json.writeNumberField("id", submission.getId());
+            json.writeNumberField("userId", submission.getUser().getId());
+            json.writeNumberField("problemId", submission.getProblem().getId());
+            json.writeStringField("language", submission.getLanguage().name());
+            json.writeStringField("status", submission.getStatus().name());
+            writeNumber(json, "testCasesPassed", submission.getTestCasesPassed());
+            writeNumber(json, "totalTestCases", submission.getTotalTestCases());
+            writeNumber(json, "executionTimeMs", submission.getExecutionTimeMs());
+            writeNumber(json, "memoryUsedMB", submission.getMemoryUsedMB());
+            json.writeStringField("submittedAt", submission.getSubmittedAt() == null ? null : submission.getSubmittedAt().toString());
+            json.writeStringField("code", code);
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }, json::flush);
+        json.close();
+    }
+    
+    private void writeCsv(Iterator<ProblemSubmission> rows, Writer writer) throws IOException {
+        writeCsvRow(writer, (Object[]) CSV_HEADER);
+        writeRows(rows, (submission, code) -> writeCsvRow(writer, submission.getId(), submission.getUser().getId(),
+                submission.getProblem().getId(), submission.getLanguage(), submission.getStatus(),
+                submission.getTestCasesPassed(), submission.getTotalTestCases(), submission.getExecutionTimeMs(),
+                submission.getMemoryUsedMB(), submission.getSubmittedAt(), code), writer::flush);
+    }
+    
+    // Rows are written a chunk at a time so the chunk's code comes from one query. Reading the user and
+    // problem ids from the lazy proxies does not load either entity.
+    private void writeRows(Iterator<ProblemSubmission> rows, RowWriter rowWriter, Flush flush) throws IOException {
+        List<ProblemSubmission> chunk = new ArrayList<>(FLUSH_EVERY_ROWS);
+        while (rows.hasNext()) {
+            ProblemSubmission submission = rows.next();
+            entityManager.detach(submission);
+            chunk.add(submission);
+            if (chunk.size() == FLUSH_EVERY_ROWS || !rows.hasNext()) {
+                Map<Long, String> codes = codeService.getCodes(chunk.stream().map(ProblemSubmission::getId).toList());
+                for (ProblemSubmission row : chunk) {
+                    rowWriter.write(row, codes.get(row.getId()));
+                }
+                chunk.clear();
+                // Proxies for users and problems also pile up in the context on long exports
+                entityManager.clear();
+                flush.run();
+            }
+        }
+    }
+    
+    private void writeNumber(JsonGenerator json, String field, Number value) throws IOException {
+        if (value == null) {
+            json.writeNullField(field);
+        } else if (value instanceof Double) {
+            json.writeNumberField(field, value.doubleValue());
+        } else {
+            json.writeNumberField(field, value.longValue());
+        }
+    }
+    
+    private void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeCsvValue(writer, values[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+    
+    private void writeCsvValue(Writer writer, String value) throws IOException {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+    
+    private interface RowWriter {
+        void write(ProblemSubmission submission, String code) throws IOException;
+    }
+    
+    private interface Flush {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.dsaassistant.service;
+
+import com.example.dsaassistant.dto.StageDurations;
+import com.example.dsaassistant.dto.SubmissionTimelineView;
+import com.example.dsaassistant.dto.TimelinePercentiles;
+import com.example.dsaassistant.judge.JudgeTimeline;
+import com.example.dsaassistant.model.ProblemSubmission;
+import com.example.dsaassistant.model.SubmissionTimeline;
+import com.example.dsaassistant.repository.SubmissionTimelineRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class SubmissionTimelineService {
+    
+    private static final Map<String, ToLongFunction<StageDurations>> STAGES = new LinkedHashMap<>();
+    
+    static {
+        STAGES.put("queue", StageDurations::queueMs);
+        STAGES.put("load", StageDurations::loadMs);
+        STAGES.put("compile", StageDurations::compileMs);
+        STAGES.put("run", StageDurations::runMs);
+        STAGES.put("compare", StageDurations::compareMs);
+        STAGES.put("persist", StageDurations::persistMs);
+        STAGES.put("total", StageDurations::totalMs);
+    }
+    
+    private final SubmissionTimelineRepository timelineRepository;
+    private final EntityManager entityManager;
+    
+    @Value("${app.judge.timeline.percentile-window:10000}")
+    private int percentileWindow;
+    
+    // A rejudged submission replaces its earlier timeline; persist avoids the per-row select of merge
+    public void saveTimelines(List<SubmissionTimeline> timelines) {
+        if (timelines.isEmpty()) {
+            return;
+        }
+        timelineRepository.deleteAllByIdInBatch(timelines.stream().map(SubmissionTimeline::getSubmissionId).toList());
+        timelines.forEach(entityManager::persist);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<SubmissionTimelineView> getTimeline(Long submissionId) {
+        return timelineRepository.findById(submissionId).map(timeline -> new SubmissionTimelineView(
+                timeline.getSubmissionId(),
+                timeline.getProblemId(),
+                timeline.getLanguage(),
+                timeline.getSubmittedAt(),
+                new StageDurations(timeline.getQueueMs(), timeline.getLoadMs(), timeline.getCompileMs(),
+                        timeline.getRunMs(), timeline.getCompareMs(), timeline.getPersistMs(), timeline.getTotalMs()),
+                JudgeTimeline.decode(timeline.getStages())));
+    }
+    
+    @Transactional(readOnly = true)
+    public Map<ProblemSubmission.Language, TimelinePercentiles> getPercentilesByLanguage() {
+        Map<ProblemSubmission.Language, TimelinePercentiles> percentiles = new LinkedHashMap<>();
+        for (ProblemSubmission.Language language : ProblemSubmission.Language.values()) {
+            List<StageDurations> durations = timelineRepository.findRecentDurationsByLanguage(language,
+                    PageRequest.of(0, percentileWindow));
+            if (!durations.isEmpty()) {
+                percentiles.put(language, summarize(durations));
+            }
+        }
+        return percentiles;
+    }
+    
+    @Transactional(readOnly = true)
+    public TimelinePercentiles getPercentilesByProblem(Long problemId) {
+        return summarize(timelineRepository.findRecentDurationsByProblemId(problemId, PageRequest.of(0, percentileWindow)));
+    }
+    
+    private TimelinePercentiles summarize(List<StageDurations> durations) {
+        Map<String, TimelinePercentiles.Percentiles> stages = new LinkedHashMap<>();
+        if (durations.isEmpty()) {
+            return new TimelinePercentiles(0, stages);
+        }
+        long[] values = new long[durations.size()];
+        for (Map.Entry<String, ToLongFunction<StageDurations>> stage : STAGES.entrySet()) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = stage.getValue().applyAsLong(durations.get(i));
+            }
+            Arrays.sort(values);
+            stages.put(stage.getKey(), new TimelinePercentiles.Percentiles(
+                    percentile(values, 0.50), percentile(values, 0.90), percentile(values, 0.99), values[values.length - 1]));
+        }
+        return new TimelinePercentiles(values.length, stages);
+    }
+    
+    // Nearest-rank percentile of sorted values
+    private long percentile(long[] sorted, double p) {
+        return sorted[Math.max(0, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.dsaassistant.service;
+
+import com.example.dsaassistant.storage.TestCaseBlobStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+// Mark and sweep for test case payloads: files that no committed test case points at are deleted once
+// they have not been stored for the grace period, so a transaction that stored a payload but has not
+// committed yet never loses it
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TestCaseBlobSweeper {
+    
+    private final TestCaseService testCaseService;
+    private final TestCaseBlobStore blobStore;
+    
+    @Value("${app.storage.blob-sweep.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.storage.blob-sweep.grace-minutes:60}")
+    private long graceMinutes;
+    
+    @Scheduled(fixedDelayString = "${app.storage.blob-sweep.interval-ms:3600000}",
+               initialDelayString = "${app.storage.blob-sweep.initial-delay-ms:300000}")
+    public void sweepUnreferencedBlobs() {
+        if (!enabled) {
+            return;
+        }
+        Set<String> referenced = testCaseService.getReferencedBlobHashes();
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(graceMinutes));
+        // Files missing from the snapshot are checked again, in case a row referencing them committed since
+        int deleted = blobStore.sweep(cutoff, hash -> referenced.contains(hash) || testCaseService.isBlobReferenced(hash));
+        if (deleted > 0) {
+            log.info("Deleted {} unreferenced test case payloads", deleted);
+        }
+    }
+}
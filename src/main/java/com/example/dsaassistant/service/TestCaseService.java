@@ -0,0 +1,113 @@
+package com.example.dsaassistant.service;
+
+import com.example.dsaassistant.event.ProblemChangedEvent;
+import com.example.dsaassistant.model.Problem;
+import com.example.dsaassistant.model.TestCase;
+import com.example.dsaassistant.repository.ProblemRepository;
+import com.example.dsaassistant.repository.TestCaseRepository;
+import com.example.dsaassistant.storage.StoredBlob;
+import com.example.dsaassistant.storage.TestCaseBlobStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class TestCaseService {
+    
+    private final TestCaseRepository testCaseRepository;
+    private final ProblemRepository problemRepository;
+    private final TestCaseBlobStore blobStore;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    public TestCase createTestCase(TestCase testCase) {
+        storePayloads(testCase, testCase.getInput(), testCase.getExpectedOutput());
+        TestCase saved = testCaseRepository.save(testCase);
+        publishTestCasesChanged(testCase.getProblem());
+        return saved;
+    }
+    
+    public TestCase updateTestCase(Long id, TestCase testCaseDetails) {
+        TestCase testCase = testCaseRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Test case not found with id: " + id));
+        
+        storePayloads(testCase, testCaseDetails.getInput(), testCaseDetails.getExpectedOutput());
+        testCase.setIsSample(testCaseDetails.getIsSample());
+        testCase.setIsHidden(testCaseDetails.getIsHidden());
+        
+        TestCase saved = testCaseRepository.save(testCase);
+        publishTestCasesChanged(testCase.getProblem());
+        return saved;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<TestCase> getTestCasesByProblem(Problem problem) {
+        return testCaseRepository.findByProblem(problem);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<TestCase> getTestCaseById(Long id) {
+        return testCaseRepository.findById(id);
+    }
+    
+    // Payloads no longer referenced are left on disk for TestCaseBlobSweeper
+    @Transactional(readOnly = true)
+    public Set<String> getReferencedBlobHashes() {
+        Set<String> hashes = new HashSet<>(testCaseRepository.findInputHashes());
+        hashes.addAll(testCaseRepository.findExpectedOutputHashes());
+        return hashes;
+    }
+    
+    @Transactional(readOnly = true)
+    public boolean isBlobReferenced(String hash) {
+        return testCaseRepository.isBlobReferenced(hash);
+    }
+    
+    @Transactional(readOnly = true)
+    public Long countTestCasesByProblem(Problem problem) {
+        return testCaseRepository.countTestCasesByProblem(problem);
+    }
+    
+    public void deleteTestCase(Long id) {
+        TestCase testCase = testCaseRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Test case not found with id: " + id));
+        testCaseRepository.delete(testCase);
+        publishTestCasesChanged(testCase.getProblem());
+    }
+    
+    public void deleteTestCasesByProblem(Problem problem) {
+        testCaseRepository.deleteAll(testCaseRepository.findByProblem(problem));
+        publishTestCasesChanged(problem);
+    }
+    
+    private void storePayloads(TestCase testCase, String input, String expectedOutput) {
+        if (input == null || input.isEmpty()) {
+            throw new RuntimeException("Input is required");
+        }
+        if (expectedOutput == null || expectedOutput.isEmpty()) {
+            throw new RuntimeException("Expected output is required");
+        }
+        StoredBlob inputBlob = blobStore.store(input);
+        testCase.setInputHash(inputBlob.getHash());
+        testCase.setInputSize(inputBlob.getSize());
+        testCase.setInputPreview(inputBlob.getPreview());
+        
+        StoredBlob outputBlob = blobStore.store(expectedOutput);
+        testCase.setExpectedOutputHash(outputBlob.getHash());
+        testCase.setExpectedOutputSize(outputBlob.getSize());
+        testCase.setExpectedOutputPreview(outputBlob.getPreview());
+    }
+    
+    // Earlier verdicts stop being reused once the version moves on
+    private void publishTestCasesChanged(Problem problem) {
+        problemRepository.incrementTestCaseVersion(problem.getId());
+        eventPublisher.publishEvent(new ProblemChangedEvent(problem.getId(), ProblemChangedEvent.Change.TEST_CASES_CHANGED));
+    }
+}
@@ -1,12 +1,17 @@
 package com.example.dsaassistant.service;
 
+import com.example.dsaassistant.cache.LocalCache;
+import com.example.dsaassistant.dto.CursorPage;
+import com.example.dsaassistant.dto.UserSummary;
+import com.example.dsaassistant.event.UserChangedEvent;
 import com.example.dsaassistant.model.User;
 import com.example.dsaassistant.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -15,6 +20,9 @@ import java.util.Optional;
 public class UserService {
     
     private final UserRepository userRepository;
+    private final SubmissionCodeService codeService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LocalCache<Long, User> userCache;
     
     public User createUser(User user) {
         if (userRepository.existsByUsername(user.getUsername())) {
@@ -49,17 +57,21 @@ public class UserService {
         user.setRole(userDetails.getRole());
         user.setIsActive(userDetails.getIsActive());
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(id, UserChangedEvent.Change.UPDATED));
+        return savedUser;
     }
     
     @Transactional(readOnly = true)
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public CursorPage<UserSummary> getAllUsers(Long after, int limit) {
+        return CursorPage.of(userRepository.findSummaries(
+                CursorPage.after(after), CursorPage.request(limit)), limit, UserSummary::id);
     }
     
-    @Transactional(readOnly = true)
+    // Served from the local cache as a detached copy without submissions or progress records
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<User> getUserById(Long id) {
-        return userRepository.findById(id);
+        return userCache.get(id, userRepository::findById);
     }
     
     @Transactional(readOnly = true)
@@ -73,30 +85,37 @@ public class UserService {
     }
     
     @Transactional(readOnly = true)
-    public List<User> getUsersByRole(User.Role role) {
-        return userRepository.findByRole(role);
+    public CursorPage<UserSummary> getUsersByRole(User.Role role, Long after, int limit) {
+        return CursorPage.of(userRepository.findSummariesByRole(
+                role, CursorPage.after(after), CursorPage.request(limit)), limit, UserSummary::id);
     }
     
     @Transactional(readOnly = true)
-    public List<User> getActiveUsers() {
-        return userRepository.findByIsActiveTrue();
+    public CursorPage<UserSummary> getActiveUsers(Long after, int limit) {
+        return CursorPage.of(userRepository.findActiveSummaries(
+                CursorPage.after(after), CursorPage.request(limit)), limit, UserSummary::id);
     }
     
     @Transactional(readOnly = true)
-    public List<User> searchUsersByName(String name) {
-        return userRepository.findByNameContaining(name);
+    public CursorPage<UserSummary> searchUsersByName(String name, Long after, int limit) {
+        return CursorPage.of(userRepository.findSummariesByNameContaining(
+                name, CursorPage.after(after), CursorPage.request(limit)), limit, UserSummary::id);
     }
     
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        codeService.deleteCodesByUser(id);
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserChangedEvent(id, UserChangedEvent.Change.DELETED));
     }
     
     public User deactivateUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
         user.setIsActive(false);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(id, UserChangedEvent.Change.DEACTIVATED));
+        return savedUser;
     }
 }
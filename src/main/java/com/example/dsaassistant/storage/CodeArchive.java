@@ -0,0 +1,151 @@
+package com.example.dsaassistant.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Append-only segment files for archived submission code. Records are never rewritten or removed;
+// each one starts with the submission id and payload length, so a segment can be scanned on its own.
+// A record whose database update rolled back is simply never pointed at.
+@Component
+@Slf4j
+public class CodeArchive {
+    
+    private static final int HEADER_BYTES = Long.BYTES + Integer.BYTES;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{6})\\.dat");
+    
+    @Value("${app.storage.code-archive.dir:data/code-archive}")
+    private String directory;
+    
+    @Value("${app.storage.code-archive.segment-max-bytes:268435456}")
+    private long segmentMaxBytes;
+    
+    private Path root;
+    private int segment;
+    private FileChannel writer;
+    private final Map<Integer, FileChannel> readers = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(directory).toAbsolutePath();
+        Files.createDirectories(root);
+        try (Stream<Path> files = Files.list(root)) {
+            segment = files.map(file -> SEGMENT_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .mapToInt(name -> Integer.parseInt(name.group(1)))
+                    .max()
+                    .orElse(1);
+        }
+        writer = openForAppend(segment);
+    }
+    
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        writer.close();
+        for (FileChannel reader : readers.values()) {
+            reader.close();
+        }
+    }
+    
+    // Not durable until sync() returns
+    public synchronized Location append(Long submissionId, byte[] payload) {
+        try {
+            if (writer.size() > 0 && writer.size() + HEADER_BYTES + payload.length > segmentMaxBytes) {
+                writer.force(false);
+                writer.close();
+                writer = openForAppend(++segment);
+            }
+            long offset = writer.size();
+            ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+            record.putLong(submissionId).putInt(payload.length).put(payload).flip();
+            while (record.hasRemaining()) {
+                writer.write(record);
+            }
+            return new Location(segment, offset, payload.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not archive code of submission " + submissionId, e);
+        }
+    }
+    
+    // Called before the database is pointed at the new records
+    public synchronized void sync() {
+        try {
+            writer.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not sync code archive segment " + segment, e);
+        }
+    }
+    
+    public byte[] read(Long submissionId, Location location) {
+        try {
+            FileChannel reader = readers.computeIfAbsent(location.getSegment(), this::openForRead);
+            ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + location.getLength());
+            long position = location.getOffset();
+            while (record.hasRemaining()) {
+                int read = reader.read(record, position + record.position());
+                if (read < 0) {
+                    throw new IOException("Unexpected end of segment " + location.getSegment());
+                }
+            }
+            record.flip();
+            long storedId = record.getLong();
+            int storedLength = record.getInt();
+            if (storedId != submissionId || storedLength != location.getLength()) {
+                throw new IllegalStateException("Code archive record at " + location + " does not belong to submission "
+                        + submissionId);
+            }
+            byte[] payload = new byte[storedLength];
+            record.get(payload);
+            return payload;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archived code of submission " + submissionId, e);
+        }
+    }
+    
+    private FileChannel openForAppend(int number) throws IOException {
+        return FileChannel.open(pathOf(number), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+    
+    private FileChannel openForRead(int number) {
+        try {
+            return FileChannel.open(pathOf(number), StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open code archive segment " + number, e);
+        }
+    }
+    
+    private Path pathOf(int number) {
+        return root.resolve(String.format("segment-%06d.dat", number));
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class Location {
+        private final int segment;
+        private final long offset;
+        private final int length;
+        
+        @Override
+        public String toString() {
+            return "segment " + segment + " offset " + offset;
+        }
+    }
+}
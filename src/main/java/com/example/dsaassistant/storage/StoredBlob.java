@@ -0,0 +1,15 @@
+package com.example.dsaassistant.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StoredBlob {
+    
+    private final String hash;
+    
+    private final long size;
+    
+    private final String preview;
+}
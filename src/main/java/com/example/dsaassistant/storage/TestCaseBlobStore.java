@@ -0,0 +1,121 @@
+package com.example.dsaassistant.storage;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Content-addressed store for test case payloads: each payload lives once on disk under its SHA-256
+@Component
+@Slf4j
+public class TestCaseBlobStore {
+    
+    private static final int PREVIEW_LENGTH = 256;
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    
+    @Value("${app.storage.test-case-dir:data/test-cases}")
+    private String directory;
+    
+    private Path root;
+    
+    // Makes a store and the sweep's check-then-delete of the same file mutually exclusive
+    private final Object lock = new Object();
+    
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(directory).toAbsolutePath();
+        Files.createDirectories(root);
+    }
+    
+    public StoredBlob store(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        String hash = sha256(bytes);
+        Path target = pathOf(hash);
+        try {
+            synchronized (lock) {
+                if (Files.exists(target)) {
+                    // A fresh modification time keeps the sweep off the file until the storing transaction commits
+                    Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                } else {
+                    Files.createDirectories(target.getParent());
+                    Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+                    Files.write(temp, bytes);
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store test case payload " + hash, e);
+        }
+        String preview = content.length() > PREVIEW_LENGTH ? content.substring(0, PREVIEW_LENGTH) : content;
+        return new StoredBlob(hash, bytes.length, preview);
+    }
+    
+    public Path pathOf(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Invalid blob hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+    
+    public InputStream openStream(String hash) throws IOException {
+        return MappedFileInputStream.open(pathOf(hash));
+    }
+    
+    public Reader openReader(String hash) throws IOException {
+        return new InputStreamReader(openStream(hash), StandardCharsets.UTF_8);
+    }
+    
+    // Deletes payloads last stored before the cutoff that are no longer referenced, and temp files
+    // left behind by failed writes
+    public int sweep(Instant storedBefore, Predicate<String> isReferenced) {
+        int deleted = 0;
+        try (Stream<Path> files = Files.walk(root, 2)) {
+            Iterator<Path> iterator = files.filter(Files::isRegularFile).iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                String name = file.getFileName().toString();
+                synchronized (lock) {
+                    if (!Files.exists(file) || Files.getLastModifiedTime(file).toInstant().isAfter(storedBefore)) {
+                        continue;
+                    }
+                    if (HASH_PATTERN.matcher(name).matches() && isReferenced.test(name)) {
+                        continue;
+                    }
+                    Files.delete(file);
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Test case payload sweep stopped early after {} deletions", deleted, e);
+        }
+        return deleted;
+    }
+    
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.dsaassistant.stream;
+
+import com.example.dsaassistant.config.WorkerThreads;
+import com.example.dsaassistant.dto.SubmissionStatusUpdate;
+import com.example.dsaassistant.dto.SubmissionSummary;
+import com.example.dsaassistant.event.SubmissionJudgedEvent;
+import com.example.dsaassistant.event.SubmissionStatusChangedEvent;
+import com.example.dsaassistant.service.ProblemSubmissionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Pushes committed submission status changes to the owner's open SSE connections. Idle connections
+// hold no thread. Events are written by a small dispatch pool, never by the committing thread, and
+// each connection buffers at most one pending update per submission: a slow reader only ever misses
+// intermediate states, and one that falls too far behind is closed so it reconnects and resyncs.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionStreamHub {
+    
+    private static final String STATUS_EVENT = "status";
+    
+    private final ProblemSubmissionService submissionService;
+    private final WorkerThreads workerThreads;
+    
+    @Value("${app.stream.max-connections:10000}")
+    private int maxConnections;
+    
+    @Value("${app.stream.max-connections-per-user:4}")
+    private int maxConnectionsPerUser;
+    
+    @Value("${app.stream.max-pending-per-connection:256}")
+    private int maxPendingPerConnection;
+    
+    @Value("${app.stream.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMs;
+    
+    @Value("${app.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+    
+    @Value("${app.stream.dispatch-threads:2}")
+    private int dispatchThreads;
+    
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong eventsSent = new AtomicLong();
+    private final AtomicLong eventsCoalesced = new AtomicLong();
+    private final AtomicLong overflowDisconnects = new AtomicLong();
+    
+    private ExecutorService dispatcher;
+    private ScheduledExecutorService heartbeat;
+    
+    @PostConstruct
+    public void start() {
+        // On virtual threads every draining connection gets its own thread, so one slow socket
+        // cannot hold up the others
+        dispatcher = workerThreads.isVirtual()
+                ? Executors.newCachedThreadPool(workerThreads.factory("submission-stream"))
+                : Executors.newFixedThreadPool(Math.max(1, dispatchThreads), workerThreads.factory("submission-stream"));
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "submission-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+    
+    // Opens a stream that starts with the user's in-flight submissions, so a client can subscribe
+    // after submitting without missing anything; throws IllegalStateException at a connection limit
+    public SseEmitter subscribe(Long userId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new IllegalStateException("Too many open submission streams");
+        }
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeoutMs));
+        Set<Subscriber> userSubscribers = subscribers.compute(userId, (id, set) -> {
+            Set<Subscriber> current = set == null ? ConcurrentHashMap.newKeySet() : set;
+            if (current.size() < maxConnectionsPerUser) {
+                current.add(subscriber);
+            }
+            return current;
+        });
+        if (!userSubscribers.contains(subscriber)) {
+            connections.decrementAndGet();
+            throw new IllegalStateException("Too many open submission streams for user " + userId);
+        }
+        
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+        // Loaded after registering so no change falls between the two
+        try {
+            subscriber.offerSnapshot(submissionService.getInFlightSubmissionsByUser(userId));
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        return subscriber.emitter;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubmissionStatusChanged(SubmissionStatusChangedEvent event) {
+        publish(event.getUserId(), SubmissionStatusUpdate.of(event));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubmissionJudged(SubmissionJudgedEvent event) {
+        publish(event.getUserId(), SubmissionStatusUpdate.of(event));
+    }
+    
+    public Stats getStats() {
+        return new Stats(connections.get(), subscribers.size(), eventsSent.get(), eventsCoalesced.get(),
+                overflowDisconnects.get());
+    }
+    
+    private void publish(Long userId, SubmissionStatusUpdate update) {
+        Set<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : userSubscribers) {
+            subscriber.offer(update);
+        }
+    }
+    
+    private void sendHeartbeats() {
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : userSubscribers) {
+                subscriber.requestHeartbeat();
+            }
+        }
+    }
+    
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connections.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.userId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+    
+    private class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        // Latest undelivered update per submission, in first-changed order
+        private final LinkedHashMap<Long, SubmissionStatusUpdate> pending = new LinkedHashMap<>();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Submissions with a live update while the snapshot loads; their snapshot rows are stale
+        private Set<Long> updatedDuringSnapshot = new HashSet<>();
+        private boolean heartbeatDue;
+        private boolean draining;
+        
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+        
+        void offer(SubmissionStatusUpdate update) {
+            boolean overflow;
+            synchronized (this) {
+                if (updatedDuringSnapshot != null) {
+                    updatedDuringSnapshot.add(update.submissionId());
+                }
+                overflow = enqueue(update);
+            }
+            if (overflow) {
+                disconnectSlow();
+            }
+        }
+        
+        // The snapshot may exceed the pending limit; only live updates that pile up on top of it disconnect
+        synchronized void offerSnapshot(List<SubmissionSummary> snapshot) {
+            for (SubmissionSummary summary : snapshot) {
+                if (!updatedDuringSnapshot.contains(summary.id())) {
+                    enqueue(SubmissionStatusUpdate.of(summary));
+                }
+            }
+            updatedDuringSnapshot = null;
+        }
+        
+        // Returns true when the connection has fallen too far behind; callers hold the lock
+        private boolean enqueue(SubmissionStatusUpdate update) {
+            if (pending.put(update.submissionId(), update) != null) {
+                eventsCoalesced.incrementAndGet();
+            }
+            if (pending.size() > maxPendingPerConnection) {
+                return true;
+            }
+            if (!draining) {
+                draining = true;
+                dispatcher.execute(this::drain);
+            }
+            return false;
+        }
+        
+        private void disconnectSlow() {
+            if (!closed.get()) {
+                overflowDisconnects.incrementAndGet();
+                log.debug("Closing submission stream of user {}: client is not keeping up", userId);
+                remove(this);
+                emitter.complete();
+            }
+        }
+        
+        void requestHeartbeat() {
+            synchronized (this) {
+                heartbeatDue = true;
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            dispatcher.execute(this::drain);
+        }
+        
+        private void drain() {
+            while (!closed.get()) {
+                SubmissionStatusUpdate update = null;
+                boolean sendHeartbeat;
+                synchronized (this) {
+                    Iterator<SubmissionStatusUpdate> iterator = pending.values().iterator();
+                    if (iterator.hasNext()) {
+                        update = iterator.next();
+                        iterator.remove();
+                    }
+                    sendHeartbeat = update == null && heartbeatDue;
+                    heartbeatDue = false;
+                    if (update == null && !sendHeartbeat) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    if (update != null) {
+                        emitter.send(SseEmitter.event().name(STATUS_EVENT).data(update));
+                        eventsSent.incrementAndGet();
+                    } else {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away; the emitter callbacks may not fire for a half-open socket
+                    remove(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final int connections;
+        private final int users;
+        private final long eventsSent;
+        private final long eventsCoalesced;
+        private final long overflowDisconnects;
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.dsaassistant.controller;
+
+import com.example.dsaassistant.config.SqlStatementCounter;
+import com.example.dsaassistant.model.Contest;
+import com.example.dsaassistant.model.Problem;
+import com.example.dsaassistant.model.ProblemSubmission;
+import com.example.dsaassistant.model.TestCase;
+import com.example.dsaassistant.model.User;
+import com.example.dsaassistant.service.ContestService;
+import com.example.dsaassistant.service.ProblemService;
+import com.example.dsaassistant.service.ProblemSubmissionService;
+import com.example.dsaassistant.service.TestCaseService;
+import com.example.dsaassistant.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Every list endpoint has to answer with the same number of SQL statements however many rows it
+// returns: an N+1 regression shows up as a count that grows with the data, and fails the request
+// outright once it passes the budget (fail-on-exceed is on in the test profile).
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ListEndpointSqlBudgetTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private SqlStatementCounter counter;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private ProblemService problemService;
+    
+    @Autowired
+    private ProblemSubmissionService submissionService;
+    
+    @Autowired
+    private TestCaseService testCaseService;
+    
+    @Autowired
+    private ContestService contestService;
+    
+    private final List<Long> problemIds = new ArrayList<>();
+    private User firstUser;
+    private Problem firstProblem;
+    private Contest firstContest;
+    private int seeded;
+    
+    @Test
+    void listEndpointsIssueAConstantNumberOfStatements() throws Exception {
+        seed(2);
+        Map<String, Integer> small = countStatements();
+        seed(10);
+        Map<String, Integer> large = countStatements();
+        
+        assertThat(large).isEqualTo(small);
+        assertThat(large).allSatisfy((path, statements) -> assertThat(statements)
+                .as("SQL statements for GET %s", path)
+                .isLessThanOrEqualTo(counter.getBudget()));
+    }
+    
+    private List<String> listEndpoints() {
+        Long userId = firstUser.getId();
+        Long problemId = firstProblem.getId();
+        return List.of(
+                "/api/users",
+                "/api/users/role/STUDENT",
+                "/api/users/active",
+                "/api/users/search?name=Test",
+                "/api/problems",
+                "/api/problems/difficulty/EASY",
+                "/api/problems/category/ARRAYS",
+                "/api/problems/active",
+                "/api/problems/active/difficulty/EASY",
+                "/api/problems/active/category/ARRAYS",
+                "/api/problems/active/difficulty/EASY/category/ARRAYS",
+                "/api/problems/active/tag/arrays",
+                "/api/problems/browse?difficulty=EASY&category=ARRAYS&tag=arrays",
+                "/api/problems/search?q=sum",
+                "/api/problems/" + problemId + "/test-cases",
+                "/api/contests",
+                "/api/contests/" + firstContest.getId() + "/leaderboard",
+                "/api/submissions",
+                "/api/submissions/user/" + userId,
+                "/api/submissions/problem/" + problemId,
+                "/api/submissions/status/ACCEPTED",
+                "/api/submissions/language/PYTHON",
+                "/api/submissions/user/" + userId + "/status/ACCEPTED",
+                "/api/submissions/user/" + userId + "/difficulty/EASY",
+                "/api/submissions/user/" + userId + "/category/ARRAYS",
+                "/api/submissions/user/" + userId + "/accepted",
+                "/api/submissions/problem/" + problemId + "/accepted");
+    }
+    
+    // Each endpoint is called once to warm the entity caches, then counted
+    private Map<String, Integer> countStatements() throws Exception {
+        Map<String, Integer> statements = new LinkedHashMap<>();
+        for (String path : listEndpoints()) {
+            mockMvc.perform(get(path)).andExpect(status().isOk());
+            try (SqlStatementCounter.Scope scope = counter.open()) {
+                mockMvc.perform(get(path)).andExpect(status().isOk());
+                statements.put(path, scope.getCount());
+            }
+        }
+        return statements;
+    }
+    
+    // Adds users, problems, test cases and submissions that all show up in the listed pages
+    private void seed(int count) {
+        for (int i = 0; i < count; i++) {
+            int n = seeded++;
+            User user = new User();
+            user.setUsername("user" + n);
+            user.setEmail("user" + n + "@example.com");
+            user.setPassword("password");
+            user.setFirstName("Test");
+            user.setLastName("User " + n);
+            user = userService.createUser(user);
+            
+            Problem problem = new Problem();
+            problem.setTitle("Two sum " + n);
+            problem.setDescription("Sum two numbers");
+            problem.setProblemStatement("Print the sum of two numbers");
+            problem.setDifficulty(Problem.Difficulty.EASY);
+            problem.setCategory(Problem.Category.ARRAYS);
+            problem.setTags(new ArrayList<>(List.of("arrays", "math")));
+            problem = problemService.createProblem(problem);
+            problemIds.add(problem.getId());
+            
+            if (firstUser == null) {
+                firstUser = user;
+                firstProblem = problem;
+            }
+            
+            TestCase testCase = new TestCase();
+            testCase.setProblem(firstProblem);
+            testCase.setInput(n + " " + n + "\n");
+            testCase.setExpectedOutput((2 * n) + "\n");
+            testCase.setIsHidden(false);
+            testCaseService.createTestCase(testCase);
+            
+            submit(firstUser, problem, n);
+            submit(user, firstProblem, n);
+        }
+        
+        Contest contest = new Contest();
+        contest.setName("Contest " + seeded);
+        contest.setStartTime(LocalDateTime.now().minusHours(1));
+        contest.setEndTime(LocalDateTime.now().plusHours(1));
+        contest.setProblemIds(new ArrayList<>(problemIds));
+        contest = contestService.createContest(contest);
+        if (firstContest == null) {
+            firstContest = contest;
+        }
+    }
+    
+    private void submit(User user, Problem problem, int n) {
+        ProblemSubmission submission = new ProblemSubmission();
+        submission.setUser(user);
+        submission.setProblem(problem);
+        submission.setLanguage(ProblemSubmission.Language.PYTHON);
+        submission.setCode("print(" + n + ")");
+        submission.setStatus(ProblemSubmission.SubmissionStatus.ACCEPTED);
+        submission.setTestCasesPassed(1);
+        submission.setTotalTestCases(1);
+        submission.setExecutionTimeMs(10L);
+        submissionService.createSubmission(submission);
+    }
+}
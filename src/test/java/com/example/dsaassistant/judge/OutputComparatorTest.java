@@ -0,0 +1,111 @@
+package com.example.dsaassistant.judge;
+
+import com.example.dsaassistant.model.Problem;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Every comparison runs with a one-char buffer as well as the default one, so a difference that straddles
+// a buffer refill is caught the same way as one inside a single read
+class OutputComparatorTest {
+    
+    private static final double TOLERANCE = 1e-6;
+    
+    @Test
+    void exactRequiresIdenticalBytes() throws IOException {
+        assertThat(compare("1 2\n", "1 2\n", Problem.ComparisonMode.EXACT).isMatches()).isTrue();
+        assertThat(compare("1 2 \n", "1 2\n", Problem.ComparisonMode.EXACT).isMatches()).isFalse();
+        assertThat(compare("1 2\r\n", "1 2\n", Problem.ComparisonMode.EXACT).isMatches()).isFalse();
+        
+        OutputComparator.Comparison extra = compare("1 2\n\n", "1 2\n", Problem.ComparisonMode.EXACT);
+        assertThat(extra.describe()).isEqualTo("Unexpected extra output at line 2, column 1");
+    }
+    
+    @Test
+    void linesIgnoreTrailingSpacesCarriageReturnsAndBlankLines() throws IOException {
+        assertThat(compare("1 2  \r\n3\t\r\n\n\n", "1 2\n3\n", Problem.ComparisonMode.LINES).isMatches()).isTrue();
+        assertThat(compare("1 2\n3", "1 2\n3\n", Problem.ComparisonMode.LINES).isMatches()).isTrue();
+        assertThat(compare("", "\n\n", Problem.ComparisonMode.LINES).isMatches()).isTrue();
+    }
+    
+    @Test
+    void linesKeepSpacesInsideALine() throws IOException {
+        OutputComparator.Comparison doubled = compare("1  2\n", "1 2\n", Problem.ComparisonMode.LINES);
+        assertThat(doubled.isMatches()).isFalse();
+        assertThat(doubled.getLine()).isEqualTo(1);
+        
+        assertThat(compare("1 2 3\n", "1 2\n", Problem.ComparisonMode.LINES).isMatches()).isFalse();
+        assertThat(compare("1\n2\n", "1 2\n", Problem.ComparisonMode.LINES).isMatches()).isFalse();
+    }
+    
+    @Test
+    void linesReportWhereTheOutputDiffers() throws IOException {
+        OutputComparator.Comparison wrong = compare("1 2\n3 4\n", "1 2\n3 5\n", Problem.ComparisonMode.LINES);
+        assertThat(wrong.describe()).isEqualTo("Output differs from expected at line 2, column 3");
+        
+        OutputComparator.Comparison shorter = compare("1 2\n", "1 2\n3\n", Problem.ComparisonMode.LINES);
+        assertThat(shorter.describe()).startsWith("Output ended early");
+        
+        OutputComparator.Comparison longer = compare("1 2\n3\n", "1 2\n", Problem.ComparisonMode.LINES);
+        assertThat(longer.describe()).startsWith("Unexpected extra output");
+    }
+    
+    @Test
+    void nullModeComparesLines() throws IOException {
+        assertThat(compare("7 \n", "7\n", null).isMatches()).isTrue();
+        assertThat(compare("7\n8\n", "7 8\n", null).isMatches()).isFalse();
+    }
+    
+    @Test
+    void tokensIgnoreAllWhitespace() throws IOException {
+        assertThat(compare("1\n2   3\r\n", " 1 2 3", Problem.ComparisonMode.TOKENS).isMatches()).isTrue();
+        assertThat(compare("1 2 3", "1 2 3 4", Problem.ComparisonMode.TOKENS).isMatches()).isFalse();
+        assertThat(compare("1 23", "1 2 3", Problem.ComparisonMode.TOKENS).isMatches()).isFalse();
+        assertThat(compare("1.0", "1", Problem.ComparisonMode.TOKENS).isMatches()).isFalse();
+    }
+    
+    @Test
+    void floatToleranceAcceptsAbsoluteAndRelativeError() throws IOException {
+        assertThat(compare("0.3333333", "0.33333333", Problem.ComparisonMode.FLOAT_TOLERANCE).isMatches()).isTrue();
+        assertThat(compare("1000000.5", "1000000", Problem.ComparisonMode.FLOAT_TOLERANCE).isMatches()).isTrue();
+        assertThat(compare("1e3 2", "1000 2.0000000001", Problem.ComparisonMode.FLOAT_TOLERANCE).isMatches()).isTrue();
+        
+        OutputComparator.Comparison far = compare("1 0.5", "1 0.51", Problem.ComparisonMode.FLOAT_TOLERANCE);
+        assertThat(far.describe()).isEqualTo("Expected 0.51 but found 0.5 at line 1, column 3");
+    }
+    
+    @Test
+    void floatToleranceComparesWordsExactly() throws IOException {
+        assertThat(compare("YES 0.5", "YES 0.5000001", Problem.ComparisonMode.FLOAT_TOLERANCE).isMatches()).isTrue();
+        assertThat(compare("NO 0.5", "YES 0.5", Problem.ComparisonMode.FLOAT_TOLERANCE).isMatches()).isFalse();
+        assertThat(compare("NaN", "0", Problem.ComparisonMode.FLOAT_TOLERANCE).isMatches()).isFalse();
+    }
+    
+    @Test
+    void floatToleranceComparesOverlongTokensExactly() throws IOException {
+        String digits = "1".repeat(100);
+        assertThat(compare(digits, digits, Problem.ComparisonMode.FLOAT_TOLERANCE).isMatches()).isTrue();
+        assertThat(compare(digits + "2", digits + "3", Problem.ComparisonMode.FLOAT_TOLERANCE).isMatches()).isFalse();
+        assertThat(compare(digits, digits + "1", Problem.ComparisonMode.FLOAT_TOLERANCE).isMatches()).isFalse();
+    }
+    
+    private OutputComparator.Comparison compare(String actual, String expected, Problem.ComparisonMode mode)
+            throws IOException {
+        OutputComparator.Comparison small = comparator(1).compare(
+                new StringReader(actual), new StringReader(expected), mode, TOLERANCE);
+        OutputComparator.Comparison large = comparator(8192).compare(
+                new StringReader(actual), new StringReader(expected), mode, TOLERANCE);
+        assertThat(small.describe()).isEqualTo(large.describe());
+        return large;
+    }
+    
+    private OutputComparator comparator(int bufferChars) {
+        OutputComparator comparator = new OutputComparator();
+        ReflectionTestUtils.setField(comparator, "bufferChars", bufferChars);
+        return comparator;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.dsaassistant.judge;
+
+import com.example.dsaassistant.dto.PendingGroup;
+import com.example.dsaassistant.model.Contest;
+import com.example.dsaassistant.model.User;
+import com.example.dsaassistant.repository.ContestRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SubmissionSchedulerTest {
+    
+    private static final long CONTEST_PROBLEM = 100L;
+    private static final long PRACTICE_PROBLEM = 200L;
+    private static final long PAST_CONTEST_PROBLEM = 300L;
+    
+    private final ContestRepository contestRepository = mock(ContestRepository.class);
+    private SubmissionScheduler scheduler;
+    private long nextSubmissionId = 1;
+    
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        when(contestRepository.findAll()).thenReturn(List.of(
+                contest(now.minusHours(1), now.plusHours(1), CONTEST_PROBLEM),
+                contest(now.minusDays(2), now.minusDays(1), PAST_CONTEST_PROBLEM)));
+        scheduler = new SubmissionScheduler(contestRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(scheduler, "contestWeight", 8);
+        ReflectionTestUtils.setField(scheduler, "staffWeight", 4);
+        ReflectionTestUtils.setField(scheduler, "practiceWeight", 1);
+        ReflectionTestUtils.setField(scheduler, "maxInFlightPerUser", 2);
+        scheduler.init();
+        scheduler.loadContests();
+    }
+    
+    @Test
+    void classesShareTheJudgeByWeight() {
+        Map<SubmissionScheduler.PriorityClass, Integer> picked = new EnumMap<>(SubmissionScheduler.PriorityClass.class);
+        for (int i = 0; i < 130; i++) {
+            List<PendingGroup> groups = List.of(
+                    group(1L, User.Role.STUDENT, CONTEST_PROBLEM),
+                    group(2L, User.Role.INSTRUCTOR, PRACTICE_PROBLEM),
+                    group(3L, User.Role.STUDENT, PRACTICE_PROBLEM));
+            for (SubmissionScheduler.Pick pick : scheduler.select(groups, 1)) {
+                picked.merge(pick.getPriorityClass(), 1, Integer::sum);
+                scheduler.finished(pick);
+            }
+        }
+        assertThat(picked).containsEntry(SubmissionScheduler.PriorityClass.CONTEST, 80)
+                .containsEntry(SubmissionScheduler.PriorityClass.STAFF, 40)
+                .containsEntry(SubmissionScheduler.PriorityClass.PRACTICE, 10);
+    }
+    
+    @Test
+    void usersInAClassShareItEquallyHoweverMuchTheyQueued() {
+        List<Long> users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            List<PendingGroup> groups = List.of(
+                    group(1L, User.Role.STUDENT, PRACTICE_PROBLEM, 500),
+                    group(2L, User.Role.STUDENT, PRACTICE_PROBLEM, 1));
+            for (SubmissionScheduler.Pick pick : scheduler.select(groups, 1)) {
+                users.add(pick.getUserId());
+                scheduler.finished(pick);
+            }
+        }
+        assertThat(users).containsExactly(1L, 2L, 1L, 2L, 1L, 2L, 1L, 2L, 1L, 2L);
+    }
+    
+    @Test
+    void anIdleUserRejoinsWithoutSavedUpCredit() {
+        for (int i = 0; i < 20; i++) {
+            scheduler.select(List.of(group(1L, User.Role.STUDENT, PRACTICE_PROBLEM)), 1).forEach(scheduler::finished);
+        }
+        List<Long> users = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            List<PendingGroup> groups = List.of(
+                    group(1L, User.Role.STUDENT, PRACTICE_PROBLEM),
+                    group(2L, User.Role.STUDENT, PRACTICE_PROBLEM));
+            for (SubmissionScheduler.Pick pick : scheduler.select(groups, 1)) {
+                users.add(pick.getUserId());
+                scheduler.finished(pick);
+            }
+        }
+        assertThat(users).filteredOn(userId -> userId == 2L).hasSize(3);
+    }
+    
+    @Test
+    void capsEachUsersUnfinishedPicks() {
+        List<SubmissionScheduler.Pick> flooder = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            List<PendingGroup> groups = List.of(
+                    group(1L, User.Role.STUDENT, PRACTICE_PROBLEM, 50),
+                    group(2L, User.Role.STUDENT, PRACTICE_PROBLEM));
+            for (SubmissionScheduler.Pick pick : scheduler.select(groups, 2)) {
+                if (pick.getUserId() == 1L) {
+                    flooder.add(pick);
+                } else {
+                    scheduler.finished(pick);
+                }
+            }
+        }
+        assertThat(flooder).hasSize(2);
+        
+        scheduler.finished(flooder.get(0));
+        List<SubmissionScheduler.Pick> picks = scheduler.select(List.of(group(1L, User.Role.STUDENT, PRACTICE_PROBLEM)), 2);
+        assertThat(picks).extracting(SubmissionScheduler.Pick::getUserId).containsExactly(1L);
+    }
+    
+    @Test
+    void picksOnlyTheOldestSubmissionOfEachFlow() {
+        List<PendingGroup> groups = List.of(
+                new PendingGroup(1L, User.Role.STUDENT, PRACTICE_PROBLEM, 3L, 40L, LocalDateTime.now()),
+                new PendingGroup(1L, User.Role.STUDENT, PRACTICE_PROBLEM + 1, 2L, 12L, LocalDateTime.now()),
+                new PendingGroup(1L, User.Role.STUDENT, CONTEST_PROBLEM, 1L, 30L, LocalDateTime.now()));
+        List<SubmissionScheduler.Pick> picks = scheduler.select(groups, 10);
+        assertThat(picks).extracting(SubmissionScheduler.Pick::getSubmissionId).containsExactlyInAnyOrder(12L, 30L);
+    }
+    
+    @Test
+    void classifiesStaffBeforeRunningContests() {
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(scheduler.classify(group(1L, User.Role.STUDENT, CONTEST_PROBLEM), now))
+                .isEqualTo(SubmissionScheduler.PriorityClass.CONTEST);
+        assertThat(scheduler.classify(group(1L, User.Role.ADMIN, CONTEST_PROBLEM), now))
+                .isEqualTo(SubmissionScheduler.PriorityClass.STAFF);
+        assertThat(scheduler.classify(group(1L, User.Role.STUDENT, PAST_CONTEST_PROBLEM), now))
+                .isEqualTo(SubmissionScheduler.PriorityClass.PRACTICE);
+        assertThat(scheduler.classify(group(1L, User.Role.STUDENT, CONTEST_PROBLEM), now.plusHours(2)))
+                .isEqualTo(SubmissionScheduler.PriorityClass.PRACTICE);
+        assertThat(scheduler.getActiveContestProblemIds()).containsExactly(CONTEST_PROBLEM);
+    }
+    
+    private PendingGroup group(Long userId, User.Role role, long problemId) {
+        return group(userId, role, problemId, 1);
+    }
+    
+    private PendingGroup group(Long userId, User.Role role, long problemId, long pending) {
+        return new PendingGroup(userId, role, problemId, pending, nextSubmissionId++, LocalDateTime.now());
+    }
+    
+    private static Contest contest(LocalDateTime start, LocalDateTime end, Long problemId) {
+        Contest contest = new Contest();
+        contest.setStartTime(start);
+        contest.setEndTime(end);
+        contest.setProblemIds(List.of(problemId));
+        return contest;
+    }
+}
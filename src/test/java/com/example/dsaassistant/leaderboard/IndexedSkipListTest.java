@@ -0,0 +1,97 @@
+package com.example.dsaassistant.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexedSkipListTest {
+    
+    @Test
+    void emptyListHasNoRanks() {
+        IndexedSkipList<Integer> list = new IndexedSkipList<>(Comparator.naturalOrder());
+        assertThat(list.size()).isZero();
+        assertThat(list.countBefore(5)).isZero();
+        assertThat(list.range(0, 10)).isEmpty();
+        assertThat(list.remove(5)).isFalse();
+    }
+    
+    @Test
+    void ranksFollowTheComparator() {
+        IndexedSkipList<Integer> list = new IndexedSkipList<>(Comparator.reverseOrder());
+        for (int value : new int[]{30, 10, 50, 20, 40}) {
+            list.add(value);
+        }
+        assertThat(list.range(0, 5)).containsExactly(50, 40, 30, 20, 10);
+        assertThat(list.countBefore(50)).isZero();
+        assertThat(list.countBefore(20)).isEqualTo(3);
+        assertThat(list.countBefore(25)).isEqualTo(3);
+        assertThat(list.countBefore(5)).isEqualTo(5);
+    }
+    
+    @Test
+    void rangeIsClippedToTheList() {
+        IndexedSkipList<Integer> list = new IndexedSkipList<>(Comparator.naturalOrder());
+        for (int value = 1; value <= 10; value++) {
+            list.add(value);
+        }
+        assertThat(list.range(8, 5)).containsExactly(9, 10);
+        assertThat(list.range(10, 5)).isEmpty();
+        assertThat(list.range(-1, 5)).isEmpty();
+        assertThat(list.range(3, 0)).isEmpty();
+    }
+    
+    @Test
+    void removingAValueShiftsTheRanksAfterIt() {
+        IndexedSkipList<Integer> list = new IndexedSkipList<>(Comparator.naturalOrder());
+        for (int value = 1; value <= 5; value++) {
+            list.add(value);
+        }
+        assertThat(list.remove(3)).isTrue();
+        assertThat(list.remove(3)).isFalse();
+        assertThat(list.size()).isEqualTo(4);
+        assertThat(list.countBefore(4)).isEqualTo(2);
+        assertThat(list.range(2, 2)).containsExactly(4, 5);
+    }
+    
+    // Enough elements for several levels, with removals interleaved so spans are rewritten at every level
+    @Test
+    void matchesASortedReferenceUnderRandomUpdates() {
+        IndexedSkipList<Integer> list = new IndexedSkipList<>(Comparator.naturalOrder());
+        TreeSet<Integer> reference = new TreeSet<>();
+        Random random = new Random(42);
+        for (int step = 0; step < 20000; step++) {
+            int value = random.nextInt(5000);
+            if (reference.contains(value) && random.nextInt(3) == 0) {
+                assertThat(list.remove(value)).isTrue();
+                reference.remove(value);
+            } else if (!reference.contains(value)) {
+                list.add(value);
+                reference.add(value);
+            }
+            if (step % 1000 == 0) {
+                assertMatches(list, reference, random);
+            }
+        }
+        assertMatches(list, reference, random);
+    }
+    
+    private static void assertMatches(IndexedSkipList<Integer> list, TreeSet<Integer> reference, Random random) {
+        List<Integer> sorted = new ArrayList<>(reference);
+        assertThat(list.size()).isEqualTo(sorted.size());
+        assertThat(list.range(0, sorted.size())).isEqualTo(sorted);
+        for (int i = 0; i < 200; i++) {
+            int probe = random.nextInt(5200) - 100;
+            assertThat(list.countBefore(probe)).isEqualTo(reference.headSet(probe, false).size());
+            int offset = random.nextInt(sorted.size() + 1);
+            int limit = random.nextInt(20);
+            assertThat(list.range(offset, limit))
+                    .isEqualTo(sorted.subList(offset, Math.min(sorted.size(), offset + limit)));
+        }
+    }
+}